@@ -15,6 +15,16 @@
  */
 package io.atlasmap.api;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface AtlasContext {
 
     AtlasContextFactory getContextFactory();
@@ -23,5 +33,110 @@ public interface AtlasContext {
 
     void process(AtlasSession session) throws AtlasException;
 
+    /**
+     * Hands a session back once its output has been consumed. Implementations may reset
+     * and reuse it for a later {@link #createSession()}, the caller must not use it again.
+     * The default implementation does nothing.
+     *
+     * @param session session created by this context
+     */
+    default void releaseSession(AtlasSession session) {
+    }
+
     void processValidation(AtlasSession session) throws AtlasException;
+
+    /**
+     * Processes the session on the given executor.
+     *
+     * @param session session to process
+     * @param executor executor to run the processing on
+     * @return future completed with the session, or exceptionally with the processing error
+     */
+    default CompletableFuture<AtlasSession> processAsync(AtlasSession session, Executor executor) {
+        CompletableFuture<AtlasSession> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    process(session);
+                    future.complete(session);
+                } catch (Throwable t) {
+                    // includes Errors, which would otherwise leave the future pending forever
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Processes the session on the default executor of the context factory. The default
+     * implementation uses the common fork/join pool.
+     *
+     * @param session session to process
+     * @return future completed with the session, or exceptionally with the processing error
+     */
+    default CompletableFuture<AtlasSession> processAsync(AtlasSession session) {
+        return processAsync(session, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Asynchronous variant of {@link #processBatch(Stream)}. The next input is only taken
+     * from the iterator while fewer than {@code maxInFlight} inputs are being processed,
+     * which applies backpressure to the source. Each processed session is passed to the
+     * consumer as it completes, one at a time.
+     *
+     * @param inputs source documents, one per session
+     * @param executor executor to run the processing on
+     * @param maxInFlight maximum number of inputs processed concurrently
+     * @param consumer receives each processed session
+     * @return future completed once every input has been consumed, or exceptionally with
+     *         the first error raised by the iterator, the executor or the consumer
+     * @throws AtlasException if the mapping cannot be validated
+     * @throws UnsupportedOperationException if the context does not support batch processing
+     */
+    default CompletableFuture<Void> processBatchAsync(Iterator<?> inputs, Executor executor, int maxInFlight,
+            Consumer<AtlasSession> consumer) throws AtlasException {
+        throw new UnsupportedOperationException("Batch processing is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Processes each input with its own session. The mapping is validated once, when this
+     * method is called, and every session receives a copy of those validations. Inputs are
+     * processed lazily as the returned stream is consumed. A failure while processing one input
+     * is recorded as an ERROR audit on its session and does not stop the batch.
+     *
+     * @param inputs source documents, one per session
+     * @return the processed sessions, in input order for sequential streams
+     * @throws AtlasException if the mapping cannot be validated
+     * @throws UnsupportedOperationException if the context does not support batch processing
+     */
+    default Stream<AtlasSession> processBatch(Stream<?> inputs) throws AtlasException {
+        throw new UnsupportedOperationException("Batch processing is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Sequential variant of {@link #processBatch(Stream)}.
+     *
+     * @param inputs source documents, one per session
+     * @return the processed sessions, in input order
+     * @throws AtlasException if the mapping cannot be validated
+     */
+    default Stream<AtlasSession> processBatch(Iterable<?> inputs) throws AtlasException {
+        return processBatch(inputs.spliterator(), false);
+    }
+
+    /**
+     * Variant of {@link #processBatch(Stream)} which optionally splits the inputs across
+     * the threads of the common fork/join pool.
+     *
+     * @param inputs source documents, one per session
+     * @param parallel true to process inputs concurrently
+     * @return the processed sessions
+     * @throws AtlasException if the mapping cannot be validated
+     */
+    default Stream<AtlasSession> processBatch(Spliterator<?> inputs, boolean parallel) throws AtlasException {
+        return processBatch(StreamSupport.stream(inputs, parallel));
+    }
 }
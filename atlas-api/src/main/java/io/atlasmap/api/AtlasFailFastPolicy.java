@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.api;
+
+/**
+ * Controls how early {@link AtlasContext#process(AtlasSession)} gives up on a session
+ * with errors. Each policy includes the checks of the policies before it.
+ */
+public enum AtlasFailFastPolicy {
+    /** Run every phase, stopping only between top level mappings once one has failed. */
+    NONE("none", null),
+    /** Stop before any module processing if validation reported an error. */
+    VALIDATION("validation", AtlasProcessPhase.VALIDATION),
+    /** Also stop if the module pre-execution hooks reported an error. */
+    PRE_EXECUTION("preExecution", AtlasProcessPhase.PRE_EXECUTION),
+    /** Also stop at the first mapping error, including within a collection. */
+    MAPPING("mapping", AtlasProcessPhase.MAPPING);
+
+    private final String policy;
+    private final AtlasProcessPhase lastCheckedPhase;
+
+    AtlasFailFastPolicy(String policy, AtlasProcessPhase lastCheckedPhase) {
+        this.policy = policy;
+        this.lastCheckedPhase = lastCheckedPhase;
+    }
+
+    public String value() {
+        return this.policy;
+    }
+
+    /**
+     * @param phase phase that just completed
+     * @return true if errors reported up to the end of the phase abort processing
+     */
+    public boolean abortsAfter(AtlasProcessPhase phase) {
+        return lastCheckedPhase != null && phase.ordinal() <= lastCheckedPhase.ordinal();
+    }
+
+    public static AtlasFailFastPolicy fromValue(String v) {
+        for (AtlasFailFastPolicy c : AtlasFailFastPolicy.values()) {
+            if (c.policy.equals(v)) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException(v);
+    }
+}
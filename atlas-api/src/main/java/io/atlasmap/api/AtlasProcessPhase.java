@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.api;
+
+/**
+ * Phases {@link AtlasContext#process(AtlasSession)} runs a session through, in order.
+ */
+public enum AtlasProcessPhase {
+    VALIDATION("validation"), PRE_EXECUTION("preExecution"), MAPPING("mapping"), POST_EXECUTION("postExecution");
+
+    private final String phase;
+
+    AtlasProcessPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public String value() {
+        return this.phase;
+    }
+
+    public static AtlasProcessPhase fromValue(String v) {
+        for (AtlasProcessPhase c : AtlasProcessPhase.values()) {
+            if (c.phase.equals(v)) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException(v);
+    }
+}
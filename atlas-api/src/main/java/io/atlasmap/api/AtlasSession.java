@@ -18,6 +18,7 @@ package io.atlasmap.api;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Audits;
 import io.atlasmap.v2.Validations;
+import java.util.HashMap;
 import java.util.Map;
 
 public interface AtlasSession {
@@ -42,6 +43,19 @@ public interface AtlasSession {
 
     Map<String, Object> getInputMap();
 
+    /**
+     * Session scoped cache for parsed representations of the input documents
+     * keyed by docId. Modules store their parsed form here so an input is
+     * parsed only once per session. Entries are discarded whenever the input
+     * for the docId is replaced. The default implementation returns a new map on
+     * every call, so nothing is cached and modules parse the input on each use.
+     *
+     * @return parsed input cache
+     */
+    default Map<String, Object> getInputCache() {
+        return new HashMap<String, Object>();
+    }
+
     Object getOutput();
 
     void setOutput(Object outputObject);
@@ -54,6 +68,25 @@ public interface AtlasSession {
 
     Map<String, Object> getOutputMap();
 
+    /**
+     * Destination the target module serializes the default output into, such as
+     * an OutputStream or a Writer. When a sink is set, supporting modules write
+     * to it directly instead of producing the output as an in-memory String.
+     *
+     * @return output sink, or null to produce the output in memory
+     */
+    default Object getOutputSink() {
+        return null;
+    }
+
+    /**
+     * @param outputSink destination for the default output, or null to produce it in memory
+     * @throws UnsupportedOperationException if the session does not support output sinks
+     */
+    default void setOutputSink(Object outputSink) {
+        throw new UnsupportedOperationException("Output sinks are not supported by " + getClass().getName());
+    }
+
     Validations getValidations();
 
     void setValidations(Validations validations);
@@ -69,4 +102,22 @@ public interface AtlasSession {
     Integer errorCount();
 
     Integer warnCount();
+
+    /**
+     * @return the phase after which processing was abandoned because of the fail-fast policy,
+     *         or null if the session was processed to completion
+     */
+    default AtlasProcessPhase getAbortedPhase() {
+        return null;
+    }
+
+    /**
+     * Clears the inputs, outputs, properties, audits and validations of this session so it can
+     * process another message with the same mapping.
+     *
+     * @throws UnsupportedOperationException if the session can't be reused
+     */
+    default void reset() {
+        throw new UnsupportedOperationException("Reset is not supported by " + getClass().getName());
+    }
 }
@@ -15,6 +15,9 @@
  */
 package io.atlasmap.mxbean;
 
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
+
 public interface AtlasContextMXBean {
     public String getUuid();
 
@@ -27,4 +30,30 @@ public interface AtlasContextMXBean {
     public String getThreadName();
 
     public String getVersion();
+
+    public boolean isStatisticsEnabled();
+
+    public void setStatisticsEnabled(boolean enabled);
+
+    public long getProcessCount();
+
+    public long getProcessErrorCount();
+
+    public double getProcessThroughput();
+
+    public long getProcessLatency50th();
+
+    public long getProcessLatency99th();
+
+    /**
+     * @return count, mean, p50, p90, p99, p999 and max latency in nanoseconds per process phase
+     */
+    public TabularData getPhaseStatistics() throws OpenDataException;
+
+    /**
+     * @return count, error count and execution times in nanoseconds per mapping index
+     */
+    public TabularData getMappingStatistics() throws OpenDataException;
+
+    public void resetStatistics();
 }
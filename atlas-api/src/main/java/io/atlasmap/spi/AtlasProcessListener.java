@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.api.AtlasProcessPhase;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.v2.BaseMapping;
+
+/**
+ * Observes the sessions an {@code AtlasContext} processes, e.g. to open trace spans or
+ * time single mappings. Listeners are registered on the context factory, or discovered
+ * through {@code META-INF/services/io.atlasmap.spi.AtlasProcessListener}.
+ * <p>
+ * Callbacks run synchronously on the processing thread, so they must be cheap and
+ * thread-safe: the same listener observes every session of every context of the factory.
+ * Every begin callback is followed by the matching end callback, also when processing
+ * is aborted or fails. Exceptions thrown by a listener are logged and otherwise ignored.
+ */
+public interface AtlasProcessListener {
+
+    /**
+     * Steps a single, non-collection mapping is processed in.
+     */
+    enum MappingStep {
+        INPUT, INPUT_ACTIONS, OUTPUT
+    }
+
+    default void beginProcess(AtlasSession session) {
+    }
+
+    /**
+     * @param session processed session
+     * @param failure exception which ended processing, or null if processing completed
+     */
+    default void endProcess(AtlasSession session, Throwable failure) {
+    }
+
+    default void beginPhase(AtlasSession session, AtlasProcessPhase phase) {
+    }
+
+    default void endPhase(AtlasSession session, AtlasProcessPhase phase) {
+    }
+
+    /**
+     * @param session processed session
+     * @param index position of the mapping in the mapping definition
+     * @param mapping mapping about to be processed
+     */
+    default void beginMapping(AtlasSession session, int index, BaseMapping mapping) {
+    }
+
+    default void endMapping(AtlasSession session, int index, BaseMapping mapping) {
+    }
+
+    default void beginMappingStep(AtlasSession session, BaseMapping mapping, MappingStep step) {
+    }
+
+    default void endMappingStep(AtlasSession session, BaseMapping mapping, MappingStep step) {
+    }
+}
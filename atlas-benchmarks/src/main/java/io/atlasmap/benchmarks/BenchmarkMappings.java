@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.java.test.SourceFlatPrimitiveClass;
+import io.atlasmap.java.test.TargetFlatPrimitiveClass;
+import io.atlasmap.java.v2.AtlasJavaModelFactory;
+import io.atlasmap.java.v2.JavaField;
+import io.atlasmap.json.v2.AtlasJsonModelFactory;
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.xml.v2.AtlasXmlModelFactory;
+import io.atlasmap.xml.v2.XmlField;
+
+/**
+ * Builds the mapping definitions and input documents shared by the mapping benchmarks.
+ * JSON and XML documents are flat, with {@code fieldCount} string fields named
+ * {@code field0..fieldN}, so the document size can be varied through a JMH parameter.
+ */
+public final class BenchmarkMappings {
+
+    public static final String JSON_URI = AtlasJsonModelFactory.URI_FORMAT;
+    public static final String XML_URI = AtlasXmlModelFactory.URI_FORMAT;
+    public static final String XML_ROOT = "root";
+
+    static final String[] JAVA_FIELDS = new String[] {"intField", "shortField", "longField", "doubleField",
+        "floatField", "booleanField", "charField", "byteField", "boxedBooleanField", "boxedByteField",
+        "boxedCharField", "boxedDoubleField", "boxedFloatField", "boxedIntField", "boxedLongField",
+        "boxedShortField", "boxedStringField"};
+
+    private BenchmarkMappings() {
+    }
+
+    public static AtlasContext createContext(AtlasMapping mapping) throws AtlasException {
+        return DefaultAtlasContextFactory.getInstance().createContext(mapping);
+    }
+
+    public static AtlasSession process(AtlasContext context, Object input) throws AtlasException {
+        AtlasSession session = context.createSession();
+        session.setInput(input);
+        context.process(session);
+        if (session.hasErrors()) {
+            throw new AtlasException("Benchmark mapping reported errors, first: "
+                    + session.getAudits().getAudit().get(0).getMessage());
+        }
+        return session;
+    }
+
+    public static AtlasMapping createMapping(String name, String sourceUri, String targetUri) {
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        mapping.setName(name);
+        mapping.getDataSource().add(createDataSource(sourceUri, DataSourceType.SOURCE));
+        mapping.getDataSource().add(createDataSource(targetUri, DataSourceType.TARGET));
+        return mapping;
+    }
+
+    public static void addMapping(AtlasMapping mapping, Field inputField, Field outputField) {
+        Mapping fm = AtlasModelFactory.createMapping(MappingType.MAP);
+        fm.getInputField().add(inputField);
+        fm.getOutputField().add(outputField);
+        mapping.getMappings().getMapping().add(fm);
+    }
+
+    public static AtlasMapping createJavaJavaMapping() {
+        AtlasMapping mapping = createMapping("JavaJavaBenchmark",
+                String.format(AtlasJavaModelFactory.URI_FORMAT, SourceFlatPrimitiveClass.class.getName()),
+                String.format(AtlasJavaModelFactory.URI_FORMAT, TargetFlatPrimitiveClass.class.getName()));
+        for (String name : JAVA_FIELDS) {
+            addMapping(mapping, javaField(name), javaField(name));
+        }
+        return mapping;
+    }
+
+    public static AtlasMapping createFlatMapping(String name, String sourceUri, String targetUri, int fieldCount) {
+        AtlasMapping mapping = createMapping(name, sourceUri, targetUri);
+        for (int i = 0; i < fieldCount; i++) {
+            addMapping(mapping, flatField(sourceUri, i), flatField(targetUri, i));
+        }
+        return mapping;
+    }
+
+    public static SourceFlatPrimitiveClass createJavaInput() {
+        SourceFlatPrimitiveClass source = new SourceFlatPrimitiveClass();
+        source.setIntField(2);
+        source.setShortField((short) 1);
+        source.setLongField(30000L);
+        source.setDoubleField(50000000d);
+        source.setFloatField(40000000f);
+        source.setBooleanField(false);
+        source.setCharField('a');
+        source.setByteField((byte) 99);
+        source.setBoxedBooleanField(Boolean.TRUE);
+        source.setBoxedByteField((byte) 87);
+        source.setBoxedCharField('z');
+        source.setBoxedDoubleField(90000000d);
+        source.setBoxedFloatField(70000000f);
+        source.setBoxedIntField(5);
+        source.setBoxedLongField(20000L);
+        source.setBoxedShortField((short) 5);
+        source.setBoxedStringField("boxedStringValue");
+        return source;
+    }
+
+    public static List<SourceFlatPrimitiveClass> createJavaInputs(int size) {
+        List<SourceFlatPrimitiveClass> inputs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            SourceFlatPrimitiveClass source = createJavaInput();
+            source.setIntField(i);
+            source.setBoxedStringField("boxedStringValue" + i);
+            inputs.add(source);
+        }
+        return inputs;
+    }
+
+    public static String createJsonInput(int fieldCount) {
+        StringBuilder buf = new StringBuilder(fieldCount * 24);
+        buf.append('{');
+        for (int i = 0; i < fieldCount; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            buf.append("\"field").append(i).append("\":\"value").append(i).append('"');
+        }
+        return buf.append('}').toString();
+    }
+
+    public static String createXmlInput(int fieldCount) {
+        StringBuilder buf = new StringBuilder(fieldCount * 32);
+        buf.append('<').append(XML_ROOT).append('>');
+        for (int i = 0; i < fieldCount; i++) {
+            buf.append("<field").append(i).append(">value").append(i).append("</field").append(i).append('>');
+        }
+        return buf.append("</").append(XML_ROOT).append('>').toString();
+    }
+
+    private static DataSource createDataSource(String uri, DataSourceType type) {
+        DataSource ds = new DataSource();
+        ds.setUri(uri);
+        ds.setDataSourceType(type);
+        return ds;
+    }
+
+    private static Field javaField(String name) {
+        JavaField field = AtlasJavaModelFactory.createJavaField();
+        field.setPath("/" + name);
+        return field;
+    }
+
+    private static Field flatField(String uri, int index) {
+        if (XML_URI.equals(uri)) {
+            XmlField field = AtlasXmlModelFactory.createXmlField();
+            field.setPath("/" + XML_ROOT + "/field" + index);
+            return field;
+        }
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/field" + index);
+        return field;
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * {@link DefaultAtlasConversionService#convertType(Object, FieldType, FieldType)} for common type pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConversionServiceBenchmark {
+
+    private DefaultAtlasConversionService conversionService;
+    private String stringValue;
+    private Integer integerValue;
+    private Double doubleValue;
+
+    @Setup
+    public void setup() {
+        conversionService = DefaultAtlasConversionService.getInstance();
+        stringValue = "12345";
+        integerValue = 12345;
+        doubleValue = 12345.678d;
+    }
+
+    @Benchmark
+    public Object stringToInteger() throws Exception {
+        return conversionService.convertType(stringValue, FieldType.STRING, FieldType.INTEGER);
+    }
+
+    @Benchmark
+    public Object integerToLong() throws Exception {
+        return conversionService.convertType(integerValue, FieldType.INTEGER, FieldType.LONG);
+    }
+
+    @Benchmark
+    public Object integerToString() throws Exception {
+        return conversionService.convertType(integerValue, FieldType.INTEGER, FieldType.STRING);
+    }
+
+    @Benchmark
+    public Object doubleToFloat() throws Exception {
+        return conversionService.convertType(doubleValue, FieldType.DOUBLE, FieldType.FLOAT);
+    }
+
+    @Benchmark
+    public Object stringToString() throws Exception {
+        return conversionService.convertType(stringValue, FieldType.STRING, FieldType.STRING);
+    }
+}
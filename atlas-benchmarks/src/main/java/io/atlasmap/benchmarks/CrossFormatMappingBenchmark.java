@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasContext;
+
+/**
+ * JSON to XML and XML to JSON mapping of flat documents, one mapping per field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CrossFormatMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int fieldCount;
+
+    private AtlasContext jsonToXmlContext;
+    private AtlasContext xmlToJsonContext;
+    private String jsonInput;
+    private String xmlInput;
+
+    @Setup
+    public void setup() throws Exception {
+        jsonToXmlContext = BenchmarkMappings.createContext(BenchmarkMappings.createFlatMapping("JsonXmlBenchmark",
+                BenchmarkMappings.JSON_URI, BenchmarkMappings.XML_URI, fieldCount));
+        xmlToJsonContext = BenchmarkMappings.createContext(BenchmarkMappings.createFlatMapping("XmlJsonBenchmark",
+                BenchmarkMappings.XML_URI, BenchmarkMappings.JSON_URI, fieldCount));
+        jsonInput = BenchmarkMappings.createJsonInput(fieldCount);
+        xmlInput = BenchmarkMappings.createXmlInput(fieldCount);
+    }
+
+    @Benchmark
+    public Object jsonToXml() throws Exception {
+        return BenchmarkMappings.process(jsonToXmlContext, jsonInput).getOutput();
+    }
+
+    @Benchmark
+    public Object xmlToJson() throws Exception {
+        return BenchmarkMappings.process(xmlToJsonContext, xmlInput).getOutput();
+    }
+}
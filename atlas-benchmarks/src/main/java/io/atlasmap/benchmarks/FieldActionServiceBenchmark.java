@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.core.DefaultAtlasFieldActionService;
+import io.atlasmap.v2.Actions;
+import io.atlasmap.v2.Capitalize;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Trim;
+import io.atlasmap.v2.Uppercase;
+
+/**
+ * {@link DefaultAtlasFieldActionService#processActions(Actions, Object, FieldType)} with
+ * a single action and with a chain of actions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FieldActionServiceBenchmark {
+
+    private DefaultAtlasFieldActionService fieldActionService;
+    private Actions singleAction;
+    private Actions actionChain;
+    private String value;
+
+    @Setup
+    public void setup() {
+        fieldActionService = new DefaultAtlasFieldActionService(DefaultAtlasConversionService.getInstance());
+        fieldActionService.init();
+
+        singleAction = new Actions();
+        singleAction.getActions().add(new Uppercase());
+
+        actionChain = new Actions();
+        actionChain.getActions().add(new Trim());
+        actionChain.getActions().add(new Capitalize());
+        actionChain.getActions().add(new Uppercase());
+
+        value = "  the quick brown fox  ";
+    }
+
+    @Benchmark
+    public Object singleAction() throws Exception {
+        return fieldActionService.processActions(singleAction, value, FieldType.STRING);
+    }
+
+    @Benchmark
+    public Object actionChain() throws Exception {
+        return fieldActionService.processActions(actionChain, value, FieldType.STRING);
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.java.test.SourceFlatPrimitiveClass;
+
+/**
+ * Java to Java mapping over the flat primitive test model, for a single object and for
+ * batches of {@code size} objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JavaJavaMappingBenchmark {
+
+    private AtlasContext context;
+    private SourceFlatPrimitiveClass input;
+
+    @Setup
+    public void setup() throws Exception {
+        context = BenchmarkMappings.createContext(BenchmarkMappings.createJavaJavaMapping());
+        input = BenchmarkMappings.createJavaInput();
+    }
+
+    @Benchmark
+    public Object javaToJava() throws Exception {
+        return BenchmarkMappings.process(context, input).getOutput();
+    }
+
+    @Benchmark
+    public int javaToJavaBatch(Batch batch) throws Exception {
+        int outputs = 0;
+        Iterator<AtlasSession> sessions = context.processBatch(batch.inputs).iterator();
+        while (sessions.hasNext()) {
+            AtlasSession session = sessions.next();
+            if (session.hasErrors()) {
+                throw new AtlasException("Benchmark mapping reported errors, first: "
+                        + session.getAudits().getAudit().get(0).getMessage());
+            }
+            if (session.getOutput() != null) {
+                outputs++;
+            }
+        }
+        return outputs;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Batch {
+
+        @Param({"10", "100", "1000"})
+        private int size;
+
+        private List<SourceFlatPrimitiveClass> inputs;
+
+        @Setup
+        public void setup() {
+            inputs = BenchmarkMappings.createJavaInputs(size);
+        }
+    }
+}
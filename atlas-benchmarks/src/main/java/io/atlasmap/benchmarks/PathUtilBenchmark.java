@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.PathUtil;
+
+/**
+ * Parsing of field paths through {@link PathUtil}, compared with the interned
+ * {@link CompiledPath} lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PathUtilBenchmark {
+
+    @Param({"/intField", "/orders<>/address/city", "/xt1:XmlOA/xt1:orders[2]/xt1:contact/@firstName"})
+    private String path;
+
+    @Benchmark
+    public Object parse() {
+        return new PathUtil(path).getSegments();
+    }
+
+    @Benchmark
+    public Object segmentContexts() {
+        return new PathUtil(path).getSegmentContexts(false);
+    }
+
+    @Benchmark
+    public Object removeCollectionIndexes() {
+        return PathUtil.removeCollectionIndexes(path);
+    }
+
+    @Benchmark
+    public Object compiledSegmentContexts() {
+        return CompiledPath.compile(path).getSegmentContexts(false);
+    }
+}
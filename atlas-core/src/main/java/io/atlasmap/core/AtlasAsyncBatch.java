@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.atlasmap.api.AtlasSession;
+
+/**
+ * Pulls batch inputs only while fewer than {@code maxInFlight} of them are being
+ * processed, so a slow consumer or executor holds back the source instead of
+ * queueing the whole batch. Processed sessions are handed to the consumer one at
+ * a time, in completion order.
+ */
+final class AtlasAsyncBatch {
+
+    private final Iterator<?> inputs;
+    private final Function<Object, AtlasSession> processor;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final Consumer<AtlasSession> consumer;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    private int inFlight;
+    private boolean pumping;
+
+    AtlasAsyncBatch(Iterator<?> inputs, Function<Object, AtlasSession> processor, Executor executor,
+            int maxInFlight, Consumer<AtlasSession> consumer) {
+        this.inputs = inputs;
+        this.processor = processor;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.consumer = consumer;
+    }
+
+    CompletableFuture<Void> start() {
+        pump();
+        return result;
+    }
+
+    private synchronized void pump() {
+        // a completion delivered on the submitting thread resumes the outer loop instead of recursing
+        if (pumping || result.isDone()) {
+            return;
+        }
+        pumping = true;
+        try {
+            while (!result.isDone() && inFlight < maxInFlight && inputs.hasNext()) {
+                Object input = inputs.next();
+                inFlight++;
+                CompletableFuture.supplyAsync(() -> processor.apply(input), executor)
+                        .whenComplete(this::onComplete);
+            }
+            if (inFlight == 0 && !inputs.hasNext()) {
+                result.complete(null);
+            }
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        } finally {
+            pumping = false;
+        }
+    }
+
+    private synchronized void onComplete(AtlasSession session, Throwable error) {
+        inFlight--;
+        if (!result.isDone()) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                try {
+                    consumer.accept(session);
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            }
+        }
+        pump();
+    }
+}
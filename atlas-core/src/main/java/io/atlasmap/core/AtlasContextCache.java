@@ -0,0 +1,270 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.core.AtlasMappingService.AtlasMappingFormat;
+
+/**
+ * Bounded cache of initialized {@link DefaultAtlasContext}s keyed by mapping URI,
+ * format and mapping content. The least recently used context is evicted once the
+ * cache is full and contexts older than the time to live expire. Evicted contexts
+ * are unregistered from JMX, but stay usable for callers still holding them.
+ * <p>
+ * The cache is disabled by default. Once enabled, every caller creating a context for
+ * the same mapping shares one context instance, including its settings and statistics.
+ */
+public class AtlasContextCache {
+
+    public static final int DEFAULT_MAX_SIZE = 0;
+    public static final long DEFAULT_TIME_TO_LIVE = 0L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasContextCache.class);
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile int maxSize = DEFAULT_MAX_SIZE;
+    private volatile long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+    /**
+     * Returns the cached context for the key if it was created from the same
+     * mapping content and has not expired.
+     *
+     * @param uri mapping URI, or null for mappings passed as objects
+     * @param format mapping format, or null for mappings passed as objects
+     * @param plan plan of the requested mapping
+     * @return cached context or null
+     */
+    public DefaultAtlasContext get(URI uri, AtlasMappingFormat format, AtlasMappingPlan plan) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return get(new Key(uri, format, plan.getContentHash()), plan);
+    }
+
+    /**
+     * Returns the cached context for a mapping passed as object.
+     *
+     * @param mappingDigest digest of the mapping content, see {@link AtlasMappingService#digestMapping}
+     * @return cached context or null
+     */
+    public DefaultAtlasContext get(String mappingDigest) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return get(new Key(null, null, mappingDigest), null);
+    }
+
+    private DefaultAtlasContext get(Key key, AtlasMappingPlan plan) {
+        Entry expired = null;
+        DefaultAtlasContext context = null;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (isExpired(entry, System.currentTimeMillis())) {
+                    entries.remove(key);
+                    expired = entry;
+                } else if (plan == null || entry.context.getMappingPlan().hasSameContent(plan)) {
+                    context = entry.context;
+                }
+            }
+        }
+        if (expired != null) {
+            evict(expired);
+        }
+        return context;
+    }
+
+    /**
+     * Adds the context unless an equivalent one was cached concurrently, in which
+     * case the given context is destroyed and the cached one returned.
+     *
+     * @param uri mapping URI, or null for mappings passed as objects
+     * @param format mapping format, or null for mappings passed as objects
+     * @param context initialized context
+     * @return the context to use
+     */
+    public DefaultAtlasContext put(URI uri, AtlasMappingFormat format, DefaultAtlasContext context) {
+        if (!isEnabled()) {
+            return context;
+        }
+        AtlasMappingPlan plan = context.getMappingPlan();
+        return put(new Key(uri, format, plan.getContentHash()), plan, context);
+    }
+
+    /**
+     * Adds the context created for a mapping passed as object, see {@link #put(URI, AtlasMappingFormat,
+     * DefaultAtlasContext)}.
+     *
+     * @param mappingDigest digest of the mapping content
+     * @param context initialized context
+     * @return the context to use
+     */
+    public DefaultAtlasContext put(String mappingDigest, DefaultAtlasContext context) {
+        if (!isEnabled()) {
+            return context;
+        }
+        return put(new Key(null, null, mappingDigest), null, context);
+    }
+
+    private DefaultAtlasContext put(Key key, AtlasMappingPlan plan, DefaultAtlasContext context) {
+        List<Entry> evicted = new ArrayList<>();
+        DefaultAtlasContext result = context;
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && !isExpired(existing, System.currentTimeMillis())
+                    && (plan == null || existing.context.getMappingPlan().hasSameContent(plan))) {
+                result = existing.context;
+            } else {
+                if (existing != null) {
+                    evicted.add(existing);
+                }
+                entries.put(key, new Entry(context));
+                collectEvictions(evicted);
+            }
+        }
+        if (result != context) {
+            context.destroy();
+        }
+        for (Entry entry : evicted) {
+            evict(entry);
+        }
+        return result;
+    }
+
+    public void clear() {
+        List<Entry> evicted;
+        synchronized (entries) {
+            evicted = new ArrayList<>(entries.values());
+            entries.clear();
+        }
+        for (Entry entry : evicted) {
+            evict(entry);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param maxSize maximum number of cached contexts, 0 disables the cache
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (entries) {
+            collectEvictions(evicted);
+        }
+        for (Entry entry : evicted) {
+            evict(entry);
+        }
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * @param timeToLive milliseconds a context is cached after its creation, 0 to
+     *            never expire
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = Math.max(0L, timeToLive);
+    }
+
+    private void collectEvictions(List<Entry> evicted) {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entries.size() > maxSize || isExpired(entry, now)) {
+                iterator.remove();
+                evicted.add(entry);
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        long ttl = timeToLive;
+        return ttl > 0 && now - entry.created > ttl;
+    }
+
+    private void evict(Entry entry) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Evicting AtlasContext " + entry.context.getUuid() + " for mapping "
+                    + entry.context.getMappingName());
+        }
+        entry.context.unregisterJmx();
+    }
+
+    private static final class Entry {
+        private final DefaultAtlasContext context;
+        private final long created = System.currentTimeMillis();
+
+        Entry(DefaultAtlasContext context) {
+            this.context = context;
+        }
+    }
+
+    private static final class Key {
+        private final URI uri;
+        private final AtlasMappingFormat format;
+        private final Object content;
+
+        Key(URI uri, AtlasMappingFormat format, Object content) {
+            this.uri = uri;
+            this.format = format;
+            this.content = content;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return content.equals(other.content) && format == other.format && Objects.equals(uri, other.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, format, content);
+        }
+    }
+}
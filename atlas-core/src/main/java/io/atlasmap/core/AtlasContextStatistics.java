@@ -0,0 +1,204 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+/**
+ * Process statistics of a {@link DefaultAtlasContext}: latency histograms for the whole
+ * process call and each of its phases, plus per mapping counters to single out slow
+ * mappings. Nothing is recorded while statistics are disabled. Times are in nanoseconds.
+ */
+public class AtlasContextStatistics {
+
+    public enum Phase {
+        PROCESS("process"), VALIDATION("validation"), PRE_EXECUTION("preExecution"), INPUT("input"),
+        INPUT_ACTIONS("inputActions"), OUTPUT("output"), POST_EXECUTION("postExecution");
+
+        private final String phase;
+
+        Phase(String phase) {
+            this.phase = phase;
+        }
+
+        public String value() {
+            return this.phase;
+        }
+    }
+
+    private static final String[] PHASE_ITEMS = new String[] {"phase", "count", "mean", "p50", "p90", "p99",
+        "p999", "max"};
+    private static final String[] MAPPING_ITEMS = new String[] {"index", "alias", "count", "errorCount",
+        "meanExecutionTime", "maxExecutionTime", "totalExecutionTime"};
+
+    private final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+    private final ConcurrentMap<Integer, MappingCounter> mappings = new ConcurrentHashMap<>();
+    private final LongAdder processCount = new LongAdder();
+    private final LongAdder processErrors = new LongAdder();
+    private volatile long startTime = System.nanoTime();
+    private volatile boolean statisticsEnabled = false;
+
+    public AtlasContextStatistics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    public void setStatisticsEnabled(boolean enabled) {
+        if (enabled && !statisticsEnabled) {
+            startTime = System.nanoTime();
+        }
+        this.statisticsEnabled = enabled;
+    }
+
+    public void recordProcess(long executionTime, boolean error) {
+        processCount.increment();
+        if (error) {
+            processErrors.increment();
+        }
+        phases.get(Phase.PROCESS).record(executionTime);
+    }
+
+    public void recordPhase(Phase phase, long executionTime) {
+        phases.get(phase).record(executionTime);
+    }
+
+    /**
+     * @param index position of the mapping in the mapping definition
+     * @param alias mapping alias, may be null
+     * @param executionTime time spent reading, transforming and writing the mapping
+     * @param error whether the mapping reported an error
+     */
+    public void recordMapping(int index, String alias, long executionTime, boolean error) {
+        MappingCounter counter = mappings.get(index);
+        if (counter == null) {
+            counter = new MappingCounter(alias);
+            MappingCounter existing = mappings.putIfAbsent(index, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        counter.record(executionTime, error);
+    }
+
+    public long getProcessCount() {
+        return processCount.sum();
+    }
+
+    public long getProcessErrorCount() {
+        return processErrors.sum();
+    }
+
+    /**
+     * @return processed sessions per second since statistics were enabled or reset
+     */
+    public double getProcessThroughput() {
+        long elapsed = System.nanoTime() - startTime;
+        return elapsed > 0 ? processCount.sum() * 1_000_000_000d / elapsed : 0d;
+    }
+
+    public long getLatencyAtPercentile(Phase phase, double percentile) {
+        return phases.get(phase).getValueAtPercentile(percentile);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : phases.values()) {
+            histogram.reset();
+        }
+        mappings.clear();
+        processCount.reset();
+        processErrors.reset();
+        startTime = System.nanoTime();
+    }
+
+    public TabularData getPhaseStatistics() throws OpenDataException {
+        OpenType<?>[] itemTypes = new OpenType<?>[] {SimpleType.STRING, SimpleType.LONG, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG};
+        CompositeType rowType = new CompositeType("AtlasContextPhaseStatistics", "AtlasContext phase latencies",
+                PHASE_ITEMS, PHASE_ITEMS, itemTypes);
+        TabularType tableType = new TabularType("AtlasContextPhaseStatisticsTable", "AtlasContext phase latencies",
+                rowType, new String[] {"phase"});
+
+        TabularDataSupport table = new TabularDataSupport(tableType);
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = phases.get(phase);
+            table.put(new CompositeDataSupport(rowType, PHASE_ITEMS, new Object[] {phase.value(),
+                histogram.getCount(), histogram.getMean(), histogram.getValueAtPercentile(50.0),
+                histogram.getValueAtPercentile(90.0), histogram.getValueAtPercentile(99.0),
+                histogram.getValueAtPercentile(99.9), histogram.getMax()}));
+        }
+        return table;
+    }
+
+    public TabularData getMappingStatistics() throws OpenDataException {
+        OpenType<?>[] itemTypes = new OpenType<?>[] {SimpleType.INTEGER, SimpleType.STRING, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG};
+        CompositeType rowType = new CompositeType("AtlasContextMappingStatistics", "AtlasContext mapping statistics",
+                MAPPING_ITEMS, MAPPING_ITEMS, itemTypes);
+        TabularType tableType = new TabularType("AtlasContextMappingStatisticsTable",
+                "AtlasContext mapping statistics", rowType, new String[] {"index"});
+
+        TabularDataSupport table = new TabularDataSupport(tableType);
+        for (Map.Entry<Integer, MappingCounter> entry : mappings.entrySet()) {
+            MappingCounter counter = entry.getValue();
+            long count = counter.count.sum();
+            long total = counter.total.sum();
+            table.put(new CompositeDataSupport(rowType, MAPPING_ITEMS, new Object[] {entry.getKey(),
+                counter.alias != null ? counter.alias : "", count, counter.errors.sum(),
+                count > 0 ? total / count : 0L, counter.max.get(), total}));
+        }
+        return table;
+    }
+
+    private static final class MappingCounter {
+        private final String alias;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        MappingCounter(String alias) {
+            this.alias = alias;
+        }
+
+        void record(long executionTime, boolean error) {
+            count.increment();
+            if (error) {
+                errors.increment();
+            }
+            total.add(executionTime);
+            max.accumulate(executionTime);
+        }
+    }
+}
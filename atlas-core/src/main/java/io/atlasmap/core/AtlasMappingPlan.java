@@ -0,0 +1,311 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasConversionService;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.LookupTable;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.Mappings;
+
+/**
+ * Thread-safe execution plan compiled from an {@link AtlasMapping}.
+ * The plan is built once per {@link DefaultAtlasContext} and shared by every
+ * session. Compiling resolves the module URIs, flattens the mapping tree into
+ * per-mapping field templates and pre-parses every field path into a
+ * {@link CompiledPath}, so none of this is repeated per message.
+ * <p>
+ * Each session receives its own mapping via {@link #createSessionMapping()}. Only
+ * the fields, which carry the per-message values the modules read and write, and
+ * the mapping properties are copied for it. Data sources and lookup tables are
+ * shared between sessions and must be treated as read-only.
+ */
+public final class AtlasMappingPlan {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasMappingPlan.class);
+
+    private final AtlasMapping definition;
+    private final AtlasMapping template;
+    private final AtlasMapping shell;
+    private final MappingTemplate[] mappingTemplates;
+    private final Map<String, CompiledPath> compiledPaths;
+    private final byte[] digest;
+    private final int contentHash;
+    private final String sourceModuleUri;
+    private final String targetModuleUri;
+    private final ConcurrentMap<AtlasConversionService, ConcurrentMap<String, LookupTableIndex>> lookupTableIndexes =
+            new ConcurrentHashMap<>();
+
+    private AtlasMappingPlan(AtlasMapping definition, byte[] digest) throws AtlasException {
+        this.definition = definition;
+        this.digest = digest;
+        this.contentHash = Arrays.hashCode(digest);
+        this.template = ModelCopier.copy(definition, true);
+        this.shell = ModelCopier.copy(template, false);
+        this.shell.setMappings(null);
+        this.shell.setProperties(null);
+        Map<String, CompiledPath> paths = new HashMap<>();
+        this.mappingTemplates = template.getMappings() != null
+                ? compileMappings(template.getMappings().getMapping(), paths) : null;
+        this.compiledPaths = Collections.unmodifiableMap(paths);
+        this.sourceModuleUri = resolveModuleUri(template, DataSourceType.SOURCE);
+        this.targetModuleUri = resolveModuleUri(template, DataSourceType.TARGET);
+    }
+
+    /**
+     * Compiles the mapping definition into a plan. The plan works on its own copy
+     * of the definition, so later modifications of the definition or of a session
+     * mapping never leak into the plan or into other sessions.
+     *
+     * @param definition mapping definition
+     * @return compiled plan
+     * @throws AtlasException if the definition is null or cannot be digested or copied
+     */
+    public static AtlasMappingPlan compile(AtlasMapping definition) throws AtlasException {
+        if (definition == null) {
+            throw new AtlasException("AtlasMapping must be specified");
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (ObjectOutputStream oos = new ObjectOutputStream(
+                    new DigestOutputStream(new AtlasMappingService.DiscardingOutputStream(), digest))) {
+                oos.writeObject(definition);
+            }
+            return new AtlasMappingPlan(definition, digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new AtlasException("Unable to compile AtlasMapping '" + definition.getName() + "'", e);
+        }
+    }
+
+    /**
+     * Creates the mapping of a single session. Mappings and fields are fresh copies
+     * of the plan's templates, everything else is shared with the plan.
+     *
+     * @return session-local mapping
+     * @throws AtlasException if a field can't be copied
+     */
+    public AtlasMapping createSessionMapping() throws AtlasException {
+        AtlasMapping mapping = ModelCopier.copy(shell, false);
+        mapping.setProperties(ModelCopier.copy(template.getProperties(), true));
+        mapping.setMappings(instantiate(mappingTemplates));
+        return mapping;
+    }
+
+    /**
+     * Returns the pre-parsed form of a field path. Paths of the mapping definition
+     * are compiled with the plan, any other path falls back to {@link CompiledPath#compile(String)}.
+     *
+     * @param path field path
+     * @return compiled path, never null
+     */
+    public CompiledPath getCompiledPath(String path) {
+        CompiledPath compiled = path != null ? compiledPaths.get(path) : null;
+        return compiled != null ? compiled : CompiledPath.compile(path);
+    }
+
+    /**
+     * @return the definition this plan was compiled from. It is not copied, but
+     *         modifying it affects neither the plan nor the sessions created from it.
+     */
+    public AtlasMapping getDefinition() {
+        return definition;
+    }
+
+    public String getMappingName() {
+        return template.getName();
+    }
+
+    public String getSourceModuleUri() {
+        return sourceModuleUri;
+    }
+
+    public String getTargetModuleUri() {
+        return targetModuleUri;
+    }
+
+    /**
+     * @return hash of the serialized mapping definition
+     */
+    public int getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * @param other plan to compare with
+     * @return true if both plans were compiled from equal mapping definitions
+     */
+    public boolean hasSameContent(AtlasMappingPlan other) {
+        if (other == this) {
+            return true;
+        }
+        if (other == null || other.contentHash != contentHash) {
+            return false;
+        }
+        return MessageDigest.isEqual(digest, other.digest);
+    }
+
+    /**
+     * Returns the hash index of the named lookup table, compiling it on first use.
+     * Indexes are kept per conversion service, as their target values are converted with it.
+     *
+     * @param lookupTableName lookup table name
+     * @param conversionService conversion service used to pre-convert target values
+     * @return the index, or null if the mapping has no such lookup table
+     */
+    public LookupTableIndex getLookupTableIndex(String lookupTableName, AtlasConversionService conversionService) {
+        if (lookupTableName == null) {
+            return null;
+        }
+        if (conversionService == null) {
+            LookupTable table = LookupTableIndex.findLookupTable(template, lookupTableName);
+            return table != null ? LookupTableIndex.compile(table, conversionService) : null;
+        }
+        ConcurrentMap<String, LookupTableIndex> indexes = lookupTableIndexes.computeIfAbsent(conversionService,
+                service -> new ConcurrentHashMap<>());
+        LookupTableIndex index = indexes.get(lookupTableName);
+        if (index == null) {
+            LookupTable table = LookupTableIndex.findLookupTable(template, lookupTableName);
+            if (table == null) {
+                return null;
+            }
+            index = LookupTableIndex.compile(table, conversionService);
+            LookupTableIndex existing = indexes.putIfAbsent(lookupTableName, index);
+            if (existing != null) {
+                index = existing;
+            }
+        }
+        return index;
+    }
+
+    private static MappingTemplate[] compileMappings(List<BaseMapping> baseMappings,
+            Map<String, CompiledPath> paths) throws AtlasException {
+        MappingTemplate[] templates = new MappingTemplate[baseMappings.size()];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = new MappingTemplate(baseMappings.get(i), paths);
+        }
+        return templates;
+    }
+
+    private static Mappings instantiate(MappingTemplate[] templates) throws AtlasException {
+        if (templates == null) {
+            return null;
+        }
+        Mappings mappings = new Mappings();
+        for (MappingTemplate template : templates) {
+            mappings.getMapping().add(template.instantiate());
+        }
+        return mappings;
+    }
+
+    private static String resolveModuleUri(AtlasMapping mapping, DataSourceType type) {
+        DataSource found = null;
+        if (mapping.getDataSource() != null) {
+            for (DataSource ds : mapping.getDataSource()) {
+                if (ds.getDataSourceType() == type) {
+                    if (found == null) {
+                        found = ds;
+                    } else {
+                        LOG.warn("Multiple {} DataSource found, ignoring '{}'", type, ds.getId());
+                    }
+                }
+            }
+        }
+        return found != null ? found.getUri() : null;
+    }
+
+    /**
+     * Compiled form of a single {@link Mapping} or {@link Collection}: the mapping
+     * without its fields or child mappings, plus the field templates and child
+     * templates a session copy is assembled from.
+     */
+    private static final class MappingTemplate {
+        private final BaseMapping shell;
+        private final Field[] inputFields;
+        private final Field[] outputFields;
+        private final MappingTemplate[] children;
+
+        MappingTemplate(BaseMapping baseMapping, Map<String, CompiledPath> paths) throws AtlasException {
+            this.shell = ModelCopier.copy(baseMapping, false);
+            if (baseMapping instanceof Mapping) {
+                Mapping mapping = (Mapping) baseMapping;
+                this.inputFields = compileFields(mapping.getInputField(), paths);
+                this.outputFields = compileFields(mapping.getOutputField(), paths);
+                ((Mapping) shell).getInputField().clear();
+                ((Mapping) shell).getOutputField().clear();
+            } else {
+                this.inputFields = new Field[0];
+                this.outputFields = new Field[0];
+            }
+            if (baseMapping instanceof Collection && ((Collection) baseMapping).getMappings() != null) {
+                this.children = compileMappings(((Collection) baseMapping).getMappings().getMapping(), paths);
+                ((Collection) shell).setMappings(null);
+            } else {
+                this.children = null;
+            }
+        }
+
+        private static Field[] compileFields(List<Field> fields, Map<String, CompiledPath> paths) {
+            for (Field field : fields) {
+                String path = field.getPath();
+                if (path != null && !paths.containsKey(path)) {
+                    paths.put(path, CompiledPath.compile(path));
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+
+        BaseMapping instantiate() throws AtlasException {
+            BaseMapping mapping = ModelCopier.copy(shell, false);
+            if (mapping instanceof Mapping) {
+                List<Field> input = ((Mapping) mapping).getInputField();
+                for (Field field : inputFields) {
+                    input.add(ModelCopier.copy(field, false));
+                }
+                List<Field> output = ((Mapping) mapping).getOutputField();
+                for (Field field : outputFields) {
+                    output.add(ModelCopier.copy(field, false));
+                }
+            }
+            if (children != null) {
+                ((Collection) mapping).setMappings(instantiate(children));
+            }
+            return mapping;
+        }
+    }
+}
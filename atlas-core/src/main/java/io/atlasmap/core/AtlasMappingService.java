@@ -29,16 +29,37 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
 
 public class AtlasMappingService implements Serializable {
 
@@ -60,6 +81,11 @@ public class AtlasMappingService implements Serializable {
     private static final Logger LOG = LoggerFactory.getLogger(AtlasMappingService.class);
     private transient JAXBContext ctx = null;
     private transient ObjectMapper jsonMapper = null;
+    private transient Map<CacheKey, CachedMapping> mappingCache = new ConcurrentHashMap<>();
+    private transient Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+    private transient volatile WatchService watchService = null;
+    private transient Thread watchThread = null;
+    private volatile boolean cacheEnabled = true;
 
     private static final String CONFIG_V2_PACKAGE = "io.atlasmap.v2";
 
@@ -182,6 +208,273 @@ public class AtlasMappingService implements Serializable {
         }
     }
 
+    /**
+     * Loads the mapping referenced by the URI and returns it as a compiled
+     * {@link AtlasMappingPlan}. File based mappings are cached by URI and
+     * format. A cached entry is reused while the file modification time and
+     * size are unchanged, or while the content checksum still matches. When
+     * watch mode is enabled, entries are evicted by file system notifications
+     * instead of being checked on each call.
+     *
+     * @param uri mapping URI
+     * @param format mapping format
+     * @return compiled mapping plan
+     * @throws AtlasException if the mapping cannot be loaded
+     */
+    public AtlasMappingPlan loadMappingPlan(URI uri, AtlasMappingFormat format) throws AtlasException {
+        if (!isCacheEnabled() || uri == null || !"file".equalsIgnoreCase(uri.getScheme())) {
+            return AtlasMappingPlan.compile(loadMapping(uri, format));
+        }
+
+        CacheKey key = new CacheKey(uri, format);
+        File file = new File(uri);
+        CachedMapping cached = getMappingCache().get(key);
+        if (cached != null) {
+            if (cached.watched && isCacheWatchEnabled()) {
+                return cached.plan;
+            }
+            if (cached.lastModified == file.lastModified() && cached.length == file.length()) {
+                return cached.plan;
+            }
+        }
+
+        // stat and watch before reading, so a write racing with the read is caught by the
+        // check below or by a watch event instead of being cached with the old content
+        long lastModified = file.lastModified();
+        long length = file.length();
+        boolean watched = watchDirectory(file);
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            getMappingCache().remove(key);
+            throw new AtlasValidationException(e.getMessage(), e);
+        }
+        long checksum = checksum(content);
+
+        AtlasMappingPlan plan;
+        if (cached != null && cached.checksum == checksum) {
+            plan = cached.plan;
+        } else {
+            plan = AtlasMappingPlan.compile(loadMapping(
+                    new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8), format));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Loaded mapping " + uri + " into cache");
+            }
+        }
+
+        if (lastModified != file.lastModified() || length != file.length()) {
+            // modified while being read, the next call has to read it again
+            getMappingCache().remove(key);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Mapping " + uri + " changed while it was loaded, not caching it");
+            }
+            return plan;
+        }
+        getMappingCache().put(key, new CachedMapping(plan, lastModified, length, checksum, watched));
+        return plan;
+    }
+
+    /**
+     * Checks whether a plan is still current without touching the file system. This
+     * only holds for entries the watch service invalidates, for any other entry the
+     * caller has to go through {@link #loadMappingPlan(URI, AtlasMappingFormat)}.
+     *
+     * @param uri mapping URI
+     * @param format mapping format
+     * @param plan plan previously returned for the URI
+     * @return true if the plan is cached and its file is watched for changes
+     */
+    public boolean isWatchedMappingPlan(URI uri, AtlasMappingFormat format, AtlasMappingPlan plan) {
+        if (plan == null || uri == null || !isCacheWatchEnabled() || !"file".equalsIgnoreCase(uri.getScheme())) {
+            return false;
+        }
+        CachedMapping cached = getMappingCache().get(new CacheKey(uri, format));
+        return cached != null && cached.watched && cached.plan == plan;
+    }
+
+    public void invalidateCache(URI uri) {
+        if (uri == null) {
+            return;
+        }
+        for (AtlasMappingFormat format : AtlasMappingFormat.values()) {
+            getMappingCache().remove(new CacheKey(uri, format));
+        }
+    }
+
+    public void clearCache() {
+        getMappingCache().clear();
+    }
+
+    public int getCacheSize() {
+        return getMappingCache().size();
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+        if (!cacheEnabled) {
+            clearCache();
+        }
+    }
+
+    public boolean isCacheWatchEnabled() {
+        return watchService != null;
+    }
+
+    /**
+     * Enables or disables watch based invalidation of the mapping cache. When
+     * enabled, a daemon thread listens for changes to the directories of cached
+     * mapping files and evicts entries whose file has been modified or deleted.
+     *
+     * @param enabled true to start watching, false to stop
+     * @throws AtlasException if the watch service cannot be created
+     */
+    public synchronized void setCacheWatchEnabled(boolean enabled) throws AtlasException {
+        if (enabled == isCacheWatchEnabled()) {
+            return;
+        }
+
+        if (!enabled) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOG.warn("Error closing mapping watch service msg: " + e.getMessage(), e);
+            }
+            watchService = null;
+            watchThread = null;
+            getWatchedDirectories().clear();
+            clearCache();
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new AtlasException("Unable to create mapping watch service: " + e.getMessage(), e);
+        }
+        // entries cached before the watch started were never registered
+        clearCache();
+        final WatchService ws = watchService;
+        watchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                processWatchEvents(ws);
+            }
+        }, "atlas-mapping-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private boolean watchDirectory(File file) {
+        WatchService ws = watchService;
+        if (ws == null) {
+            return false;
+        }
+
+        Path dir = file.getAbsoluteFile().toPath().getParent();
+        if (dir == null) {
+            return false;
+        }
+        if (getWatchedDirectories().contains(dir)) {
+            return true;
+        }
+        try {
+            dir.register(ws, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_CREATE);
+            getWatchedDirectories().add(dir);
+            return true;
+        } catch (IOException | ClosedWatchServiceException e) {
+            LOG.warn("Unable to watch mapping directory " + dir + " msg: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void processWatchEvents(WatchService ws) {
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = ws.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path dir = (Path) watchKey.watchable();
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    clearCache();
+                    continue;
+                }
+                Path changed = dir.resolve((Path) event.context());
+                Iterator<CacheKey> it = getMappingCache().keySet().iterator();
+                while (it.hasNext()) {
+                    CacheKey key = it.next();
+                    if (changed.equals(key.path)) {
+                        it.remove();
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("Evicted mapping " + key.uri + " from cache: " + event.kind().name());
+                        }
+                    }
+                }
+            }
+            if (!watchKey.reset()) {
+                getWatchedDirectories().remove(dir);
+            }
+        }
+    }
+
+    private Map<CacheKey, CachedMapping> getMappingCache() {
+        if (mappingCache == null) {
+            synchronized (this) {
+                if (mappingCache == null) {
+                    mappingCache = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        return mappingCache;
+    }
+
+    private Set<Path> getWatchedDirectories() {
+        if (watchedDirectories == null) {
+            synchronized (this) {
+                if (watchedDirectories == null) {
+                    watchedDirectories = ConcurrentHashMap.newKeySet();
+                }
+            }
+        }
+        return watchedDirectories;
+    }
+
+    /**
+     * Digests the JSON form of the mapping. Equal mappings have equal digests, which
+     * makes the digest usable as cache key without copying the mapping.
+     *
+     * @param atlasMapping mapping
+     * @return Base64 encoded SHA-256 digest
+     * @throws AtlasException if the mapping can't be serialized
+     */
+    public String digestMapping(AtlasMapping atlasMapping) throws AtlasException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            jsonMapper.writeValue(new DigestOutputStream(new DiscardingOutputStream(), digest), atlasMapping);
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new AtlasException("Unable to digest AtlasMapping msg: " + e.getMessage(), e);
+        }
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        return crc.getValue();
+    }
+
     public void saveMappingAsFile(AtlasMapping atlasMapping, File file) throws AtlasException {
         saveMappingAsFile(atlasMapping, file, AtlasMappingFormat.XML);
     }
@@ -278,4 +571,59 @@ public class AtlasMappingService implements Serializable {
 
         return buffer.toString();
     }
+
+    static final class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+
+    private static final class CacheKey {
+        private final URI uri;
+        private final Path path;
+        private final AtlasMappingFormat format;
+
+        CacheKey(URI uri, AtlasMappingFormat format) {
+            this.uri = uri.normalize();
+            this.path = new File(this.uri).getAbsoluteFile().toPath();
+            this.format = format;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * uri.hashCode() + (format != null ? format.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return uri.equals(other.uri) && format == other.format;
+        }
+    }
+
+    private static final class CachedMapping {
+        private final AtlasMappingPlan plan;
+        private final long lastModified;
+        private final long length;
+        private final long checksum;
+        private final boolean watched;
+
+        CachedMapping(AtlasMappingPlan plan, long lastModified, long length, long checksum, boolean watched) {
+            this.plan = plan;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.checksum = checksum;
+            this.watched = watched;
+        }
+    }
 }
@@ -0,0 +1,246 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+import io.atlasmap.mxbean.AtlasModuleMXBean;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.AtlasModuleDetail;
+import io.atlasmap.spi.AtlasModuleMode;
+
+/**
+ * JMX view of a single {@link AtlasModule} instance. Counters are only updated
+ * while statistics are enabled. Execution times are reported in nanoseconds.
+ */
+public class AtlasModuleStatistics implements AtlasModuleMXBean {
+
+    private static final String[] STATISTICS_ITEMS = new String[] {"direction", "count", "errorCount",
+        "successCount", "minExecutionTime", "maxExecutionTime", "totalExecutionTime"};
+
+    private final String uuid = UUID.randomUUID().toString();
+    private final AtlasModule module;
+    private final ExecutionCounter input = new ExecutionCounter();
+    private final ExecutionCounter output = new ExecutionCounter();
+    private volatile boolean statisticsEnabled = false;
+
+    public AtlasModuleStatistics(AtlasModule module) {
+        this.module = module;
+    }
+
+    public void recordInput(long executionTime, boolean error) {
+        input.record(executionTime, error);
+    }
+
+    public void recordOutput(long executionTime, boolean error) {
+        output.record(executionTime, error);
+    }
+
+    @Override
+    public String getUuid() {
+        return uuid;
+    }
+
+    @Override
+    public String getName() {
+        AtlasModuleDetail detail = getModuleDetail();
+        return detail != null ? detail.name() : module.getClass().getSimpleName();
+    }
+
+    @Override
+    public String getClassName() {
+        return module.getClass().getName();
+    }
+
+    @Override
+    public String getVersion() {
+        return module.getClass().getPackage().getImplementationVersion();
+    }
+
+    @Override
+    public String[] getDataFormats() {
+        AtlasModuleDetail detail = getModuleDetail();
+        return detail != null ? detail.dataFormats() : new String[0];
+    }
+
+    @Override
+    public String[] getPackageNames() {
+        AtlasModuleDetail detail = getModuleDetail();
+        return detail != null ? detail.configPackages() : new String[0];
+    }
+
+    @Override
+    public String getMode() {
+        return module.getMode() != null ? module.getMode().value() : null;
+    }
+
+    @Override
+    public boolean isSourceSupported() {
+        List<AtlasModuleMode> modes = module.listSupportedModes();
+        return modes != null && modes.contains(AtlasModuleMode.SOURCE);
+    }
+
+    @Override
+    public boolean isTargetSupported() {
+        List<AtlasModuleMode> modes = module.listSupportedModes();
+        return modes != null && modes.contains(AtlasModuleMode.TARGET);
+    }
+
+    @Override
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        this.statisticsEnabled = enabled;
+    }
+
+    @Override
+    public long getInputCount() {
+        return input.count.sum();
+    }
+
+    @Override
+    public long getInputErrorCount() {
+        return input.errors.sum();
+    }
+
+    @Override
+    public long getInputSuccessCount() {
+        return input.count.sum() - input.errors.sum();
+    }
+
+    @Override
+    public long getInputMinExecutionTime() {
+        return input.getMin();
+    }
+
+    @Override
+    public long getInputMaxExecutionTime() {
+        return input.getMax();
+    }
+
+    @Override
+    public long getInputTotalExecutionTime() {
+        return input.total.sum();
+    }
+
+    @Override
+    public long getOutputCount() {
+        return output.count.sum();
+    }
+
+    @Override
+    public long getOutputErrorCount() {
+        return output.errors.sum();
+    }
+
+    @Override
+    public long getOutputSuccessCount() {
+        return output.count.sum() - output.errors.sum();
+    }
+
+    @Override
+    public long getOutputMinExecutionTime() {
+        return output.getMin();
+    }
+
+    @Override
+    public long getOutputMaxExecutionTime() {
+        return output.getMax();
+    }
+
+    @Override
+    public long getOutputTotalExecutionTime() {
+        return output.total.sum();
+    }
+
+    @Override
+    public TabularData readAndResetStatistics() throws OpenDataException {
+        OpenType<?>[] itemTypes = new OpenType<?>[] {SimpleType.STRING, SimpleType.LONG, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG};
+        CompositeType rowType = new CompositeType("AtlasModuleStatistics", "AtlasModule execution statistics",
+                STATISTICS_ITEMS, STATISTICS_ITEMS, itemTypes);
+        TabularType tableType = new TabularType("AtlasModuleStatisticsTable", "AtlasModule execution statistics",
+                rowType, new String[] {"direction"});
+
+        TabularDataSupport table = new TabularDataSupport(tableType);
+        table.put(new CompositeDataSupport(rowType, STATISTICS_ITEMS, input.readAndReset("input")));
+        table.put(new CompositeDataSupport(rowType, STATISTICS_ITEMS, output.readAndReset("output")));
+        return table;
+    }
+
+    private AtlasModuleDetail getModuleDetail() {
+        return module.getClass().getAnnotation(AtlasModuleDetail.class);
+    }
+
+    @Override
+    public String toString() {
+        return "AtlasModuleStatistics [uuid=" + uuid + ", name=" + getName() + ", mode=" + getMode()
+                + ", statisticsEnabled=" + statisticsEnabled + "]";
+    }
+
+    private static final class ExecutionCounter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        void record(long executionTime, boolean error) {
+            count.increment();
+            if (error) {
+                errors.increment();
+            }
+            total.add(executionTime);
+            min.accumulate(executionTime);
+            max.accumulate(executionTime);
+        }
+
+        long getMin() {
+            long value = min.get();
+            return value == Long.MAX_VALUE ? 0L : value;
+        }
+
+        long getMax() {
+            long value = max.get();
+            return value == Long.MIN_VALUE ? 0L : value;
+        }
+
+        Object[] readAndReset(String direction) {
+            long c = count.sumThenReset();
+            long e = errors.sumThenReset();
+            long t = total.sumThenReset();
+            long mn = min.getThenReset();
+            long mx = max.getThenReset();
+            return new Object[] {direction, c, e, c - e, mn == Long.MAX_VALUE ? 0L : mn,
+                mx == Long.MIN_VALUE ? 0L : mx, t};
+        }
+    }
+}
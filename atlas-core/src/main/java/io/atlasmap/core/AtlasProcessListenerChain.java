@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasProcessPhase;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.spi.AtlasProcessListener;
+import io.atlasmap.spi.AtlasProcessListener.MappingStep;
+import io.atlasmap.v2.BaseMapping;
+
+/**
+ * Immutable set of {@link AtlasProcessListener}s the context dispatches to. Registering
+ * or removing a listener replaces the chain, so a session keeps the listeners it started
+ * with and dispatching needs no locking. Callers check {@link #isEmpty()} to skip
+ * dispatching altogether when nothing listens.
+ */
+final class AtlasProcessListenerChain {
+
+    static final AtlasProcessListenerChain EMPTY = new AtlasProcessListenerChain(new AtlasProcessListener[0]);
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasProcessListenerChain.class);
+
+    private final AtlasProcessListener[] listeners;
+
+    private AtlasProcessListenerChain(AtlasProcessListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    List<AtlasProcessListener> getListeners() {
+        return Collections.unmodifiableList(Arrays.asList(listeners));
+    }
+
+    AtlasProcessListenerChain add(AtlasProcessListener listener) {
+        AtlasProcessListener[] added = Arrays.copyOf(listeners, listeners.length + 1);
+        added[listeners.length] = listener;
+        return new AtlasProcessListenerChain(added);
+    }
+
+    AtlasProcessListenerChain remove(AtlasProcessListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                if (listeners.length == 1) {
+                    return EMPTY;
+                }
+                AtlasProcessListener[] removed = new AtlasProcessListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, removed, 0, i);
+                System.arraycopy(listeners, i + 1, removed, i, listeners.length - i - 1);
+                return new AtlasProcessListenerChain(removed);
+            }
+        }
+        return this;
+    }
+
+    boolean contains(Class<?> listenerClass) {
+        for (AtlasProcessListener listener : listeners) {
+            if (listener.getClass() == listenerClass) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void beginProcess(AtlasSession session) {
+        for (AtlasProcessListener listener : listeners) {
+            try {
+                listener.beginProcess(session);
+            } catch (RuntimeException e) {
+                warn(listener, "beginProcess", e);
+            }
+        }
+    }
+
+    void endProcess(AtlasSession session, Throwable failure) {
+        for (AtlasProcessListener listener : listeners) {
+            try {
+                listener.endProcess(session, failure);
+            } catch (RuntimeException e) {
+                warn(listener, "endProcess", e);
+            }
+        }
+    }
+
+    void beginPhase(AtlasSession session, AtlasProcessPhase phase) {
+        for (AtlasProcessListener listener : listeners) {
+            try {
+                listener.beginPhase(session, phase);
+            } catch (RuntimeException e) {
+                warn(listener, "beginPhase", e);
+            }
+        }
+    }
+
+    void endPhase(AtlasSession session, AtlasProcessPhase phase) {
+        for (AtlasProcessListener listener : listeners) {
+            try {
+                listener.endPhase(session, phase);
+            } catch (RuntimeException e) {
+                warn(listener, "endPhase", e);
+            }
+        }
+    }
+
+    void beginMapping(AtlasSession session, int index, BaseMapping mapping) {
+        for (AtlasProcessListener listener : listeners) {
+            try {
+                listener.beginMapping(session, index, mapping);
+            } catch (RuntimeException e) {
+                warn(listener, "beginMapping", e);
+            }
+        }
+    }
+
+    void endMapping(AtlasSession session, int index, BaseMapping mapping) {
+        for (AtlasProcessListener listener : listeners) {
+            try {
+                listener.endMapping(session, index, mapping);
+            } catch (RuntimeException e) {
+                warn(listener, "endMapping", e);
+            }
+        }
+    }
+
+    void beginMappingStep(AtlasSession session, BaseMapping mapping, MappingStep step) {
+        for (AtlasProcessListener listener : listeners) {
+            try {
+                listener.beginMappingStep(session, mapping, step);
+            } catch (RuntimeException e) {
+                warn(listener, "beginMappingStep", e);
+            }
+        }
+    }
+
+    void endMappingStep(AtlasSession session, BaseMapping mapping, MappingStep step) {
+        for (AtlasProcessListener listener : listeners) {
+            try {
+                listener.endMappingStep(session, mapping, step);
+            } catch (RuntimeException e) {
+                warn(listener, "endMappingStep", e);
+            }
+        }
+    }
+
+    private static void warn(AtlasProcessListener listener, String callback, RuntimeException e) {
+        LOG.warn("AtlasProcessListener " + listener.getClass().getName() + " failed in " + callback + " msg: "
+                + e.getMessage(), e);
+    }
+}
@@ -38,8 +38,6 @@ import io.atlasmap.v2.Collection;
 import io.atlasmap.v2.ConstantField;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
-import io.atlasmap.v2.LookupEntry;
-import io.atlasmap.v2.LookupTable;
 import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.MappingType;
 import io.atlasmap.v2.PropertyField;
@@ -50,6 +48,7 @@ public abstract class BaseAtlasModule implements AtlasModule {
 
     private AtlasConversionService atlasConversionService = null;
     private AtlasModuleMode atlasModuleMode = AtlasModuleMode.UNSET;
+    private final AtlasModuleStatistics statistics = new AtlasModuleStatistics(this);
     protected boolean automaticallyProcessOutputFieldActions = true;
 
     @Override
@@ -95,6 +94,22 @@ public abstract class BaseAtlasModule implements AtlasModule {
 
     public abstract Field cloneField(Field field) throws AtlasException;
 
+    /**
+     * Whether {@link #processInputMapping(AtlasSession, BaseMapping)} may be invoked concurrently
+     * for different elements of the same collection once the input document has been read once.
+     * {@link DefaultAtlasContext} only reads collection elements in parallel for modules returning true.
+     *
+     * @return true if the module reads the source document without mutating shared state
+     */
+    public boolean isConcurrentReadSupported() {
+        return false;
+    }
+
+    /**
+     * Expands a collection mapping into one cloned mapping per collection element.
+     * {@link DefaultAtlasContext} iterates collections with an index cursor instead,
+     * this remains for modules invoked directly with a collection mapping.
+     */
     public List<Mapping> generateInputMappings(AtlasSession session, BaseMapping baseMapping) throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Generating Input Mappings from mapping: " + baseMapping);
@@ -109,7 +124,7 @@ public abstract class BaseAtlasModule implements AtlasModule {
         for (BaseMapping m : ((Collection) baseMapping).getMappings().getMapping()) {
             Mapping mapping = (Mapping) m;
             Field inputField = mapping.getInputField().get(0);
-            boolean inputIsCollection = PathUtil.isCollection(inputField.getPath());
+            boolean inputIsCollection = CompiledPath.compile(inputField.getPath()).hasCollection();
             if (!inputIsCollection) {
                 // this is a input non-collection to output collection, ie: contact.firstName ->
                 // contact[].firstName
@@ -125,7 +140,7 @@ public abstract class BaseAtlasModule implements AtlasModule {
                 // which will cause at least one
                 // output object to be created for our copied firstName value
                 for (Field f : mapping.getOutputField()) {
-                    f.setPath(PathUtil.overwriteCollectionIndex(f.getPath(), 0));
+                    f.setPath(CompiledPath.compile(f.getPath()).bindCollectionIndex(0));
                 }
                 mappings.add(mapping);
                 continue;
@@ -140,13 +155,14 @@ public abstract class BaseAtlasModule implements AtlasModule {
                 Mapping cloneMapping = (Mapping) AtlasModelFactory.cloneMapping(mapping, false);
                 for (Field f : mapping.getInputField()) {
                     Field clonedField = cloneField(f);
-                    clonedField.setPath(PathUtil.overwriteCollectionIndex(clonedField.getPath(), i));
+                    clonedField.setPath(CompiledPath.compile(clonedField.getPath()).bindCollectionIndex(i));
                     cloneMapping.getInputField().add(clonedField);
                 }
                 for (Field f : mapping.getOutputField()) {
                     Field clonedField = cloneField(f);
-                    if (PathUtil.isCollection(clonedField.getPath())) {
-                        clonedField.setPath(PathUtil.overwriteCollectionIndex(clonedField.getPath(), i));
+                    CompiledPath outputPath = CompiledPath.compile(clonedField.getPath());
+                    if (outputPath.hasCollection()) {
+                        clonedField.setPath(outputPath.bindCollectionIndex(i));
                     }
                     cloneMapping.getOutputField().add(clonedField);
                 }
@@ -230,39 +246,32 @@ public abstract class BaseAtlasModule implements AtlasModule {
             throw new AtlasException("AtlasSession must be initialized");
         }
 
-        if (session.getMapping().getLookupTables() == null
-                || session.getMapping().getLookupTables().getLookupTable() == null
-                || session.getMapping().getLookupTables().getLookupTable().size() == 0) {
+        LookupTableIndex index = getLookupTableIndex(session, mapping.getLookupTableName());
+        if (index == null) {
             addAudit(session, mapping.getOutputField().get(0).getDocId(), String.format(
                     "No lookup table found for specified lookupTableName=%s", mapping.getLookupTableName()),
                     null, AuditStatus.WARN, null);
             return;
         }
 
-        LookupTable currentTable = null;
-        for (LookupTable lookupTable : session.getMapping().getLookupTables().getLookupTable()) {
-            if (lookupTable.getName() != null && lookupTable.getName().equals(mapping.getLookupTableName())) {
-                currentTable = lookupTable;
-            }
-        }
-
-        if (currentTable.getLookupEntry() == null || currentTable.getLookupEntry().isEmpty()) {
+        if (index.isEmpty()) {
             addAudit(session, mapping.getOutputField().get(0).getDocId(), String.format(
                     "Lookup table lookupTableName=%s does not contain any entries", mapping.getLookupTableName()),
                     null, AuditStatus.WARN, null);
             return;
         }
 
-        for (LookupEntry entry : currentTable.getLookupEntry()) {
-            for (Field inputField : mapping.getInputField()) {
-                if (entry.getSourceValue().equals(inputField.getValue())) {
-                    inputField.setValue(entry.getTargetValue());
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug(
-                                String.format("Processing lookup value for iP=%s iV=%s lksV=%s lksT=%s lktV=%s lktT=%s",
-                                        inputField.getPath(), inputField.getValue(), entry.getSourceValue(),
-                                        entry.getSourceType(), entry.getTargetValue(), entry.getTargetType()));
-                    }
+        for (Field inputField : mapping.getInputField()) {
+            LookupTableIndex.Entry entry = inputField.getValue() instanceof String
+                    ? index.get((String) inputField.getValue()) : null;
+            if (entry != null) {
+                // the raw target value, conversion to the output field type happens on output
+                inputField.setValue(entry.getLookupEntry().getTargetValue());
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(String.format("Processing lookup value for iP=%s iV=%s lksV=%s lksT=%s lktV=%s lktT=%s",
+                            inputField.getPath(), inputField.getValue(), entry.getSourceValue(),
+                            entry.getLookupEntry().getSourceType(), entry.getLookupEntry().getTargetValue(),
+                            entry.getTargetType()));
                 }
             }
         }
@@ -376,33 +385,19 @@ public abstract class BaseAtlasModule implements AtlasModule {
 
     protected void processLookupField(AtlasSession session, String lookupTableName, String inputValue,
             Field outputField) throws AtlasException {
-        LookupTable table = null;
-        for (LookupTable t : session.getMapping().getLookupTables().getLookupTable()) {
-            if (t.getName().equals(lookupTableName)) {
-                table = t;
-                break;
-            }
-        }
-        if (table == null) {
+        LookupTableIndex index = getLookupTableIndex(session, lookupTableName);
+        if (index == null) {
             throw new AtlasException("Could not find lookup table with name '" + lookupTableName + "' for outputField: "
                     + outputField.getPath());
         }
 
-        String lookupValue = null;
-        FieldType lookupType = null;
-        for (LookupEntry lkp : table.getLookupEntry()) {
-            if (lkp.getSourceValue().equals(inputValue)) {
-                lookupValue = lkp.getTargetValue();
-                lookupType = lkp.getTargetType();
-                break;
-            }
-        }
-
+        LookupTableIndex.Entry entry = index.get(inputValue);
         Object outputValue = null;
-        if (lookupType == null || FieldType.STRING.equals(lookupType)) {
-            outputValue = lookupValue;
-        } else {
-            outputValue = getConversionService().convertType(lookupValue, FieldType.STRING, lookupType);
+        FieldType lookupType = null;
+        if (entry != null) {
+            // already converted to the entry target type
+            outputValue = entry.getTargetValue();
+            lookupType = entry.getTargetType();
         }
 
         if (outputField.getFieldType() != null && !outputField.getFieldType().equals(lookupType)) {
@@ -412,6 +407,17 @@ public abstract class BaseAtlasModule implements AtlasModule {
         outputField.setValue(outputValue);
     }
 
+    protected LookupTableIndex getLookupTableIndex(AtlasSession session, String lookupTableName) {
+        return LookupTableIndex.forSession(session, lookupTableName, getConversionService());
+    }
+
+    protected CompiledPath getCompiledPath(AtlasSession session, Field field) {
+        if (session instanceof DefaultAtlasSession) {
+            return ((DefaultAtlasSession) session).getCompiledPath(field);
+        }
+        return CompiledPath.compile(field.getPath());
+    }
+
     protected void addAudit(AtlasSession session, String docId, String message, String path, AuditStatus status,
             String value) {
         Audit audit = new Audit();
@@ -420,7 +426,9 @@ public abstract class BaseAtlasModule implements AtlasModule {
         audit.setPath(path);
         audit.setStatus(status);
         audit.setValue(value);
-        session.getAudits().getAudit().add(audit);
+        synchronized (session.getAudits()) {
+            session.getAudits().getAudit().add(audit);
+        }
     }
 
     protected void processFieldActions(AtlasFieldActionService fieldActionService, Field field) throws AtlasException {
@@ -439,12 +447,20 @@ public abstract class BaseAtlasModule implements AtlasModule {
 
     @Override
     public Boolean isStatisticsSupported() {
-        return false;
+        return true;
     }
 
     @Override
     public Boolean isStatisticsEnabled() {
-        return false;
+        return statistics.isStatisticsEnabled();
+    }
+
+    public void setStatisticsEnabled(boolean enabled) {
+        statistics.setStatisticsEnabled(enabled);
+    }
+
+    public AtlasModuleStatistics getStatistics() {
+        return statistics;
     }
 
     @Override
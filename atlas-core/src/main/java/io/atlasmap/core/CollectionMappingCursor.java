@@ -0,0 +1,224 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.List;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.CollectionType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+
+/**
+ * Index cursor over one inner mapping of a {@link io.atlasmap.v2.Collection}.
+ * The field paths are compiled once, then {@link #bind(int)} points the same
+ * {@link Field} instances at each collection element in turn instead of cloning
+ * the mapping per element. The element paths are derived from the compiled
+ * template through {@link CompiledPath#bind(int)} and handed to the modules via
+ * {@link DefaultAtlasSession#getCompiledPath(Field)}, so they are never parsed.
+ * {@link #restore()} puts the original paths back.
+ */
+final class CollectionMappingCursor {
+
+    private final AtlasSession session;
+    private final Mapping mapping;
+    private final FieldTemplate[] inputFields;
+    private final FieldTemplate[] outputFields;
+    private final boolean inputCollection;
+
+    CollectionMappingCursor(AtlasSession session, Mapping mapping) {
+        this.session = session;
+        this.mapping = mapping;
+        DefaultAtlasSession defaultSession = session instanceof DefaultAtlasSession
+                ? (DefaultAtlasSession) session : null;
+        this.inputFields = compile(defaultSession, mapping.getInputField());
+        this.outputFields = compile(defaultSession, mapping.getOutputField());
+        this.inputCollection = inputFields.length > 0 && inputFields[0].path.hasCollection();
+    }
+
+    private static FieldTemplate[] compile(DefaultAtlasSession session, List<Field> fields) {
+        FieldTemplate[] templates = new FieldTemplate[fields.size()];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = new FieldTemplate(session, fields.get(i));
+        }
+        return templates;
+    }
+
+    Mapping getMapping() {
+        return mapping;
+    }
+
+    boolean hasInputField() {
+        return inputFields.length > 0;
+    }
+
+    Field getInputField() {
+        return inputFields[0].field;
+    }
+
+    /**
+     * @return true if the input is a collection to iterate, false if a single
+     *         input value is mapped into the first output collection element
+     */
+    boolean isInputCollection() {
+        return inputCollection;
+    }
+
+    /**
+     * @return true if every input field iterates the collection, so elements can be
+     *         read independently of each other
+     */
+    boolean isInputCollectionOnly() {
+        if (!inputCollection) {
+            return false;
+        }
+        for (FieldTemplate template : inputFields) {
+            if (!template.path.hasCollection()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a cursor over a private copy of the mapping input fields, used to read
+     * a range of elements on another thread. Output fields are not copied.
+     *
+     * @param session session the copy binds its paths into
+     * @param module source module used to clone the input fields
+     * @return cursor over the copy
+     * @throws AtlasException if a field cannot be cloned
+     */
+    CollectionMappingCursor copyForInput(AtlasSession session, BaseAtlasModule module) throws AtlasException {
+        Mapping copy = (Mapping) AtlasModelFactory.cloneMapping(mapping, false);
+        for (FieldTemplate template : inputFields) {
+            Field field = module.cloneField(template.field);
+            field.setPath(template.originalPath);
+            field.setFieldType(template.fieldType);
+            field.setCollectionType(template.collectionType);
+            field.setValue(template.value);
+            copy.getInputField().add(field);
+        }
+        return new CollectionMappingCursor(session, copy);
+    }
+
+    /**
+     * @return the input values and types read for the currently bound element
+     */
+    ElementValues captureInput() {
+        Object[] values = new Object[inputFields.length];
+        FieldType[] fieldTypes = new FieldType[inputFields.length];
+        for (int i = 0; i < inputFields.length; i++) {
+            values[i] = inputFields[i].field.getValue();
+            fieldTypes[i] = inputFields[i].field.getFieldType();
+        }
+        return new ElementValues(values, fieldTypes);
+    }
+
+    /**
+     * Sets previously captured input values on the bound input fields.
+     *
+     * @param element values captured by {@link #captureInput()} on a cursor over the same mapping
+     */
+    void applyInput(ElementValues element) {
+        for (int i = 0; i < inputFields.length; i++) {
+            inputFields[i].field.setValue(element.values[i]);
+            inputFields[i].field.setFieldType(element.fieldTypes[i]);
+        }
+    }
+
+    /**
+     * Binds the fields to the element at the given index and clears the values
+     * read or written for the previous element.
+     *
+     * @param index collection element index
+     */
+    void bind(int index) {
+        if (inputCollection) {
+            for (FieldTemplate template : inputFields) {
+                template.bind(index);
+            }
+        }
+        for (FieldTemplate template : outputFields) {
+            if (template.path.hasCollection()) {
+                template.bind(index);
+            }
+        }
+    }
+
+    void restore() {
+        for (FieldTemplate template : inputFields) {
+            template.restore();
+        }
+        for (FieldTemplate template : outputFields) {
+            template.restore();
+        }
+    }
+
+    static final class ElementValues {
+        private final Object[] values;
+        private final FieldType[] fieldTypes;
+
+        ElementValues(Object[] values, FieldType[] fieldTypes) {
+            this.values = values;
+            this.fieldTypes = fieldTypes;
+        }
+    }
+
+    private static final class FieldTemplate {
+        private final DefaultAtlasSession session;
+        private final Field field;
+        private final String originalPath;
+        private final CompiledPath path;
+        private final FieldType fieldType;
+        private final CollectionType collectionType;
+        private final Object value;
+
+        FieldTemplate(DefaultAtlasSession session, Field field) {
+            this.session = session;
+            this.field = field;
+            this.originalPath = field.getPath();
+            this.path = session != null ? session.getCompiledPath(field) : CompiledPath.compile(originalPath);
+            this.fieldType = field.getFieldType();
+            this.collectionType = field.getCollectionType();
+            this.value = field.getValue();
+        }
+
+        void bind(int index) {
+            CompiledPath bound = path.bind(index);
+            field.setPath(bound.getOriginalPath());
+            if (session != null) {
+                session.bindPath(field, bound);
+            }
+            field.setFieldType(fieldType);
+            field.setCollectionType(collectionType);
+            field.setValue(null);
+        }
+
+        void restore() {
+            if (session != null) {
+                session.unbindPath(field);
+            }
+            field.setPath(originalPath);
+            field.setFieldType(fieldType);
+            field.setCollectionType(collectionType);
+            field.setValue(value);
+        }
+    }
+}
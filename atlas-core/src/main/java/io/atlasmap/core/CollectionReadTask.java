@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.CollectionMappingCursor.ElementValues;
+import io.atlasmap.v2.Audit;
+
+/**
+ * Reads a range of collection elements on a {@link ForkJoinPool}. Each leaf task
+ * reads through its own copy of the mapping input fields and its own fork of the
+ * session, and stores the values it read by element index, so the caller can write
+ * them out in order afterwards. Audits raised by the leaves are added to the session
+ * in element order once all leaves are done.
+ */
+final class CollectionReadTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+    private static final int SPLITS_PER_WORKER = 4;
+
+    private final transient Shared shared;
+    private final int start;
+    private final int end;
+
+    private CollectionReadTask(Shared shared, int start, int end) {
+        this.shared = shared;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Reads the elements from {@code from} (inclusive) to {@code size} (exclusive).
+     *
+     * @param pool pool to read on
+     * @param session session being processed
+     * @param module source module, must support concurrent reads
+     * @param cursor cursor over the mapping to read
+     * @param from first element index to read
+     * @param size collection size
+     * @param statistics source module statistics, or null if disabled
+     * @return values read, indexed by element, entries before {@code from} are null
+     * @throws AtlasException the first error raised while reading
+     */
+    static ElementValues[] read(ForkJoinPool pool, DefaultAtlasSession session, BaseAtlasModule module,
+            CollectionMappingCursor cursor, int from, int size, AtlasModuleStatistics statistics)
+            throws AtlasException {
+        ElementValues[] elements = new ElementValues[size];
+        if (from >= size) {
+            return elements;
+        }
+        int leafSize = Math.max(1, (size - from) / (pool.getParallelism() * SPLITS_PER_WORKER));
+        Shared shared = new Shared(session, module, cursor, elements, statistics, leafSize);
+        try {
+            pool.invoke(new CollectionReadTask(shared, from, size));
+        } finally {
+            for (List<Audit> audits : shared.audits.values()) {
+                session.getAudits().getAudit().addAll(audits);
+            }
+        }
+        if (shared.failure.get() != null) {
+            throw shared.failure.get();
+        }
+        return elements;
+    }
+
+    @Override
+    protected void compute() {
+        if (shared.failure.get() != null) {
+            return;
+        }
+        if (end - start <= shared.leafSize) {
+            readRange();
+            return;
+        }
+        int middle = (start + end) >>> 1;
+        invokeAll(new CollectionReadTask(shared, start, middle), new CollectionReadTask(shared, middle, end));
+    }
+
+    private void readRange() {
+        DefaultAtlasSession session = shared.session.forkForInput();
+        CollectionMappingCursor cursor = null;
+        try {
+            cursor = shared.cursor.copyForInput(session, shared.module);
+            for (int i = start; i < end && shared.failure.get() == null; i++) {
+                cursor.bind(i);
+                int auditCount = session.getAudits().getAudit().size();
+                long begin = System.nanoTime();
+                boolean error = true;
+                try {
+                    shared.module.processInputMapping(session, cursor.getMapping());
+                    error = DefaultAtlasContext.hasNewErrors(session, auditCount);
+                } finally {
+                    if (shared.statistics != null) {
+                        shared.statistics.recordInput(System.nanoTime() - begin, error);
+                    }
+                }
+                shared.elements[i] = cursor.captureInput();
+            }
+        } catch (AtlasException e) {
+            shared.failure.compareAndSet(null, e);
+        } catch (RuntimeException e) {
+            shared.failure.compareAndSet(null, new AtlasException(e));
+        } finally {
+            if (cursor != null) {
+                cursor.restore();
+            }
+            if (!session.getAudits().getAudit().isEmpty()) {
+                shared.audits.put(start, session.getAudits().getAudit());
+            }
+        }
+    }
+
+    private static final class Shared {
+        private final DefaultAtlasSession session;
+        private final BaseAtlasModule module;
+        private final CollectionMappingCursor cursor;
+        private final ElementValues[] elements;
+        private final AtlasModuleStatistics statistics;
+        private final int leafSize;
+        private final AtomicReference<AtlasException> failure = new AtomicReference<>();
+        private final ConcurrentNavigableMap<Integer, List<Audit>> audits = new ConcurrentSkipListMap<>();
+
+        Shared(DefaultAtlasSession session, BaseAtlasModule module, CollectionMappingCursor cursor,
+                ElementValues[] elements, AtlasModuleStatistics statistics, int leafSize) {
+            this.session = session;
+            this.module = module;
+            this.cursor = cursor;
+            this.elements = elements;
+            this.statistics = statistics;
+            this.leafSize = leafSize;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.atlasmap.core.PathUtil.SegmentContext;
+import io.atlasmap.v2.CollectionType;
+
+/**
+ * Immutable, pre-parsed form of a field path. Segments are split once and carry
+ * their cleaned name, namespace prefix, attribute flag, collection type and index
+ * so readers and writers can walk a path without re-parsing strings. Instances are
+ * safe to share between threads. {@link #compile(String)} interns paths without
+ * collection index, indexed paths are kept by the {@link AtlasMappingPlan} that
+ * defines them or derived per collection element through {@link #bind(int)}.
+ */
+public final class CompiledPath {
+
+    static final int MAX_INTERNED_PATHS = 16384;
+
+    private static final ConcurrentMap<String, CompiledPath> INTERNED = new ConcurrentHashMap<>();
+    private static final CompiledPath EMPTY = new CompiledPath("");
+
+    private final String originalPath;
+    private final Segment[] segments;
+    private final List<Segment> segmentList;
+    private final boolean collection;
+    private final boolean indexed;
+    private final String normalizedPath;
+    private volatile List<SegmentContext> segmentContexts;
+    private volatile List<SegmentContext> rootedSegmentContexts;
+
+    private CompiledPath(String path) {
+        this.originalPath = path;
+        List<String> parts = new PathUtil(path).getSegments();
+        this.segments = new Segment[parts.size()];
+        StringBuilder segmentPath = new StringBuilder();
+        StringBuilder normalized = new StringBuilder();
+        boolean hasCollection = false;
+        boolean hasIndex = false;
+        for (int i = 0; i < parts.size(); i++) {
+            String part = parts.get(i);
+            segmentPath.append(PathUtil.PATH_SEPARATOR).append(part);
+            normalized.append(PathUtil.PATH_SEPARATOR).append(PathUtil.removeCollectionIndex(part));
+            segments[i] = new Segment(part, segmentPath.toString());
+            hasCollection |= segments[i].isCollection();
+            hasIndex |= segments[i].getIndex() != null;
+        }
+        this.segmentList = Collections.unmodifiableList(Arrays.asList(segments));
+        this.collection = hasCollection;
+        this.indexed = hasIndex;
+        this.normalizedPath = normalized.toString();
+    }
+
+    private CompiledPath(CompiledPath template, int index) {
+        this.segments = new Segment[template.segments.length];
+        StringBuilder segmentPath = new StringBuilder(template.originalPath.length() + 8);
+        boolean rebound = false;
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = template.segments[i];
+            if (segment.collectionType == CollectionType.ARRAY || segment.collectionType == CollectionType.LIST) {
+                String expression = segment.name + collectionStart(segment.collectionType) + index
+                        + collectionEnd(segment.collectionType);
+                segmentPath.append(PathUtil.PATH_SEPARATOR).append(expression);
+                segments[i] = new Segment(segment, expression, segmentPath.toString(), index);
+                rebound = true;
+            } else {
+                segmentPath.append(PathUtil.PATH_SEPARATOR).append(segment.expression);
+                segments[i] = rebound ? new Segment(segment, segmentPath.toString()) : segment;
+            }
+        }
+        this.originalPath = segmentPath.toString();
+        this.segmentList = Collections.unmodifiableList(Arrays.asList(segments));
+        this.collection = true;
+        this.indexed = rebound || template.indexed;
+        this.normalizedPath = template.normalizedPath;
+    }
+
+    /**
+     * Returns the compiled form of the path. Paths without collection index are
+     * parsed only the first time they are seen, indexed paths such as
+     * /contact[12345]/firstName are one-off and parsed on every call.
+     *
+     * @param path field path such as /orders&lt;2&gt;/address/city
+     * @return compiled path, never null
+     */
+    public static CompiledPath compile(String path) {
+        if (path == null || path.isEmpty()) {
+            return EMPTY;
+        }
+        CompiledPath compiled = INTERNED.get(path);
+        if (compiled != null) {
+            return compiled;
+        }
+        compiled = new CompiledPath(path);
+        if (compiled.indexed || INTERNED.size() >= MAX_INTERNED_PATHS) {
+            // expanded collection paths are unbounded and would crowd out the template paths
+            return compiled;
+        }
+        CompiledPath existing = INTERNED.putIfAbsent(path, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * Parses a single path segment such as xt1:orders[2] or @firstName. The
+     * segment path of the result only covers the segment itself.
+     *
+     * @param segment segment expression
+     * @return parsed segment
+     */
+    public static Segment compileSegment(String segment) {
+        return new Segment(segment, PathUtil.PATH_SEPARATOR + segment);
+    }
+
+    static void clearInterned() {
+        INTERNED.clear();
+    }
+
+    static int getInternedCount() {
+        return INTERNED.size();
+    }
+
+    public String getOriginalPath() {
+        return originalPath;
+    }
+
+    public List<Segment> getSegments() {
+        return segmentList;
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    public Segment getSegment(int index) {
+        return segments[index];
+    }
+
+    public Segment getLastSegment() {
+        return segments.length == 0 ? null : segments[segments.length - 1];
+    }
+
+    public boolean hasCollection() {
+        return collection;
+    }
+
+    /**
+     * @return true if any segment carries a collection index
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * @return the path with every collection index removed, as
+     *         {@link PathUtil#removeCollectionIndexes(String)} returns it
+     */
+    public String getNormalizedPath() {
+        return normalizedPath;
+    }
+
+    /**
+     * Derives the path pointing every array and list segment at the given index
+     * from the already parsed segments, without building and re-parsing a path
+     * string. Segments before the first collection segment are shared with this
+     * path.
+     *
+     * @param index collection index
+     * @return the bound path, or this path if it has no collection segment
+     */
+    public CompiledPath bind(int index) {
+        return collection ? new CompiledPath(this, index) : this;
+    }
+
+    /**
+     * Builds the path with every array and list segment pointing at the given
+     * index, as {@link PathUtil#overwriteCollectionIndex(String, int)} does, but
+     * from the already split segments.
+     *
+     * @param index collection index
+     * @return indexed path
+     */
+    public String bindCollectionIndex(int index) {
+        if (!collection) {
+            return normalizedPath;
+        }
+        StringBuilder builder = new StringBuilder(originalPath.length() + 8);
+        for (Segment segment : segments) {
+            builder.append(PathUtil.PATH_SEPARATOR);
+            if (segment.collectionType == CollectionType.ARRAY) {
+                builder.append(segment.name).append(PathUtil.PATH_ARRAY_START).append(index)
+                        .append(PathUtil.PATH_ARRAY_END);
+            } else if (segment.collectionType == CollectionType.LIST) {
+                builder.append(segment.name).append(PathUtil.PATH_LIST_START).append(index)
+                        .append(PathUtil.PATH_LIST_END);
+            } else {
+                builder.append(segment.expression);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the same chain {@link PathUtil#getSegmentContexts(boolean)} builds,
+     * created once for this path. The contexts must not be modified.
+     *
+     * @param includeLeadingSlashSegment whether to start with an empty root segment
+     * @return shared segment contexts
+     */
+    public List<SegmentContext> getSegmentContexts(boolean includeLeadingSlashSegment) {
+        // created on first use, racing threads build equal lists
+        List<SegmentContext> contexts = includeLeadingSlashSegment ? rootedSegmentContexts : segmentContexts;
+        if (contexts == null) {
+            contexts = createSegmentContexts(includeLeadingSlashSegment);
+            if (includeLeadingSlashSegment) {
+                rootedSegmentContexts = contexts;
+            } else {
+                segmentContexts = contexts;
+            }
+        }
+        return contexts;
+    }
+
+    private List<SegmentContext> createSegmentContexts(boolean includeLeadingSlashSegment) {
+        List<SegmentContext> contexts = new ArrayList<>(segments.length + 1);
+        SegmentContext previous = null;
+        if (includeLeadingSlashSegment) {
+            previous = new SegmentContext();
+            previous.setSegment("");
+            previous.setSegmentIndex(0);
+            previous.setSegmentPath(PathUtil.PATH_SEPARATOR);
+            contexts.add(previous);
+        }
+        for (Segment segment : segments) {
+            SegmentContext context = new SegmentContext(segment);
+            context.setSegmentIndex(contexts.size());
+            if (previous != null) {
+                context.setPrev(previous);
+                previous.setNext(context);
+            }
+            contexts.add(context);
+            previous = context;
+        }
+        return Collections.unmodifiableList(contexts);
+    }
+
+    @Override
+    public String toString() {
+        return originalPath;
+    }
+
+    private static String collectionStart(CollectionType type) {
+        if (type == CollectionType.ARRAY) {
+            return PathUtil.PATH_ARRAY_START;
+        }
+        return type == CollectionType.LIST ? PathUtil.PATH_LIST_START : PathUtil.PATH_MAP_START;
+    }
+
+    private static String collectionEnd(CollectionType type) {
+        if (type == CollectionType.ARRAY) {
+            return PathUtil.PATH_ARRAY_END;
+        }
+        return type == CollectionType.LIST ? PathUtil.PATH_LIST_END : PathUtil.PATH_MAP_END;
+    }
+
+    /**
+     * A single pre-parsed path segment.
+     */
+    public static final class Segment {
+        private final String expression;
+        private final String segmentPath;
+        private final String name;
+        private final String unindexedName;
+        private final String prefix;
+        private final String qualifiedName;
+        private final boolean attribute;
+        private final CollectionType collectionType;
+        private final Integer index;
+
+        Segment(String expression, String segmentPath) {
+            this.expression = expression;
+            this.segmentPath = segmentPath;
+            this.name = PathUtil.cleanPathSegment(expression);
+            this.prefix = PathUtil.getNamespace(expression);
+            this.qualifiedName = prefix != null && !prefix.isEmpty() ? prefix + ":" + name : name;
+            this.attribute = PathUtil.isAttributeSegment(expression);
+            if (PathUtil.isArraySegment(expression)) {
+                this.collectionType = CollectionType.ARRAY;
+            } else if (PathUtil.isListSegment(expression)) {
+                this.collectionType = CollectionType.LIST;
+            } else if (PathUtil.isMapSegment(expression)) {
+                this.collectionType = CollectionType.MAP;
+            } else {
+                this.collectionType = CollectionType.NONE;
+            }
+            this.index = parseIndex(expression);
+            this.unindexedName = isCollection()
+                    ? expression.substring(0, expression.indexOf(collectionStart(collectionType))) : expression;
+        }
+
+        /**
+         * The segment {@code name[index]} or {@code name<index>} as parsing it would give. Like
+         * {@link PathUtil#overwriteCollectionIndex(String, int)} the bound segment has no prefix.
+         */
+        private Segment(Segment template, String expression, String segmentPath, int index) {
+            this.expression = expression;
+            this.segmentPath = segmentPath;
+            this.name = template.name;
+            this.unindexedName = template.name;
+            this.prefix = null;
+            this.qualifiedName = template.name;
+            this.attribute = false;
+            this.collectionType = template.collectionType;
+            this.index = index;
+        }
+
+        private Segment(Segment template, String segmentPath) {
+            this.expression = template.expression;
+            this.segmentPath = segmentPath;
+            this.name = template.name;
+            this.unindexedName = template.unindexedName;
+            this.prefix = template.prefix;
+            this.qualifiedName = template.qualifiedName;
+            this.attribute = template.attribute;
+            this.collectionType = template.collectionType;
+            this.index = template.index;
+        }
+
+        private static Integer parseIndex(String expression) {
+            try {
+                return PathUtil.indexOfSegment(expression);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return the segment as written in the path, e.g. xt1:orders[2]
+         */
+        public String getExpression() {
+            return expression;
+        }
+
+        /**
+         * @return the path from the root up to and including this segment
+         */
+        public String getSegmentPath() {
+            return segmentPath;
+        }
+
+        /**
+         * @return the name without namespace prefix, attribute marker and collection index
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the expression without its collection index, keeping any prefix or attribute marker
+         */
+        public String getUnindexedName() {
+            return unindexedName;
+        }
+
+        /**
+         * @return the namespace prefix, or null if the segment has none
+         */
+        public String getPrefix() {
+            return prefix;
+        }
+
+        /**
+         * @return the name including its namespace prefix, e.g. xt1:orders
+         */
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        public boolean isAttribute() {
+            return attribute;
+        }
+
+        public boolean isNamespaced() {
+            return prefix != null;
+        }
+
+        public boolean isCollection() {
+            return collectionType != CollectionType.NONE;
+        }
+
+        public CollectionType getCollectionType() {
+            return collectionType;
+        }
+
+        /**
+         * @return the collection index, or null if the segment is not an indexed array or list
+         */
+        public Integer getIndex() {
+            return index;
+        }
+
+        @Override
+        public String toString() {
+            return expression;
+        }
+    }
+}
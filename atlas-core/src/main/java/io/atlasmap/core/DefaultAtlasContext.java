@@ -18,40 +18,70 @@ package io.atlasmap.core;
 import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasFailFastPolicy;
+import io.atlasmap.api.AtlasProcessPhase;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.api.AtlasValidationException;
+import io.atlasmap.core.AtlasContextStatistics.Phase;
 import io.atlasmap.core.AtlasMappingService.AtlasMappingFormat;
+import io.atlasmap.core.CollectionMappingCursor.ElementValues;
 import io.atlasmap.mxbean.AtlasContextMXBean;
 import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.spi.AtlasModuleInfo;
 import io.atlasmap.spi.AtlasModuleMode;
+import io.atlasmap.spi.AtlasProcessListener.MappingStep;
 import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Audits;
 import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
 import io.atlasmap.v2.DataSource;
 import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.Validation;
+import io.atlasmap.v2.ValidationStatus;
 import io.atlasmap.v2.Validations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import javax.management.InstanceNotFoundException;
 import javax.management.ObjectName;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
 import java.lang.management.ManagementFactory;
 import java.net.URI;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasContext.class);
+    private static final DateTimeFormatter CREATED_DATE_TIME_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ssZ");
     private ObjectName jmxObjectName;
+    private final List<ObjectName> moduleJmxObjectNames = new CopyOnWriteArrayList<>();
     private final UUID uuid;
     private DefaultAtlasContextFactory factory;
-    private AtlasMapping mappingDefinition;
+    private volatile AtlasMapping mappingDefinition;
+    private volatile AtlasMappingPlan mappingPlan;
+    private volatile ValidationSnapshot validationSnapshot;
+    private volatile AtlasFailFastPolicy failFastPolicy;
+    private volatile BlockingQueue<DefaultAtlasSession> sessionPool;
+    private final AtlasContextStatistics contextStatistics = new AtlasContextStatistics();
     private AtlasMappingFormat atlasMappingFormat;
     private URI atlasMappingUri;
     private AtlasModule sourceModule;
@@ -95,9 +125,15 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     protected void init() throws AtlasException {
 
         registerJmx(this);
+        setSessionPoolSize(factory.getSessionPoolSize());
 
-        if (this.atlasMappingUri != null) {
-            this.mappingDefinition = factory.getMappingService().loadMapping(this.atlasMappingUri, atlasMappingFormat);
+        if (this.mappingPlan != null) {
+            this.mappingDefinition = this.mappingPlan.getDefinition();
+        } else if (this.atlasMappingUri != null) {
+            this.mappingPlan = factory.getMappingService().loadMappingPlan(this.atlasMappingUri, atlasMappingFormat);
+            this.mappingDefinition = this.mappingPlan.getDefinition();
+        } else {
+            this.mappingPlan = AtlasMappingPlan.compile(this.mappingDefinition);
         }
 
         List<AtlasModuleInfo> modules = factory.getModules();
@@ -110,6 +146,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                     getSourceModule().setMode(AtlasModuleMode.SOURCE);
                     getSourceModule().setConversionService(getDefaultAtlasContextFactory().getConversionService());
                     getSourceModule().init();
+                    registerModuleJmx(getSourceModule());
                 } catch (ClassNotFoundException e) {
                     LOG.error("Cannot find source ModuleClass " + module.toString(), e);
                     throw new AtlasException("Cannot source ModuleClass: " + module.getModuleClassName(), e);
@@ -125,6 +162,7 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                     getTargetModule().setMode(AtlasModuleMode.TARGET);
                     getTargetModule().setConversionService(getDefaultAtlasContextFactory().getConversionService());
                     getTargetModule().init();
+                    registerModuleJmx(getTargetModule());
                 } catch (ClassNotFoundException e) {
                     LOG.error("Cannot find target ModuleClass: " + module.toString(), e);
                     throw new AtlasException("Cannot find target ModuleClass: " + module.getModuleClassName(), e);
@@ -150,6 +188,27 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
     }
 
+    protected void registerModuleJmx(AtlasModule module) {
+        if (!(module instanceof BaseAtlasModule) || getJmxObjectName() == null) {
+            return;
+        }
+
+        AtlasModuleStatistics statistics = ((BaseAtlasModule) module).getStatistics();
+        try {
+            ObjectName name = new ObjectName(getJmxObjectName() + ",modules=Modules,moduleName="
+                    + statistics.getName() + ",mode=" + statistics.getMode());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, name);
+            moduleJmxObjectNames.add(name);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Registered AtlasModule " + statistics.getName() + " for AtlasContext " + getUuid()
+                        + " with JMX");
+            }
+        } catch (Throwable t) {
+            LOG.warn("Failured to register AtlasModule " + statistics.getName() + " for AtlasContext " + getUuid()
+                    + " with JMX msg: " + t.getMessage(), t);
+        }
+    }
+
     /**
      * Process session lifecycle
      *
@@ -160,59 +219,513 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             LOG.debug("Begin process " + (session == null ? null : session.toString()));
         }
 
-        processValidation(session);
+        AtlasContextStatistics processStatistics = getEnabledStatistics();
+        AtlasProcessListenerChain listeners = factory.getProcessListenerChain();
+        long start = processStatistics != null ? System.nanoTime() : 0L;
+        boolean error = true;
+        Throwable failure = null;
+        if (!listeners.isEmpty()) {
+            listeners.beginProcess(session);
+        }
+        try {
+            processValidation(session, listeners);
+            processMappings(session, listeners);
+            error = session.hasErrors() || session.getAbortedPhase() != null;
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            if (processStatistics != null) {
+                processStatistics.recordProcess(System.nanoTime() - start, error);
+            }
+            if (!listeners.isEmpty()) {
+                listeners.endProcess(session, failure);
+            }
+        }
 
-        // TODO: Finish validations
-        /*
-         * if(session.hasErrors()) {
-         * logger.error(String.format("Aborting processing due to %s errors",
-         * session.errorCount())); return; }
-         */
-        getSourceModule().processPreInputExecution(session);
-        getTargetModule().processPreOutputExecution(session);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("End process " + (session == null ? null : session.toString()));
+        }
+    }
 
-        // TODO: Finish validations
-        /*
-         * if(session.hasErrors()) {
-         * logger.error(String.format("Aborting processing due to %s errors",
-         * session.errorCount())); return; }
-         */
+    /**
+     * Runs the module hooks and the mappings of a session that has already been validated.
+     */
+    private void processMappings(AtlasSession session, AtlasProcessListenerChain listeners)
+            throws AtlasException {
+        AtlasFailFastPolicy policy = getFailFastPolicy();
+        if (abortOnErrors(session, policy, AtlasProcessPhase.VALIDATION)) {
+            return;
+        }
 
-        for (BaseMapping mapping : session.getMapping().getMappings().getMapping()) {
-            getSourceModule().processInputMapping(session, mapping);
-            getSourceModule().processInputActions(session, mapping);
-            getTargetModule().processOutputMapping(session, mapping);
+        AtlasContextStatistics processStatistics = getEnabledStatistics();
+        long start = processStatistics != null ? System.nanoTime() : 0L;
+        if (!listeners.isEmpty()) {
+            listeners.beginPhase(session, AtlasProcessPhase.PRE_EXECUTION);
+        }
+        try {
+            getSourceModule().processPreInputExecution(session);
+            getTargetModule().processPreOutputExecution(session);
+        } finally {
+            if (!listeners.isEmpty()) {
+                listeners.endPhase(session, AtlasProcessPhase.PRE_EXECUTION);
+            }
+        }
+        if (processStatistics != null) {
+            processStatistics.recordPhase(Phase.PRE_EXECUTION, System.nanoTime() - start);
+        }
+
+        if (abortOnErrors(session, policy, AtlasProcessPhase.PRE_EXECUTION)) {
+            return;
+        }
+
+        if (!listeners.isEmpty()) {
+            listeners.beginPhase(session, AtlasProcessPhase.MAPPING);
+        }
+        try {
+            if (!processMappingList(session, policy, processStatistics, listeners)) {
+                return;
+            }
+        } finally {
+            if (!listeners.isEmpty()) {
+                listeners.endPhase(session, AtlasProcessPhase.MAPPING);
+            }
+        }
+
+        start = processStatistics != null ? System.nanoTime() : 0L;
+        if (!listeners.isEmpty()) {
+            listeners.beginPhase(session, AtlasProcessPhase.POST_EXECUTION);
+        }
+        try {
+            processPostExecution(session);
+        } finally {
+            if (!listeners.isEmpty()) {
+                listeners.endPhase(session, AtlasProcessPhase.POST_EXECUTION);
+            }
+        }
+        if (processStatistics != null) {
+            processStatistics.recordPhase(Phase.POST_EXECUTION, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return false if the fail-fast policy abandoned processing of the session
+     */
+    private boolean processMappingList(AtlasSession session, AtlasFailFastPolicy policy,
+            AtlasContextStatistics processStatistics, AtlasProcessListenerChain listeners) throws AtlasException {
+        AtlasModuleStatistics sourceStatistics = getEnabledStatistics(getSourceModule());
+        AtlasModuleStatistics targetStatistics = getEnabledStatistics(getTargetModule());
+        List<BaseMapping> mappings = session.getMapping().getMappings().getMapping();
+        for (int index = 0; index < mappings.size(); index++) {
+            BaseMapping mapping = mappings.get(index);
+            int auditCount = processStatistics != null ? session.getAudits().getAudit().size() : 0;
+            long mappingStart = processStatistics != null ? System.nanoTime() : 0L;
+            if (!listeners.isEmpty()) {
+                listeners.beginMapping(session, index, mapping);
+            }
+            try {
+                if (mapping instanceof Collection && getSourceModule() instanceof BaseAtlasModule) {
+                    processCollectionMapping(session, (Collection) mapping, sourceStatistics, targetStatistics);
+                } else if (listeners.isEmpty()) {
+                    processInputMapping(session, mapping, sourceStatistics);
+                    processInputActions(session, mapping, processStatistics);
+                    processOutputMapping(session, mapping, targetStatistics);
+                } else {
+                    processObservedMapping(session, mapping, sourceStatistics, targetStatistics, processStatistics,
+                            listeners);
+                }
+            } finally {
+                if (!listeners.isEmpty()) {
+                    listeners.endMapping(session, index, mapping);
+                }
+            }
+            if (processStatistics != null) {
+                processStatistics.recordMapping(index, mapping.getAlias(), System.nanoTime() - mappingStart,
+                        hasNewErrors(session, auditCount));
+            }
 
             if (session.hasErrors()) {
+                if (abortOnErrors(session, policy, AtlasProcessPhase.MAPPING)) {
+                    return false;
+                }
                 LOG.error(String.format("Aborting processing due to %s errors", session.errorCount()));
                 break;
             }
         }
+        return true;
+    }
+
+    private void processObservedMapping(AtlasSession session, BaseMapping mapping,
+            AtlasModuleStatistics sourceStatistics, AtlasModuleStatistics targetStatistics,
+            AtlasContextStatistics processStatistics, AtlasProcessListenerChain listeners) throws AtlasException {
+        listeners.beginMappingStep(session, mapping, MappingStep.INPUT);
+        try {
+            processInputMapping(session, mapping, sourceStatistics);
+        } finally {
+            listeners.endMappingStep(session, mapping, MappingStep.INPUT);
+        }
+        listeners.beginMappingStep(session, mapping, MappingStep.INPUT_ACTIONS);
+        try {
+            processInputActions(session, mapping, processStatistics);
+        } finally {
+            listeners.endMappingStep(session, mapping, MappingStep.INPUT_ACTIONS);
+        }
+        listeners.beginMappingStep(session, mapping, MappingStep.OUTPUT);
+        try {
+            processOutputMapping(session, mapping, targetStatistics);
+        } finally {
+            listeners.endMappingStep(session, mapping, MappingStep.OUTPUT);
+        }
+    }
 
+    private void processPostExecution(AtlasSession session) throws AtlasException {
         getSourceModule().processPostValidation(session);
         getTargetModule().processPostValidation(session);
 
-        // TODO: Finish validations
-        /*
-         * if(session.hasErrors()) {
-         * logger.error(String.format("Aborting processing due to %s errors",
-         * session.errorCount())); return; }
-         */
-
         getSourceModule().processPostInputExecution(session);
         getTargetModule().processPostOutputExecution(session);
+    }
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("End process " + (session == null ? null : session.toString()));
+    private void processInputActions(AtlasSession session, BaseMapping mapping,
+            AtlasContextStatistics processStatistics) throws AtlasException {
+        if (processStatistics == null) {
+            getSourceModule().processInputActions(session, mapping);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            getSourceModule().processInputActions(session, mapping);
+        } finally {
+            processStatistics.recordPhase(Phase.INPUT_ACTIONS, System.nanoTime() - start);
         }
     }
 
+    private AtlasContextStatistics getEnabledStatistics() {
+        return contextStatistics.isStatisticsEnabled() ? contextStatistics : null;
+    }
+
+    /**
+     * Checks the session for errors at the end of a phase the fail-fast policy covers,
+     * and records the phase on the session when processing is abandoned.
+     */
+    private boolean abortOnErrors(AtlasSession session, AtlasFailFastPolicy policy, AtlasProcessPhase phase) {
+        if (!policy.abortsAfter(phase) || !(session.hasErrors() || hasValidationErrors(session))) {
+            return false;
+        }
+        LOG.error(String.format("Aborting processing after %s due to %s errors and %s validation errors",
+                phase.value(), session.errorCount(), countValidationErrors(session)));
+        if (session instanceof DefaultAtlasSession) {
+            ((DefaultAtlasSession) session).setAbortedPhase(phase);
+        }
+        return true;
+    }
+
+    private boolean hasValidationErrors(AtlasSession session) {
+        return countValidationErrors(session) > 0;
+    }
+
+    private int countValidationErrors(AtlasSession session) {
+        int errors = 0;
+        if (session.getValidations() != null) {
+            for (Validation validation : session.getValidations().getValidation()) {
+                if (ValidationStatus.ERROR.equals(validation.getStatus())) {
+                    errors++;
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * @return the fail-fast policy of this context, or the factory default if none was set
+     */
+    public AtlasFailFastPolicy getFailFastPolicy() {
+        AtlasFailFastPolicy policy = this.failFastPolicy;
+        if (policy == null) {
+            policy = factory != null ? factory.getFailFastPolicy() : null;
+        }
+        return policy != null ? policy : AtlasFailFastPolicy.NONE;
+    }
+
+    /**
+     * @param failFastPolicy policy for this context, or null to use the factory default
+     */
+    public void setFailFastPolicy(AtlasFailFastPolicy failFastPolicy) {
+        this.failFastPolicy = failFastPolicy;
+    }
+
+    @Override
+    public CompletableFuture<AtlasSession> processAsync(AtlasSession session) {
+        return processAsync(session, factory.getProcessExecutor());
+    }
+
+    @Override
+    public CompletableFuture<Void> processBatchAsync(Iterator<?> inputs, Executor executor, int maxInFlight,
+            Consumer<AtlasSession> consumer) throws AtlasException {
+        if (maxInFlight < 1) {
+            throw new AtlasException(new IllegalArgumentException("maxInFlight must be at least 1"));
+        }
+        BatchTemplate template = createBatchTemplate();
+        return new AtlasAsyncBatch(inputs, input -> processBatchInput(template, input), executor, maxInFlight,
+                consumer).start();
+    }
+
+    @Override
+    public Stream<AtlasSession> processBatch(Stream<?> inputs) throws AtlasException {
+        BatchTemplate template = createBatchTemplate();
+        return inputs.map(input -> processBatchInput(template, input));
+    }
+
+    /**
+     * Validates the mapping once for the whole batch. Every input of the batch is
+     * processed against the same plan, so sessions reuse the validation notices
+     * cached for it instead of validating the mapping again.
+     */
+    private BatchTemplate createBatchTemplate() throws AtlasException {
+        AtlasSession session = createSession();
+        try {
+            processValidation(session);
+            AtlasMappingPlan plan = session instanceof DefaultAtlasSession
+                    ? ((DefaultAtlasSession) session).getMappingPlan() : null;
+            return new BatchTemplate(plan);
+        } finally {
+            releaseSession(session);
+        }
+    }
+
+    private AtlasSession processBatchInput(BatchTemplate template, Object input) {
+        AtlasSession session = null;
+        try {
+            session = template.plan != null ? createSession(template.plan) : createSession();
+            session.setInput(input);
+            process(session);
+        } catch (AtlasException | RuntimeException e) {
+            if (session == null) {
+                // the session copy of the mapping couldn't be created, report on a detached one
+                session = createSession(AtlasModelFactory.createAtlasMapping());
+                session.setInput(input);
+            }
+            LOG.error("Unable to process batch input msg: " + e.getMessage(), e);
+            Audit audit = new Audit();
+            audit.setStatus(AuditStatus.ERROR);
+            audit.setMessage(String.format("Unable to process batch input msg=%s", e.getMessage()));
+            session.getAudits().getAudit().add(audit);
+        }
+        return session;
+    }
+
+    private static final class BatchTemplate {
+        private final AtlasMappingPlan plan;
+
+        BatchTemplate(AtlasMappingPlan plan) {
+            this.plan = plan;
+        }
+    }
+
+    private AtlasModuleStatistics getEnabledStatistics(AtlasModule module) {
+        if (module instanceof BaseAtlasModule) {
+            AtlasModuleStatistics statistics = ((BaseAtlasModule) module).getStatistics();
+            return statistics.isStatisticsEnabled() ? statistics : null;
+        }
+        return null;
+    }
+
+    /**
+     * Runs the inner mappings of a collection once per element through an index
+     * cursor, reusing the same mapping and field objects for every element.
+     */
+    private void processCollectionMapping(AtlasSession session, Collection collection,
+            AtlasModuleStatistics sourceStatistics, AtlasModuleStatistics targetStatistics) throws AtlasException {
+        BaseAtlasModule sourceModule = (BaseAtlasModule) getSourceModule();
+        boolean failFast = getFailFastPolicy().abortsAfter(AtlasProcessPhase.MAPPING);
+        for (BaseMapping baseMapping : collection.getMappings().getMapping()) {
+            if (!(baseMapping instanceof Mapping)) {
+                processInputMapping(session, baseMapping, sourceStatistics);
+                processOutputMapping(session, baseMapping, targetStatistics);
+            } else {
+                processCollectionElements(session, sourceModule, (Mapping) baseMapping, failFast, sourceStatistics,
+                        targetStatistics);
+            }
+            if (failFast && session.hasErrors()) {
+                return;
+            }
+        }
+    }
+
+    private void processCollectionElements(AtlasSession session, BaseAtlasModule sourceModule, Mapping mapping,
+            boolean failFast, AtlasModuleStatistics sourceStatistics, AtlasModuleStatistics targetStatistics)
+            throws AtlasException {
+        CollectionMappingCursor cursor = new CollectionMappingCursor(session, mapping);
+        try {
+            int size = 1;
+            if (cursor.isInputCollection()) {
+                size = sourceModule.getCollectionSize(session, cursor.getInputField());
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Processing " + size + " collection elements for mapping: " + mapping);
+            }
+            if (isParallelCollection(session, sourceModule, cursor, size)) {
+                processCollectionParallel(session, cursor, size, failFast, sourceStatistics, targetStatistics);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                cursor.bind(i);
+                processInputMapping(session, cursor.getMapping(), sourceStatistics);
+                processOutputMapping(session, cursor.getMapping(), targetStatistics);
+                if (failFast && session.hasErrors()) {
+                    return;
+                }
+            }
+        } finally {
+            cursor.restore();
+        }
+    }
+
+    private boolean isParallelCollection(AtlasSession session, BaseAtlasModule sourceModule,
+            CollectionMappingCursor cursor, int size) {
+        int threshold = factory.getParallelCollectionThreshold();
+        return threshold > 0 && size >= threshold && size > 1 && sourceModule.isConcurrentReadSupported()
+                && session instanceof DefaultAtlasSession && cursor.isInputCollectionOnly();
+    }
+
+    /**
+     * Reads the collection elements concurrently on the factory collection pool, then
+     * writes them to the target in element order on the calling thread. The first element
+     * is read here so the input readers are resolved into the session input cache before
+     * the workers share it.
+     */
+    private void processCollectionParallel(AtlasSession session, CollectionMappingCursor cursor, int size,
+            boolean failFast, AtlasModuleStatistics sourceStatistics, AtlasModuleStatistics targetStatistics)
+            throws AtlasException {
+        cursor.bind(0);
+        processInputMapping(session, cursor.getMapping(), sourceStatistics);
+        ElementValues first = cursor.captureInput();
+
+        ElementValues[] elements = CollectionReadTask.read(factory.getCollectionPool(), (DefaultAtlasSession) session,
+                (BaseAtlasModule) getSourceModule(), cursor, 1, size, sourceStatistics);
+        elements[0] = first;
+        if (failFast && session.hasErrors()) {
+            return;
+        }
+
+        for (int i = 0; i < size; i++) {
+            cursor.bind(i);
+            cursor.applyInput(elements[i]);
+            processOutputMapping(session, cursor.getMapping(), targetStatistics);
+        }
+    }
+
+    private void processInputMapping(AtlasSession session, BaseMapping mapping, AtlasModuleStatistics statistics)
+            throws AtlasException {
+        AtlasContextStatistics processStatistics = getEnabledStatistics();
+        if (statistics == null && processStatistics == null) {
+            getSourceModule().processInputMapping(session, mapping);
+            return;
+        }
+        int auditCount = session.getAudits().getAudit().size();
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            getSourceModule().processInputMapping(session, mapping);
+            error = hasNewErrors(session, auditCount);
+        } finally {
+            long executionTime = System.nanoTime() - start;
+            if (statistics != null) {
+                statistics.recordInput(executionTime, error);
+            }
+            if (processStatistics != null) {
+                processStatistics.recordPhase(Phase.INPUT, executionTime);
+            }
+        }
+    }
+
+    private void processOutputMapping(AtlasSession session, BaseMapping mapping, AtlasModuleStatistics statistics)
+            throws AtlasException {
+        AtlasContextStatistics processStatistics = getEnabledStatistics();
+        if (statistics == null && processStatistics == null) {
+            getTargetModule().processOutputMapping(session, mapping);
+            return;
+        }
+        int auditCount = session.getAudits().getAudit().size();
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            getTargetModule().processOutputMapping(session, mapping);
+            error = hasNewErrors(session, auditCount);
+        } finally {
+            long executionTime = System.nanoTime() - start;
+            if (statistics != null) {
+                statistics.recordOutput(executionTime, error);
+            }
+            if (processStatistics != null) {
+                processStatistics.recordPhase(Phase.OUTPUT, executionTime);
+            }
+        }
+    }
+
+    static boolean hasNewErrors(AtlasSession session, int fromIndex) {
+        List<Audit> audits = session.getAudits().getAudit();
+        for (int i = fromIndex; i < audits.size(); i++) {
+            if (AuditStatus.ERROR.equals(audits.get(i).getStatus())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void processValidation(AtlasSession session) throws AtlasException {
+        processValidation(session, factory.getProcessListenerChain());
+    }
+
+    /**
+     * Validates with the listener chain the caller already notified, so a listener registered
+     * while a session is processed does not see its validation phase without the matching
+     * process start.
+     */
+    private void processValidation(AtlasSession session, AtlasProcessListenerChain listeners)
+            throws AtlasException {
+        AtlasContextStatistics processStatistics = getEnabledStatistics();
+        if (processStatistics == null && listeners.isEmpty()) {
+            validate(session);
+            return;
+        }
+        long start = System.nanoTime();
+        if (!listeners.isEmpty()) {
+            listeners.beginPhase(session, AtlasProcessPhase.VALIDATION);
+        }
+        try {
+            validate(session);
+        } finally {
+            if (!listeners.isEmpty()) {
+                listeners.endPhase(session, AtlasProcessPhase.VALIDATION);
+            }
+            if (processStatistics != null) {
+                processStatistics.recordPhase(Phase.VALIDATION, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void validate(AtlasSession session) throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Begin processValidation " + (session == null ? null : session.toString()));
         }
 
+        AtlasMappingPlan plan = session instanceof DefaultAtlasSession
+                ? ((DefaultAtlasSession) session).getMappingPlan() : null;
+        ValidationSnapshot snapshot = this.validationSnapshot;
+        if (plan != null && snapshot != null && snapshot.plan.hasSameContent(plan)) {
+            List<Validation> target = session.getValidations().getValidation();
+            for (Validation cached : snapshot.validations) {
+                target.add(copyValidation(cached));
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Reused " + snapshot.validations.size() + " cached validation notices");
+            }
+            return;
+        }
+        int offset = session.getValidations().getValidation().size();
+
         List<Validation> validations = getContextFactory().getValidationService().validateMapping(session.getMapping());
         if (validations != null && !validations.isEmpty()) {
             session.getValidations().getValidation().addAll(validations);
@@ -229,11 +742,43 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             getTargetModule().processPreValidation(session);
         }
 
+        if (plan != null) {
+            List<Validation> detected = session.getValidations().getValidation();
+            List<Validation> cached = new ArrayList<>(detected.size() - offset);
+            for (Validation validation : detected.subList(offset, detected.size())) {
+                cached.add(copyValidation(validation));
+            }
+            this.validationSnapshot = new ValidationSnapshot(plan, cached);
+        }
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("End processValidation " + (session == null ? null : session.toString()));
         }
     }
 
+    private static Validation copyValidation(Validation source) {
+        Validation copy = new Validation();
+        copy.setScope(source.getScope());
+        copy.setId(source.getId());
+        copy.setMessage(source.getMessage());
+        copy.setStatus(source.getStatus());
+        return copy;
+    }
+
+    /**
+     * Validation notices of the last validated plan. Sessions created from a plan with the
+     * same content receive these instead of validating the unchanged mapping again.
+     */
+    private static final class ValidationSnapshot {
+        private final AtlasMappingPlan plan;
+        private final List<Validation> validations;
+
+        ValidationSnapshot(AtlasMappingPlan plan, List<Validation> validations) {
+            this.plan = plan;
+            this.validations = validations;
+        }
+    }
+
     protected DefaultAtlasContextFactory getDefaultAtlasContextFactory() {
         return this.factory;
     }
@@ -244,17 +789,167 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     }
 
     public AtlasMapping getMapping() {
-        return mappingDefinition;
+        AtlasMappingPlan plan = this.mappingPlan;
+        return plan != null ? plan.getDefinition() : mappingDefinition;
+    }
+
+    public AtlasMappingPlan getMappingPlan() {
+        return mappingPlan;
+    }
+
+    /**
+     * Uses an already compiled plan instead of loading the mapping in {@link #init()}.
+     */
+    void setMappingPlan(AtlasMappingPlan mappingPlan) {
+        this.mappingPlan = mappingPlan;
+    }
+
+    /**
+     * Unregisters the context and its modules from JMX and destroys the modules.
+     */
+    public void destroy() {
+        unregisterJmx();
+        if (sourceModule != null) {
+            sourceModule.destroy();
+        }
+        if (targetModule != null && targetModule != sourceModule) {
+            targetModule.destroy();
+        }
+    }
+
+    /**
+     * Unregisters the context and its module statistics from JMX. The context
+     * remains usable afterwards.
+     */
+    protected void unregisterJmx() {
+        for (ObjectName name : moduleJmxObjectNames) {
+            unregisterMBean(name);
+        }
+        moduleJmxObjectNames.clear();
+        if (getJmxObjectName() != null) {
+            unregisterMBean(getJmxObjectName());
+            setJmxObjectName(null);
+        }
+    }
+
+    private void unregisterMBean(ObjectName name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Unregistered " + name + " from JMX");
+            }
+        } catch (InstanceNotFoundException e) {
+            // already unregistered
+        } catch (Throwable t) {
+            LOG.warn("Failured to unregister " + name + " from JMX msg: " + t.getMessage(), t);
+        }
     }
 
     @Override
     public AtlasSession createSession() throws AtlasValidationException {
-        if (atlasMappingUri != null) {
-            return createSession(getDefaultAtlasContextFactory().getMappingService().loadMapping(atlasMappingUri,
-                    atlasMappingFormat));
-        } else {
+        AtlasMappingPlan plan = this.mappingPlan;
+        if (plan == null) {
+            if (atlasMappingUri != null) {
+                return createSession(getDefaultAtlasContextFactory().getMappingService().loadMapping(atlasMappingUri,
+                        atlasMappingFormat));
+            }
             return createSession(mappingDefinition);
         }
+
+        try {
+            if (atlasMappingUri != null) {
+                plan = refreshMappingPlan(plan);
+            }
+            AtlasSession pooled = acquirePooledSession(plan);
+            return pooled != null ? pooled : createSession(plan);
+        } catch (AtlasException e) {
+            throw new AtlasValidationException(e.getMessage(), e);
+        }
+    }
+
+    private AtlasSession createSession(AtlasMappingPlan plan) throws AtlasException {
+        AtlasSession session = createSession(plan.createSessionMapping());
+        if (session instanceof DefaultAtlasSession) {
+            ((DefaultAtlasSession) session).setMappingPlan(plan);
+            if (sessionPool != null) {
+                ((DefaultAtlasSession) session).captureMappingState();
+            }
+        }
+        return session;
+    }
+
+    private AtlasSession acquirePooledSession(AtlasMappingPlan plan) {
+        BlockingQueue<DefaultAtlasSession> pool = this.sessionPool;
+        if (pool == null) {
+            return null;
+        }
+        DefaultAtlasSession session;
+        while ((session = pool.poll()) != null) {
+            // sessions pooled before the mapping changed are dropped
+            if (session.getMappingPlan() == plan) {
+                session.setPooled(false);
+                setDefaultSessionProperties(session);
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resets the session and keeps it for reuse by {@link #createSession()} if session
+     * pooling is enabled and the pool has room. The session must not be used afterwards.
+     *
+     * @param session session created by this context
+     */
+    @Override
+    public void releaseSession(AtlasSession session) {
+        BlockingQueue<DefaultAtlasSession> pool = this.sessionPool;
+        if (pool == null || !(session instanceof DefaultAtlasSession) || session.getAtlasContext() != this) {
+            return;
+        }
+        DefaultAtlasSession pooled = (DefaultAtlasSession) session;
+        if (pooled.isPooled() || !pooled.hasMappingState() || pooled.getMappingPlan() != this.mappingPlan) {
+            return;
+        }
+        pooled.reset();
+        pooled.setPooled(true);
+        if (!pool.offer(pooled)) {
+            pooled.setPooled(false);
+        }
+    }
+
+    public int getSessionPoolSize() {
+        BlockingQueue<DefaultAtlasSession> pool = this.sessionPool;
+        return pool != null ? pool.remainingCapacity() + pool.size() : 0;
+    }
+
+    /**
+     * Sets how many released sessions this context keeps for reuse. 0 disables pooling.
+     * Only sessions created while pooling is enabled can be recycled.
+     *
+     * @param size maximum number of idle sessions
+     */
+    public void setSessionPoolSize(int size) {
+        this.sessionPool = size > 0 ? new ArrayBlockingQueue<>(size) : null;
+    }
+
+    /**
+     * Switches to a newer plan if the mapping file changed. While the mapping service watches
+     * the file this costs a cache lookup, otherwise the file is checked on every call.
+     */
+    private AtlasMappingPlan refreshMappingPlan(AtlasMappingPlan current) throws AtlasException {
+        AtlasMappingService mappingService = getDefaultAtlasContextFactory().getMappingService();
+        if (mappingService.isWatchedMappingPlan(atlasMappingUri, atlasMappingFormat, current)) {
+            return current;
+        }
+        AtlasMappingPlan latest = mappingService.loadMappingPlan(atlasMappingUri, atlasMappingFormat);
+        if (latest != current) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Mapping " + atlasMappingUri + " changed, switching context " + getUuid() + " to new plan");
+            }
+            this.mappingPlan = latest;
+        }
+        return latest;
     }
 
     public AtlasSession createSession(AtlasMapping mappingDefinition) {
@@ -267,10 +962,8 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     }
 
     protected void setDefaultSessionProperties(AtlasSession session) {
-        Date date = new Date();
-        DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
-        df.setTimeZone(TimeZone.getDefault());
-        session.getProperties().put("Atlas.CreatedDateTimeTZ", df.format(date));
+        session.getProperties().put("Atlas.CreatedDateTimeTZ",
+                CREATED_DATE_TIME_FORMAT.format(ZonedDateTime.now(ZoneId.systemDefault())));
     }
 
     public AtlasModule getSourceModule() {
@@ -379,9 +1072,63 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         return this.getClass().getPackage().getImplementationVersion();
     }
 
+    @Override
+    public boolean isStatisticsEnabled() {
+        return contextStatistics.isStatisticsEnabled();
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        contextStatistics.setStatisticsEnabled(enabled);
+    }
+
+    @Override
+    public long getProcessCount() {
+        return contextStatistics.getProcessCount();
+    }
+
+    @Override
+    public long getProcessErrorCount() {
+        return contextStatistics.getProcessErrorCount();
+    }
+
+    @Override
+    public double getProcessThroughput() {
+        return contextStatistics.getProcessThroughput();
+    }
+
+    @Override
+    public long getProcessLatency50th() {
+        return contextStatistics.getLatencyAtPercentile(Phase.PROCESS, 50.0);
+    }
+
+    @Override
+    public long getProcessLatency99th() {
+        return contextStatistics.getLatencyAtPercentile(Phase.PROCESS, 99.0);
+    }
+
+    @Override
+    public TabularData getPhaseStatistics() throws OpenDataException {
+        return contextStatistics.getPhaseStatistics();
+    }
+
+    @Override
+    public TabularData getMappingStatistics() throws OpenDataException {
+        return contextStatistics.getMappingStatistics();
+    }
+
+    @Override
+    public void resetStatistics() {
+        contextStatistics.reset();
+    }
+
+    public AtlasContextStatistics getStatistics() {
+        return contextStatistics;
+    }
+
     @Override
     public String getMappingName() {
-        return (mappingDefinition != null ? mappingDefinition.getName() : null);
+        return (getMapping() != null ? getMapping().getName() : null);
     }
 
     protected void setMappingUri(URI atlasMappingUri) {
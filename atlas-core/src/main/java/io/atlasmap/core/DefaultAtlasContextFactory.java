@@ -19,6 +19,7 @@ import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasFailFastPolicy;
 import io.atlasmap.api.AtlasFieldActionService;
 import io.atlasmap.api.AtlasValidationService;
 import io.atlasmap.core.AtlasMappingService.AtlasMappingFormat;
@@ -27,6 +28,7 @@ import io.atlasmap.spi.AtlasCombineStrategy;
 import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.spi.AtlasModuleDetail;
 import io.atlasmap.spi.AtlasModuleInfo;
+import io.atlasmap.spi.AtlasProcessListener;
 import io.atlasmap.spi.AtlasPropertyStrategy;
 import io.atlasmap.spi.AtlasSeparateStrategy;
 import io.atlasmap.v2.AtlasMapping;
@@ -49,11 +51,31 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasContextFactoryMXBean {
 
+    public static final String PROPERTY_CONTEXT_CACHE_MAX_SIZE = "atlas.context.cache.maxSize";
+    public static final String PROPERTY_CONTEXT_CACHE_TIME_TO_LIVE = "atlas.context.cache.timeToLive";
+    public static final String PROPERTY_MAPPING_CACHE_WATCH = "atlas.mapping.cache.watch";
+    public static final String PROPERTY_PARALLEL_COLLECTION_THRESHOLD = "atlas.collection.parallel.threshold";
+    public static final String PROPERTY_PARALLEL_COLLECTION_PARALLELISM = "atlas.collection.parallel.parallelism";
+    public static final String PROPERTY_FAIL_FAST_POLICY = "atlas.process.failFast";
+    public static final String PROPERTY_SESSION_POOL_SIZE = "atlas.session.pool.size";
+    public static final String PROPERTY_PROCESS_THREADS = "atlas.process.async.threads";
+
+    private static final int PROCESS_QUEUE_SIZE_PER_THREAD = 64;
+
     private static Logger logger = LoggerFactory.getLogger(DefaultAtlasContextFactory.class);
 
     private static DefaultAtlasContextFactory factory = null;
@@ -69,6 +91,16 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
     private AtlasSeparateStrategy atlasSeparateStrategy = new DefaultAtlasSeparateStrategy();
 
     private AtlasValidationService atlasValidationService = new DefaultAtlasValidationService();
+    private final AtlasContextCache contextCache = new AtlasContextCache();
+    private volatile int parallelCollectionThreshold = 0;
+    private volatile ForkJoinPool collectionPool = null;
+    private volatile boolean collectionPoolOwned = false;
+    private volatile AtlasFailFastPolicy failFastPolicy = AtlasFailFastPolicy.NONE;
+    private volatile int sessionPoolSize = 0;
+    private volatile Executor processExecutor = null;
+    private volatile boolean processExecutorOwned = false;
+    private volatile int processThreads = Runtime.getRuntime().availableProcessors();
+    private volatile AtlasProcessListenerChain processListeners = AtlasProcessListenerChain.EMPTY;
 
     private Map<String, String> properties = null;
 
@@ -120,11 +152,22 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         registerFactoryJmx(this);
         loadModules("moduleClass", AtlasModule.class);
         setMappingService(new AtlasMappingService(getAllModuleConfigPackages(getModules())));
+        configureMappingCacheWatch(properties != null ? properties : this.properties);
+        configureContextCache(properties != null ? properties : this.properties);
+        configureParallelCollections(properties != null ? properties : this.properties);
+        configureFailFastPolicy(properties != null ? properties : this.properties);
+        configureSessionPool(properties != null ? properties : this.properties);
+        configureProcessExecutor(properties != null ? properties : this.properties);
+        loadProcessListeners();
     }
 
     @Override
     public void destroy() {
 
+        contextCache.clear();
+        setCollectionPool(null);
+        setProcessExecutor(null);
+        processListeners = AtlasProcessListenerChain.EMPTY;
         unloadModules();
 
         try {
@@ -136,6 +179,15 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
             logger.warn("Unable to unregister with JMX", e);
         }
 
+        if (this.atlasMappingService != null) {
+            try {
+                this.atlasMappingService.setCacheWatchEnabled(false);
+            } catch (AtlasException e) {
+                logger.warn("Unable to stop mapping cache watch", e);
+            }
+            this.atlasMappingService.clearCache();
+        }
+
         this.uuid = null;
         this.objectName = null;
         this.properties = null;
@@ -172,15 +224,331 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         if (getMappingService() == null) {
             throw new AtlasException("AtlasMappingService is not set");
         }
-        DefaultAtlasContext context = new DefaultAtlasContext(this, atlasMappingUri, format);
+        if (!contextCache.isEnabled()) {
+            DefaultAtlasContext context = new DefaultAtlasContext(this, atlasMappingUri, format);
+            context.init();
+            return context;
+        }
+
+        AtlasMappingPlan plan = getMappingService().loadMappingPlan(atlasMappingUri, format);
+        DefaultAtlasContext context = contextCache.get(atlasMappingUri, format, plan);
+        if (context != null) {
+            return context;
+        }
+        context = new DefaultAtlasContext(this, atlasMappingUri, format);
+        context.setMappingPlan(plan);
         context.init();
-        return context;
+        return contextCache.put(atlasMappingUri, format, context);
     }
 
     public AtlasContext createContext(AtlasMapping mapping) throws AtlasException {
-        DefaultAtlasContext context = new DefaultAtlasContext(this, mapping);
+        if (!contextCache.isEnabled() || mapping == null) {
+            DefaultAtlasContext context = new DefaultAtlasContext(this, mapping);
+            context.init();
+            return context;
+        }
+
+        String digest = getMappingService().digestMapping(mapping);
+        DefaultAtlasContext context = contextCache.get(digest);
+        if (context != null) {
+            return context;
+        }
+        context = new DefaultAtlasContext(this, mapping);
         context.init();
-        return context;
+        return contextCache.put(digest, context);
+    }
+
+    public int getContextCacheMaxSize() {
+        return contextCache.getMaxSize();
+    }
+
+    /**
+     * Sets how many initialized contexts {@link #createContext(URI, AtlasMappingFormat)} and
+     * {@link #createContext(AtlasMapping)} keep for reuse. 0, the default, disables the cache.
+     * Callers asking for the same mapping then share one context, so contexts should be
+     * configured through this factory rather than one by one.
+     *
+     * @param maxSize maximum number of cached contexts
+     */
+    public void setContextCacheMaxSize(int maxSize) {
+        contextCache.setMaxSize(maxSize);
+    }
+
+    public long getContextCacheTimeToLive() {
+        return contextCache.getTimeToLive();
+    }
+
+    /**
+     * @param timeToLive milliseconds a cached context is reused after its creation, 0 to never expire
+     */
+    public void setContextCacheTimeToLive(long timeToLive) {
+        contextCache.setTimeToLive(timeToLive);
+    }
+
+    public int getContextCacheSize() {
+        return contextCache.size();
+    }
+
+    public void clearContextCache() {
+        contextCache.clear();
+    }
+
+    /**
+     * Watches the directories of cached mapping files so contexts pick up changed mappings
+     * without checking the file on every session. Enabled unless the property is false.
+     */
+    protected void configureMappingCacheWatch(Map<String, String> properties) {
+        String watch = properties != null ? properties.get(PROPERTY_MAPPING_CACHE_WATCH) : null;
+        boolean enabled = AtlasUtil.isEmpty(watch) || Boolean.parseBoolean(watch.trim());
+        try {
+            getMappingService().setCacheWatchEnabled(enabled);
+        } catch (AtlasException e) {
+            logger.warn("Unable to watch cached mappings, changes are detected per session msg: "
+                    + e.getMessage());
+        }
+    }
+
+    protected void configureContextCache(Map<String, String> properties) {
+        if (properties == null) {
+            return;
+        }
+        String maxSize = properties.get(PROPERTY_CONTEXT_CACHE_MAX_SIZE);
+        String timeToLive = properties.get(PROPERTY_CONTEXT_CACHE_TIME_TO_LIVE);
+        try {
+            if (!AtlasUtil.isEmpty(maxSize)) {
+                setContextCacheMaxSize(Integer.parseInt(maxSize.trim()));
+            }
+            if (!AtlasUtil.isEmpty(timeToLive)) {
+                setContextCacheTimeToLive(Long.parseLong(timeToLive.trim()));
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid AtlasContext cache configuration, using defaults msg: " + e.getMessage());
+        }
+    }
+
+    public int getParallelCollectionThreshold() {
+        return parallelCollectionThreshold;
+    }
+
+    /**
+     * Sets the collection size from which the elements of a collection mapping are read in
+     * parallel on {@link #getCollectionPool()}. Values are still written to the target in
+     * element order on the calling thread. 0 disables parallel collection processing.
+     *
+     * @param threshold minimum number of collection elements, 0 to disable
+     */
+    public void setParallelCollectionThreshold(int threshold) {
+        this.parallelCollectionThreshold = Math.max(0, threshold);
+    }
+
+    /**
+     * @return the pool collection elements are read on, the common pool unless one was configured
+     */
+    public ForkJoinPool getCollectionPool() {
+        ForkJoinPool pool = collectionPool;
+        return pool != null ? pool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Sets the pool collection elements are read on. A pool created from
+     * {@link #PROPERTY_PARALLEL_COLLECTION_PARALLELISM} is shut down when replaced,
+     * a pool passed in here is left to the caller.
+     *
+     * @param pool pool to use, or null for the common pool
+     */
+    public void setCollectionPool(ForkJoinPool pool) {
+        replaceCollectionPool(pool, false);
+    }
+
+    private synchronized void replaceCollectionPool(ForkJoinPool pool, boolean owned) {
+        ForkJoinPool previous = this.collectionPool;
+        boolean previousOwned = this.collectionPoolOwned;
+        this.collectionPool = pool;
+        this.collectionPoolOwned = owned;
+        if (previous != null && previousOwned && previous != pool) {
+            previous.shutdown();
+        }
+    }
+
+    protected void configureParallelCollections(Map<String, String> properties) {
+        if (properties == null) {
+            return;
+        }
+        String threshold = properties.get(PROPERTY_PARALLEL_COLLECTION_THRESHOLD);
+        String parallelism = properties.get(PROPERTY_PARALLEL_COLLECTION_PARALLELISM);
+        try {
+            if (!AtlasUtil.isEmpty(threshold)) {
+                setParallelCollectionThreshold(Integer.parseInt(threshold.trim()));
+            }
+            if (!AtlasUtil.isEmpty(parallelism) && Integer.parseInt(parallelism.trim()) > 0) {
+                replaceCollectionPool(new ForkJoinPool(Integer.parseInt(parallelism.trim())), true);
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid parallel collection configuration, using defaults msg: " + e.getMessage());
+        }
+    }
+
+    public AtlasFailFastPolicy getFailFastPolicy() {
+        return failFastPolicy;
+    }
+
+    /**
+     * Sets the fail-fast policy of contexts which do not set their own.
+     *
+     * @param failFastPolicy default policy, null for {@link AtlasFailFastPolicy#NONE}
+     */
+    public void setFailFastPolicy(AtlasFailFastPolicy failFastPolicy) {
+        this.failFastPolicy = failFastPolicy != null ? failFastPolicy : AtlasFailFastPolicy.NONE;
+    }
+
+    protected void configureFailFastPolicy(Map<String, String> properties) {
+        if (properties == null) {
+            return;
+        }
+        String policy = properties.get(PROPERTY_FAIL_FAST_POLICY);
+        try {
+            if (!AtlasUtil.isEmpty(policy)) {
+                setFailFastPolicy(AtlasFailFastPolicy.fromValue(policy.trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid fail-fast policy '" + policy + "', using " + failFastPolicy);
+        }
+    }
+
+    protected void configureSessionPool(Map<String, String> properties) {
+        if (properties == null) {
+            return;
+        }
+        String poolSize = properties.get(PROPERTY_SESSION_POOL_SIZE);
+        try {
+            if (!AtlasUtil.isEmpty(poolSize)) {
+                setSessionPoolSize(Integer.parseInt(poolSize.trim()));
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid session pool size '" + poolSize + "', session pooling disabled");
+        }
+    }
+
+    public int getSessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    /**
+     * Sets the session pool size of contexts created afterwards, see
+     * {@link DefaultAtlasContext#setSessionPoolSize(int)}.
+     *
+     * @param sessionPoolSize maximum number of idle sessions per context, 0 to disable pooling
+     */
+    public void setSessionPoolSize(int sessionPoolSize) {
+        this.sessionPoolSize = Math.max(0, sessionPoolSize);
+        // cached contexts were initialized with the previous size
+        contextCache.clear();
+    }
+
+    /**
+     * Returns the executor {@link DefaultAtlasContext#processAsync(io.atlasmap.api.AtlasSession)} runs on.
+     * Unless one was set, a bounded pool of daemon threads is created on first use. When its queue
+     * is full the submitting thread processes the session itself, which throttles the producer.
+     *
+     * @return default executor for asynchronous processing
+     */
+    public Executor getProcessExecutor() {
+        Executor executor = processExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = processExecutor;
+                if (executor == null) {
+                    executor = createProcessExecutor(processThreads);
+                    processExecutor = executor;
+                    processExecutorOwned = true;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Sets the default executor for asynchronous processing. An executor created by this
+     * factory is shut down when replaced, an executor passed in here is left to the caller.
+     *
+     * @param executor executor to use, or null to create a bounded pool on demand
+     */
+    public synchronized void setProcessExecutor(Executor executor) {
+        Executor previous = this.processExecutor;
+        boolean previousOwned = this.processExecutorOwned;
+        this.processExecutor = executor;
+        this.processExecutorOwned = false;
+        if (previous instanceof ExecutorService && previousOwned && previous != executor) {
+            ((ExecutorService) previous).shutdown();
+        }
+    }
+
+    private static ExecutorService createProcessExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * PROCESS_QUEUE_SIZE_PER_THREAD), runnable -> {
+                    Thread thread = new Thread(runnable, "atlas-process-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    protected void configureProcessExecutor(Map<String, String> properties) {
+        if (properties == null) {
+            return;
+        }
+        String threads = properties.get(PROPERTY_PROCESS_THREADS);
+        try {
+            if (!AtlasUtil.isEmpty(threads) && Integer.parseInt(threads.trim()) > 0) {
+                this.processThreads = Integer.parseInt(threads.trim());
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid process thread count '" + threads + "', using " + processThreads);
+        }
+    }
+
+    /**
+     * Registers a listener which observes every session processed by contexts of this factory.
+     *
+     * @param listener listener to add
+     */
+    public synchronized void addProcessListener(AtlasProcessListener listener) {
+        if (listener != null) {
+            processListeners = processListeners.add(listener);
+        }
+    }
+
+    public synchronized void removeProcessListener(AtlasProcessListener listener) {
+        processListeners = processListeners.remove(listener);
+    }
+
+    public List<AtlasProcessListener> getProcessListeners() {
+        return processListeners.getListeners();
+    }
+
+    AtlasProcessListenerChain getProcessListenerChain() {
+        return processListeners;
+    }
+
+    protected void loadProcessListeners() {
+        ClassLoader classLoader = this.getClass().getClassLoader();
+        try {
+            for (AtlasProcessListener listener : ServiceLoader.load(AtlasProcessListener.class, classLoader)) {
+                synchronized (this) {
+                    if (processListeners.contains(listener.getClass())) {
+                        continue;
+                    }
+                    processListeners = processListeners.add(listener);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Loaded AtlasProcessListener: " + listener.getClass().getName());
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            logger.warn("Unable to load AtlasProcessListener msg: " + e.getMessage(), e);
+        }
     }
 
     protected void loadModules(String moduleClassProperty, Class<?> moduleInterface) {
@@ -18,6 +18,7 @@ package io.atlasmap.core;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -43,6 +44,7 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
     private static Logger logger = LoggerFactory.getLogger(DefaultAtlasConversionService.class);
     private static DefaultAtlasConversionService instance = null;
     private Map<String, AtlasConverter<?>> converters = null;
+    private Map<FieldType, Map<FieldType, ConverterEntry>> converterMatrix = Collections.emptyMap();
 
     private static final Set<String> PRIMITIVE_CLASSNAMES = Collections.unmodifiableSet(
             new HashSet<>(Arrays.asList("boolean", "byte", "char", "double", "float", "int", "long", "short")));
@@ -73,6 +75,19 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
 
     @Override
     public Optional<AtlasConverter<?>> findMatchingConverter(FieldType source, FieldType target) {
+        ConverterEntry entry = getConverterEntry(source, target);
+        return entry != null ? entry.converter : Optional.empty();
+    }
+
+    private ConverterEntry getConverterEntry(FieldType source, FieldType target) {
+        if (source == null || target == null) {
+            return null;
+        }
+        Map<FieldType, ConverterEntry> targets = converterMatrix.get(source);
+        return targets != null ? targets.get(target) : null;
+    }
+
+    private Optional<AtlasConverter<?>> lookupMatchingConverter(FieldType source, FieldType target) {
 
         List<AtlasPrimitiveConverter<?>> primitiveConverters = converters.values().stream()
                 .filter(p -> p instanceof AtlasPrimitiveConverter).map(p -> (AtlasPrimitiveConverter<?>) p)
@@ -185,6 +200,73 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         }
         if (!tmp.isEmpty()) {
             converters = Collections.unmodifiableMap(tmp);
+            converterMatrix = buildConverterMatrix();
+        }
+    }
+
+    /*
+     * Resolve the converter for every sourceType x targetType pair once, so
+     * convertType() is a table lookup plus a direct call
+     */
+    private Map<FieldType, Map<FieldType, ConverterEntry>> buildConverterMatrix() {
+        Map<FieldType, Map<FieldType, ConverterEntry>> matrix = new EnumMap<>(FieldType.class);
+        int count = 0;
+        for (FieldType source : FieldType.values()) {
+            Map<FieldType, ConverterEntry> targets = new EnumMap<>(FieldType.class);
+            for (FieldType target : FieldType.values()) {
+                Optional<AtlasConverter<?>> converter = lookupMatchingConverter(source, target);
+                if (converter.isPresent()) {
+                    targets.put(target, new ConverterEntry(converter,
+                            createConversionFunction(converter.get(), source, target)));
+                    count++;
+                }
+            }
+            if (!targets.isEmpty()) {
+                matrix.put(source, Collections.unmodifiableMap(targets));
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Resolved " + count + " converter mappings");
+        }
+        return Collections.unmodifiableMap(matrix);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private ConversionFunction createConversionFunction(AtlasConverter<?> atlasConverter, FieldType sourceType,
+            FieldType targetType) {
+        if (!isPrimitive(sourceType) || !isPrimitive(targetType)) {
+            // TODO: Support non-primitive auto conversion
+            return value -> {
+                throw new AtlasConversionException("AutoConversion of non-primitives is not supported");
+            };
+        }
+
+        final AtlasPrimitiveConverter converter = (AtlasPrimitiveConverter) atlasConverter;
+        switch (targetType) {
+        case BOOLEAN:
+            return converter::convertToBoolean;
+        case BYTE:
+            return converter::convertToByte;
+        case CHAR:
+            return converter::convertToCharacter;
+        case DOUBLE:
+            return converter::convertToDouble;
+        case FLOAT:
+            return converter::convertToFloat;
+        case INTEGER:
+            return converter::convertToInteger;
+        case LONG:
+            return converter::convertToLong;
+        case SHORT:
+            return converter::convertToShort;
+        case STRING:
+            return converter::convertToString;
+        default:
+            return value -> {
+                throw new AtlasConversionException(
+                        "AutoConversion is not supported for sT=" + sourceType + " tT=" + targetType);
+            };
         }
     }
 
@@ -247,7 +329,6 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         return null;
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public Object convertType(Object sourceValue, FieldType origSourceType, FieldType targetType)
             throws AtlasConversionException {
@@ -256,7 +337,7 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         if (origSourceType == null && sourceValue != null) {
             sourceType = fieldTypeFromClass(sourceValue.getClass());
         } else {
-            sourceType = FieldType.fromValue(origSourceType.value());
+            sourceType = origSourceType;
         }
 
         if (sourceType == null && targetType == null) {
@@ -267,40 +348,13 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
             return sourceValue;
         }
 
-        Optional<AtlasConverter<?>> converter = findMatchingConverter(sourceType, targetType);
-        if (!converter.isPresent()) {
+        ConverterEntry entry = getConverterEntry(sourceType, targetType);
+        if (entry == null) {
             throw new AtlasConversionException(
                     "Converter not found for sourceType: " + sourceType + " targetType: " + targetType);
         }
 
-        AtlasConverter<?> atlasConverter = converter.get();
-        if (isPrimitive(sourceType) && isPrimitive(targetType)) {
-            switch (targetType) {
-            case BOOLEAN:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToBoolean(sourceValue);
-            case BYTE:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToByte(sourceValue);
-            case CHAR:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToCharacter(sourceValue);
-            case DOUBLE:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToDouble(sourceValue);
-            case FLOAT:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToFloat(sourceValue);
-            case INTEGER:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToInteger(sourceValue);
-            case LONG:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToLong(sourceValue);
-            case SHORT:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToShort(sourceValue);
-            case STRING:
-                return ((AtlasPrimitiveConverter) atlasConverter).convertToString(sourceValue);
-            default:
-                throw new AtlasConversionException(
-                        "AutoConversion is not supported for sT=" + sourceType + " tT=" + targetType);
-            }
-        }
-        // TODO: Support non-primitive auto conversion
-        throw new AtlasConversionException("AutoConversion of non-primitives is not supported");
+        return entry.function.convert(sourceValue);
     }
 
     @Override
@@ -491,4 +545,18 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         }
     }
 
+    @FunctionalInterface
+    private interface ConversionFunction {
+        Object convert(Object value) throws AtlasConversionException;
+    }
+
+    private static final class ConverterEntry {
+        private final Optional<AtlasConverter<?>> converter;
+        private final ConversionFunction function;
+
+        private ConverterEntry(Optional<AtlasConverter<?>> converter, ConversionFunction function) {
+            this.converter = converter;
+            this.function = function;
+        }
+    }
 }
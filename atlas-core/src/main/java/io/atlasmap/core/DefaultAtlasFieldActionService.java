@@ -1,12 +1,19 @@
 package io.atlasmap.core;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 
 import org.slf4j.Logger;
@@ -30,8 +37,12 @@ import io.atlasmap.v2.ActionDetail;
 public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasFieldActionService.class);
+    private static final MethodType ACTION_METHOD_TYPE = MethodType.methodType(Object.class, Action.class,
+            Object.class);
     private ActionDetails actionDetails = new ActionDetails();
     private AtlasConversionService conversionService = null;
+    private Map<String, FieldActionEntry> actionsByName = new HashMap<>();
+    private Map<ActionDetail, MethodHandle> actionHandles = new IdentityHashMap<>();
 
     public DefaultAtlasFieldActionService(AtlasConversionService conversionService) {
         this.conversionService = conversionService;
@@ -73,6 +84,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
                         LOG.trace("Loaded FieldAction: " + det.getName());
                     }
                     listActionDetails().add(det);
+                    registerActionHandle(det, method, atlasFieldAction);
                 }
             }
         }
@@ -82,6 +94,32 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         }
     }
 
+    /*
+     * Pre-bind the field action method so invoking an action is a map lookup
+     * plus a direct call instead of Class.forName, newInstance and reflection
+     */
+    private void registerActionHandle(ActionDetail detail, Method method, AtlasFieldAction instance) {
+        FieldActionEntry entry = actionsByName.get(detail.getName());
+        if (entry == null) {
+            entry = new FieldActionEntry(detail);
+            actionsByName.put(detail.getName(), entry);
+        }
+        if (detail.getSourceType() != null && !entry.bySourceType.containsKey(detail.getSourceType())) {
+            entry.bySourceType.put(detail.getSourceType(), detail);
+        }
+
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(instance);
+            }
+            actionHandles.put(detail, handle.asType(ACTION_METHOD_TYPE));
+        } catch (IllegalAccessException | IllegalArgumentException | ClassCastException e) {
+            LOG.warn(String.format("Unable to bind field action=%s method=%s, falling back to reflection msg=%s",
+                    detail.getName(), method.getName(), e.getMessage()), e);
+        }
+    }
+
     @Override
     public List<ActionDetail> listActionDetails() {
         return actionDetails.getActionDetail();
@@ -120,6 +158,17 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
      */
     protected ActionDetail findActionDetail(String actionName, FieldType sourceType) {
 
+        FieldActionEntry entry = actionsByName.get(actionName);
+        if (entry != null) {
+            if (sourceType != null && sourceType != FieldType.ALL && sourceType != FieldType.NONE) {
+                ActionDetail match = entry.bySourceType.get(sourceType);
+                if (match != null) {
+                    return match;
+                }
+            }
+            return entry.first;
+        }
+
         List<ActionDetail> matches = new ArrayList<ActionDetail>();
         for(ActionDetail actionDetail : listActionDetails()) {
             if(actionDetail.getName().equals(actionName)) {
@@ -203,6 +252,17 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
     protected Object processAction(Action action, ActionDetail actionDetail, Object sourceObject) throws AtlasException {
         Object targetObject = null;
         if(actionDetail != null) {
+            MethodHandle handle = actionHandles.get(actionDetail);
+            if(handle != null) {
+                try {
+                    return (Object) handle.invokeExact(action, sourceObject);
+                } catch (AtlasException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new AtlasException(String.format("Error processing action %s", actionDetail.getName()), t);
+                }
+            }
+
             Object actionObject = null;
             try {
                 Class<?> actionClazz = Class.forName(actionDetail.getClassName());
@@ -282,4 +342,13 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         c[0] = Character.toLowerCase(c[0]);
         return new String(c);
     }
+
+    private static final class FieldActionEntry {
+        private final ActionDetail first;
+        private final Map<FieldType, ActionDetail> bySourceType = new EnumMap<>(FieldType.class);
+
+        private FieldActionEntry(ActionDetail first) {
+            this.first = first;
+        }
+    }
 }
@@ -17,11 +17,14 @@ package io.atlasmap.core;
 
 import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasProcessPhase;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.Field;
 import io.atlasmap.v2.Validations;
 
 import java.util.Collections;
@@ -38,6 +41,13 @@ public class DefaultAtlasSession implements AtlasSession {
     private Map<String, Object> properties;
     private Map<String, Object> inputMap = new HashMap<String, Object>();
     private Map<String, Object> outputMap = new HashMap<String, Object>();
+    private Map<String, Object> inputCache = new ConcurrentHashMap<String, Object>();
+    private final Map<Field, CompiledPath> boundPaths = new ConcurrentHashMap<Field, CompiledPath>();
+    private Object outputSink;
+    private AtlasMappingPlan mappingPlan;
+    private AtlasProcessPhase abortedPhase;
+    private SessionMappingState mappingState;
+    private volatile boolean pooled;
 
     public DefaultAtlasSession(AtlasMapping mapping) {
         initialize();
@@ -65,6 +75,117 @@ public class DefaultAtlasSession implements AtlasSession {
         return mapping;
     }
 
+    /**
+     * @return the plan this session's mapping was created from, or null
+     */
+    public AtlasMappingPlan getMappingPlan() {
+        return mappingPlan;
+    }
+
+    void setMappingPlan(AtlasMappingPlan mappingPlan) {
+        this.mappingPlan = mappingPlan;
+    }
+
+    /**
+     * @param field field of this session's mapping
+     * @return the path the field is bound to while iterating a collection, otherwise the
+     *         compiled path of the field, taken from the plan when the path is part of it
+     */
+    public CompiledPath getCompiledPath(Field field) {
+        if (!boundPaths.isEmpty()) {
+            CompiledPath bound = boundPaths.get(field);
+            if (bound != null) {
+                return bound;
+            }
+        }
+        AtlasMappingPlan plan = mappingPlan;
+        return plan != null ? plan.getCompiledPath(field.getPath()) : CompiledPath.compile(field.getPath());
+    }
+
+    /**
+     * Makes {@link #getCompiledPath(Field)} return the given path for the field until it is
+     * unbound. The field path itself must be set to the same path by the caller.
+     */
+    void bindPath(Field field, CompiledPath path) {
+        boundPaths.put(field, path);
+    }
+
+    void unbindPath(Field field) {
+        boundPaths.remove(field);
+    }
+
+    /**
+     * Creates a session to read the inputs of this session on another thread. Inputs,
+     * input cache, properties and plan are shared, audits, validations and bound paths
+     * are its own so concurrent readers never add to the same lists.
+     *
+     * @return the forked session
+     */
+    DefaultAtlasSession forkForInput() {
+        DefaultAtlasSession fork = new DefaultAtlasSession(mapping);
+        fork.atlasContext = atlasContext;
+        fork.properties = properties;
+        fork.inputMap = inputMap;
+        fork.inputCache = inputCache;
+        fork.mappingPlan = mappingPlan;
+        return fork;
+    }
+
+    @Override
+    public AtlasProcessPhase getAbortedPhase() {
+        return abortedPhase;
+    }
+
+    void setAbortedPhase(AtlasProcessPhase abortedPhase) {
+        this.abortedPhase = abortedPhase;
+    }
+
+    /**
+     * Remembers the current state of the mapping so {@link #reset()} can restore the
+     * field properties written while processing. Called before the session is first used.
+     *
+     * @throws AtlasException if a field can't be copied
+     */
+    void captureMappingState() throws AtlasException {
+        this.mappingState = new SessionMappingState(mapping);
+    }
+
+    boolean hasMappingState() {
+        return mappingState != null;
+    }
+
+    boolean isPooled() {
+        return pooled;
+    }
+
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Also restores the mapping field values if {@link #captureMappingState()} was called,
+     * otherwise values read for the previous message remain in the mapping.
+     */
+    @Override
+    public void reset() {
+        properties.clear();
+        inputMap.clear();
+        outputMap.clear();
+        inputCache.clear();
+        boundPaths.clear();
+        outputSink = null;
+        abortedPhase = null;
+        if (validations != null) {
+            validations.getValidation().clear();
+        }
+        if (audits != null) {
+            audits.getAudit().clear();
+        }
+        if (mappingState != null) {
+            mappingState.restore();
+        }
+    }
+
     @Override
     public Validations getValidations() {
         return this.validations;
@@ -105,6 +226,11 @@ public class DefaultAtlasSession implements AtlasSession {
         return Collections.unmodifiableMap(inputMap);
     }
 
+    @Override
+    public Map<String, Object> getInputCache() {
+        return inputCache;
+    }
+
     @Override
     public Object getOutput() {
         return outputMap.get(AtlasConstants.DEFAULT_TARGET_DOC_ID);
@@ -125,14 +251,28 @@ public class DefaultAtlasSession implements AtlasSession {
         return Collections.unmodifiableMap(outputMap);
     }
 
+    @Override
+    public Object getOutputSink() {
+        return outputSink;
+    }
+
+    @Override
+    public void setOutputSink(Object outputSink) {
+        this.outputSink = outputSink;
+    }
+
     @Override
     public void setInput(Object input) {
         this.inputMap.put(AtlasConstants.DEFAULT_SOURCE_DOC_ID, input);
+        this.inputCache.remove(AtlasConstants.DEFAULT_SOURCE_DOC_ID);
     }
 
     @Override
     public void setInput(Object inputObject, String docId) {
         this.inputMap.put(docId, inputObject);
+        if (docId != null) {
+            this.inputCache.remove(docId);
+        }
     }
 
     @Override
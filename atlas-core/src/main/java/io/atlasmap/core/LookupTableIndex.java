@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.api.AtlasConversionService;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.LookupEntry;
+import io.atlasmap.v2.LookupTable;
+
+/**
+ * Hash index over a {@link LookupTable}, keyed by source value. Target values are
+ * converted to the entry target type once when the index is built. Where a source
+ * value appears more than once, the first entry wins, as with the previous linear scan.
+ */
+public final class LookupTableIndex {
+
+    private final String name;
+    private final Map<String, Entry> entries;
+
+    private LookupTableIndex(String name, Map<String, Entry> entries) {
+        this.name = name;
+        this.entries = entries;
+    }
+
+    public static LookupTableIndex compile(LookupTable table, AtlasConversionService conversionService) {
+        Map<String, Entry> entries = new HashMap<>();
+        if (table.getLookupEntry() != null) {
+            for (LookupEntry lookupEntry : table.getLookupEntry()) {
+                if (lookupEntry.getSourceValue() != null && !entries.containsKey(lookupEntry.getSourceValue())) {
+                    entries.put(lookupEntry.getSourceValue(), new Entry(lookupEntry, conversionService));
+                }
+            }
+        }
+        return new LookupTableIndex(table.getName(), Collections.unmodifiableMap(entries));
+    }
+
+    /**
+     * Returns the index for the named lookup table of the session. Sessions created
+     * by {@link DefaultAtlasContext} share the index compiled in their {@link AtlasMappingPlan},
+     * any other session gets a freshly compiled one.
+     *
+     * @param session session
+     * @param lookupTableName lookup table name
+     * @param conversionService conversion service used to convert target values
+     * @return the index, or null if the mapping has no such lookup table
+     */
+    public static LookupTableIndex forSession(AtlasSession session, String lookupTableName,
+            AtlasConversionService conversionService) {
+        if (session instanceof DefaultAtlasSession) {
+            AtlasMappingPlan plan = ((DefaultAtlasSession) session).getMappingPlan();
+            if (plan != null) {
+                return plan.getLookupTableIndex(lookupTableName, conversionService);
+            }
+        }
+        LookupTable table = findLookupTable(session.getMapping(), lookupTableName);
+        return table != null ? compile(table, conversionService) : null;
+    }
+
+    static LookupTable findLookupTable(AtlasMapping mapping, String lookupTableName) {
+        if (mapping == null || lookupTableName == null || mapping.getLookupTables() == null
+                || mapping.getLookupTables().getLookupTable() == null) {
+            return null;
+        }
+        for (LookupTable table : mapping.getLookupTables().getLookupTable()) {
+            if (lookupTableName.equals(table.getName())) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param sourceValue source value
+     * @return the matching entry, or null
+     */
+    public Entry get(String sourceValue) {
+        return sourceValue != null ? entries.get(sourceValue) : null;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static final class Entry {
+        private final LookupEntry lookupEntry;
+        private final Object targetValue;
+        private final AtlasConversionException conversionException;
+
+        Entry(LookupEntry lookupEntry, AtlasConversionService conversionService) {
+            this.lookupEntry = lookupEntry;
+            Object value = lookupEntry.getTargetValue();
+            AtlasConversionException error = null;
+            FieldType targetType = lookupEntry.getTargetType();
+            if (targetType != null && !FieldType.STRING.equals(targetType)) {
+                try {
+                    value = conversionService.convertType(lookupEntry.getTargetValue(), FieldType.STRING, targetType);
+                } catch (AtlasConversionException e) {
+                    // reported when the entry is used, as it was before indexing
+                    value = null;
+                    error = e;
+                }
+            }
+            this.targetValue = value;
+            this.conversionException = error;
+        }
+
+        public LookupEntry getLookupEntry() {
+            return lookupEntry;
+        }
+
+        public String getSourceValue() {
+            return lookupEntry.getSourceValue();
+        }
+
+        public FieldType getTargetType() {
+            return lookupEntry.getTargetType();
+        }
+
+        /**
+         * @return the target value converted to {@link #getTargetType()}
+         * @throws AtlasConversionException if the target value couldn't be converted
+         */
+        public Object getTargetValue() throws AtlasConversionException {
+            if (conversionException != null) {
+                throw conversionException;
+            }
+            return targetValue;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.atlasmap.api.AtlasException;
+
+/**
+ * Copies mapping model objects, including module specific {@link io.atlasmap.v2.Field}
+ * subclasses, through method handles resolved once per class. Properties are paired by
+ * their public setter and getter, list properties without a setter are copied element
+ * by element. A shallow copy shares the property values and list elements with the
+ * source, a deep copy also copies every nested model object.
+ */
+final class ModelCopier {
+
+    private static final String MODEL_PACKAGE_PREFIX = "io.atlasmap.";
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ModelCopier> COPIERS = new ClassValue<ModelCopier>() {
+        @Override
+        protected ModelCopier computeValue(Class<?> type) {
+            return new ModelCopier(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    private final MethodHandle[] listGetters;
+
+    private ModelCopier(Class<?> type) {
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle defaultConstructor = null;
+        try {
+            defaultConstructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // reported when an instance is copied
+        }
+        this.constructor = defaultConstructor;
+
+        List<MethodHandle> propertyGetters = new ArrayList<>();
+        List<MethodHandle> propertySetters = new ArrayList<>();
+        List<MethodHandle> lists = new ArrayList<>();
+        try {
+            for (Method method : type.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                    continue;
+                }
+                String name = method.getName();
+                if (name.startsWith("set") && method.getParameterCount() == 1
+                        && method.getReturnType() == void.class) {
+                    Method getter = findGetter(type, name.substring(3), method.getParameterTypes()[0]);
+                    if (getter != null) {
+                        propertyGetters.add(lookup.unreflect(getter).asType(GETTER_TYPE));
+                        propertySetters.add(lookup.unreflect(method).asType(SETTER_TYPE));
+                    }
+                } else if (name.startsWith("get") && method.getParameterCount() == 0
+                        && List.class.isAssignableFrom(method.getReturnType())
+                        && !hasSetter(type, name.substring(3), method.getReturnType())) {
+                    lists.add(lookup.unreflect(method).asType(GETTER_TYPE));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access properties of " + type.getName(), e);
+        }
+        this.getters = propertyGetters.toArray(new MethodHandle[0]);
+        this.setters = propertySetters.toArray(new MethodHandle[0]);
+        this.listGetters = lists.toArray(new MethodHandle[0]);
+    }
+
+    /**
+     * @param source model object to copy, may be null
+     * @param deep whether nested model objects are copied as well
+     * @return the copy, or null if the source is null
+     * @throws AtlasException if the object has no public default constructor
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T source, boolean deep) throws AtlasException {
+        if (source == null) {
+            return null;
+        }
+        try {
+            return (T) COPIERS.get(source.getClass()).copyObject(source, deep);
+        } catch (AtlasException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new AtlasException("Unable to copy " + source.getClass().getName(), t);
+        }
+    }
+
+    /**
+     * Sets every property of the target to the value the source holds, sharing the
+     * values. List properties without setter are refilled with the source elements.
+     *
+     * @param source object to take the values from
+     * @param target object of the same class to set the values on
+     */
+    @SuppressWarnings("unchecked")
+    static void copyInto(Object source, Object target) {
+        if (source.getClass() != target.getClass()) {
+            throw new IllegalArgumentException("Unable to copy " + source.getClass().getName() + " into "
+                    + target.getClass().getName());
+        }
+        ModelCopier copier = COPIERS.get(source.getClass());
+        try {
+            for (int i = 0; i < copier.getters.length; i++) {
+                copier.setters[i].invokeExact(target, (Object) copier.getters[i].invokeExact(source));
+            }
+            for (MethodHandle listGetter : copier.listGetters) {
+                List<Object> values = (List<Object>) (Object) listGetter.invokeExact(source);
+                List<Object> current = (List<Object>) (Object) listGetter.invokeExact(target);
+                if (values != current) {
+                    current.clear();
+                    if (values != null) {
+                        current.addAll(values);
+                    }
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Unable to copy " + source.getClass().getName(), t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyObject(Object source, boolean deep) throws Throwable {
+        if (constructor == null) {
+            throw new AtlasException(type.getName() + " has no public default constructor");
+        }
+        Object copy = (Object) constructor.invokeExact();
+        for (int i = 0; i < getters.length; i++) {
+            Object value = (Object) getters[i].invokeExact(source);
+            setters[i].invokeExact(copy, deep ? copyValue(value) : value);
+        }
+        for (MethodHandle listGetter : listGetters) {
+            List<Object> values = (List<Object>) (Object) listGetter.invokeExact(source);
+            if (values == null || values.isEmpty()) {
+                continue;
+            }
+            List<Object> target = (List<Object>) (Object) listGetter.invokeExact(copy);
+            if (!deep) {
+                target.addAll(values);
+                continue;
+            }
+            for (Object value : values) {
+                target.add(copyValue(value));
+            }
+        }
+        return copy;
+    }
+
+    private static Object copyValue(Object value) throws Throwable {
+        if (value == null || value instanceof Enum || !value.getClass().getName().startsWith(MODEL_PACKAGE_PREFIX)) {
+            return value;
+        }
+        return COPIERS.get(value.getClass()).copyObject(value, true);
+    }
+
+    private static Method findGetter(Class<?> type, String property, Class<?> propertyType) {
+        for (String prefix : new String[] {"get", "is"}) {
+            try {
+                Method getter = type.getMethod(prefix + property);
+                if (getter.getReturnType() == propertyType) {
+                    return getter;
+                }
+            } catch (NoSuchMethodException e) {
+                // try the next prefix
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasSetter(Class<?> type, String property, Class<?> propertyType) {
+        try {
+            type.getMethod("set" + property, propertyType);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -397,6 +397,16 @@ public class PathUtil {
         protected SegmentContext prev;
         protected SegmentContext next;
         protected PathUtil pathUtil;
+        protected CompiledPath.Segment compiledSegment;
+
+        public SegmentContext() {
+        }
+
+        SegmentContext(CompiledPath.Segment compiledSegment) {
+            this.segment = compiledSegment.getExpression();
+            this.segmentPath = compiledSegment.getSegmentPath();
+            this.compiledSegment = compiledSegment;
+        }
 
         public String getSegment() {
             return segment;
@@ -404,6 +414,19 @@ public class PathUtil {
 
         public void setSegment(String segment) {
             this.segment = segment;
+            this.compiledSegment = null;
+        }
+
+        /**
+         * @return the parsed form of {@link #getSegment()}
+         */
+        public CompiledPath.Segment getCompiledSegment() {
+            CompiledPath.Segment compiled = compiledSegment;
+            if (compiled == null) {
+                compiled = CompiledPath.compileSegment(segment);
+                compiledSegment = compiled;
+            }
+            return compiled;
         }
 
         public String getSegmentPath() {
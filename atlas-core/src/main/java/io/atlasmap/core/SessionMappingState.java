@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.Mapping;
+
+/**
+ * Captures the field lists and every field property of a session mapping before
+ * processing so a recycled session can put its mapping back into that state
+ * instead of creating a fresh copy from the plan.
+ */
+final class SessionMappingState {
+
+    private final List<MappingState> mappings = new ArrayList<>();
+
+    SessionMappingState(AtlasMapping mapping) throws AtlasException {
+        if (mapping != null && mapping.getMappings() != null) {
+            collect(mapping.getMappings().getMapping());
+        }
+    }
+
+    private void collect(List<BaseMapping> baseMappings) throws AtlasException {
+        for (BaseMapping baseMapping : baseMappings) {
+            if (baseMapping instanceof Collection) {
+                Collection collection = (Collection) baseMapping;
+                if (collection.getMappings() != null) {
+                    collect(collection.getMappings().getMapping());
+                }
+            } else if (baseMapping instanceof Mapping) {
+                mappings.add(new MappingState((Mapping) baseMapping));
+            }
+        }
+    }
+
+    void restore() {
+        for (MappingState state : mappings) {
+            state.restore();
+        }
+    }
+
+    private static final class MappingState {
+        private final Mapping mapping;
+        private final Field[] inputFields;
+        private final Field[] outputFields;
+        private final FieldState[] fields;
+
+        MappingState(Mapping mapping) throws AtlasException {
+            this.mapping = mapping;
+            this.inputFields = mapping.getInputField().toArray(new Field[0]);
+            this.outputFields = mapping.getOutputField().toArray(new Field[0]);
+            this.fields = new FieldState[inputFields.length + outputFields.length];
+            for (int i = 0; i < inputFields.length; i++) {
+                fields[i] = new FieldState(inputFields[i]);
+            }
+            for (int i = 0; i < outputFields.length; i++) {
+                fields[inputFields.length + i] = new FieldState(outputFields[i]);
+            }
+        }
+
+        void restore() {
+            restoreList(mapping.getInputField(), inputFields);
+            restoreList(mapping.getOutputField(), outputFields);
+            for (FieldState field : fields) {
+                field.restore();
+            }
+        }
+
+        private static void restoreList(List<Field> current, Field[] original) {
+            if (current.size() == original.length) {
+                boolean same = true;
+                for (int i = 0; i < original.length && same; i++) {
+                    same = current.get(i) == original[i];
+                }
+                if (same) {
+                    return;
+                }
+            }
+            current.clear();
+            current.addAll(Arrays.asList(original));
+        }
+    }
+
+    /**
+     * Keeps a shallow copy of the field, so whatever property a module writes while
+     * reading or writing, such as the collection type, status or docId, is put back.
+     */
+    private static final class FieldState {
+        private final Field field;
+        private final Field snapshot;
+
+        FieldState(Field field) throws AtlasException {
+            this.field = field;
+            this.snapshot = ModelCopier.copy(field, false);
+        }
+
+        void restore() {
+            ModelCopier.copyInto(snapshot, field);
+        }
+    }
+}
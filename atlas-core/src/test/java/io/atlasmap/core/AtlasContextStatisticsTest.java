@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Test;
+
+import io.atlasmap.core.AtlasContextStatistics.Phase;
+
+public class AtlasContextStatisticsTest {
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getValueAtPercentile(99.0));
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000L, histogram.getCount());
+        assertEquals(1000000L, histogram.getMax());
+        assertWithinBucket(500000L, histogram.getValueAtPercentile(50.0));
+        assertWithinBucket(990000L, histogram.getValueAtPercentile(99.0));
+        assertEquals(1000000L, histogram.getValueAtPercentile(100.0));
+
+        histogram.reset();
+        assertEquals(0L, histogram.getCount());
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        for (long value : new long[] {0L, 15L, 16L, 17L, 1023L, 1024L, 123456789L, Long.MAX_VALUE}) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketIndex(value));
+            assertTrue(value + " -> " + highest, highest >= value);
+            assertWithinBucket(value, highest);
+        }
+    }
+
+    @Test
+    public void testRecordAndReset() throws Exception {
+        AtlasContextStatistics statistics = new AtlasContextStatistics();
+        assertFalse(statistics.isStatisticsEnabled());
+        statistics.setStatisticsEnabled(true);
+
+        statistics.recordProcess(100L, false);
+        statistics.recordProcess(300L, true);
+        statistics.recordPhase(Phase.INPUT, 20L);
+        statistics.recordMapping(0, "first", 50L, false);
+        statistics.recordMapping(0, "first", 70L, true);
+        statistics.recordMapping(3, null, 10L, false);
+
+        assertEquals(2L, statistics.getProcessCount());
+        assertEquals(1L, statistics.getProcessErrorCount());
+        assertTrue(statistics.getProcessThroughput() > 0);
+
+        TabularData phases = statistics.getPhaseStatistics();
+        assertEquals(Phase.values().length, phases.size());
+        CompositeData process = phases.get(new Object[] {"process"});
+        assertEquals(2L, process.get("count"));
+        assertEquals(300L, process.get("max"));
+        assertEquals(20L, phases.get(new Object[] {"input"}).get("p50"));
+
+        TabularData mappings = statistics.getMappingStatistics();
+        assertEquals(2, mappings.size());
+        CompositeData first = mappings.get(new Object[] {0});
+        assertEquals("first", first.get("alias"));
+        assertEquals(2L, first.get("count"));
+        assertEquals(1L, first.get("errorCount"));
+        assertEquals(70L, first.get("maxExecutionTime"));
+
+        statistics.reset();
+        assertEquals(0L, statistics.getProcessCount());
+        assertEquals(0, statistics.getMappingStatistics().size());
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(expected + " vs " + actual, actual >= expected && actual - expected <= expected / 16);
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasFailFastPolicy;
+import io.atlasmap.api.AtlasProcessPhase;
+
+public class AtlasFailFastPolicyTest {
+
+    @Test
+    public void testNoneNeverAborts() {
+        for (AtlasProcessPhase phase : AtlasProcessPhase.values()) {
+            assertFalse(AtlasFailFastPolicy.NONE.abortsAfter(phase));
+        }
+    }
+
+    @Test
+    public void testAbortsUpToLastCheckedPhase() {
+        assertTrue(AtlasFailFastPolicy.VALIDATION.abortsAfter(AtlasProcessPhase.VALIDATION));
+        assertFalse(AtlasFailFastPolicy.VALIDATION.abortsAfter(AtlasProcessPhase.PRE_EXECUTION));
+        assertTrue(AtlasFailFastPolicy.PRE_EXECUTION.abortsAfter(AtlasProcessPhase.PRE_EXECUTION));
+        assertFalse(AtlasFailFastPolicy.PRE_EXECUTION.abortsAfter(AtlasProcessPhase.MAPPING));
+        assertTrue(AtlasFailFastPolicy.MAPPING.abortsAfter(AtlasProcessPhase.PRE_EXECUTION));
+        assertTrue(AtlasFailFastPolicy.MAPPING.abortsAfter(AtlasProcessPhase.MAPPING));
+    }
+
+    @Test
+    public void testFromValue() {
+        for (AtlasFailFastPolicy policy : AtlasFailFastPolicy.values()) {
+            assertEquals(policy, AtlasFailFastPolicy.fromValue(policy.value()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromUnknownValue() {
+        AtlasFailFastPolicy.fromValue("unknown");
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.SimpleField;
+
+public class AtlasMappingPlanTest {
+
+    @Test
+    public void testCreateSessionMappingIsIsolated() throws Exception {
+        AtlasMapping definition = AtlasTestData.generateAtlasMapping();
+        definition.setName("plan-test");
+        AtlasMappingPlan plan = AtlasMappingPlan.compile(definition);
+        assertEquals("plan-test", plan.getMappingName());
+
+        AtlasMapping first = plan.createSessionMapping();
+        AtlasMapping second = plan.createSessionMapping();
+        assertNotNull(first);
+        assertNotSame(definition, first);
+        assertNotSame(first, second);
+
+        int size = definition.getProperties().getProperty().size();
+        first.getProperties().getProperty().clear();
+        assertEquals(size, second.getProperties().getProperty().size());
+        assertEquals(size, plan.createSessionMapping().getProperties().getProperty().size());
+
+        definition.setName("changed");
+        assertEquals("plan-test", plan.getMappingName());
+    }
+
+    @Test
+    public void testCreateSessionMappingCopiesFields() throws Exception {
+        AtlasMapping definition = AtlasTestData.generateAtlasMapping();
+        Mapping mapping = AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.setId("simple");
+        mapping.getInputField().add(createField("/order/id", FieldType.STRING));
+        mapping.getOutputField().add(createField("/invoice/id", FieldType.STRING));
+        definition.getMappings().getMapping().add(mapping);
+        Collection collection = AtlasModelFactory.createCollection();
+        Mapping element = AtlasModelFactory.createMapping(MappingType.MAP);
+        element.getInputField().add(createField("/order/lines<>/sku", FieldType.STRING));
+        element.getOutputField().add(createField("/invoice/items<>/sku", FieldType.STRING));
+        collection.getMappings().getMapping().add(element);
+        definition.getMappings().getMapping().add(collection);
+        AtlasMappingPlan plan = AtlasMappingPlan.compile(definition);
+
+        AtlasMapping first = plan.createSessionMapping();
+        AtlasMapping second = plan.createSessionMapping();
+        Mapping firstMapping = (Mapping) first.getMappings().getMapping().get(0);
+        Mapping secondMapping = (Mapping) second.getMappings().getMapping().get(0);
+        assertEquals("simple", firstMapping.getId());
+        assertNotSame(mapping, firstMapping);
+        assertNotSame(firstMapping, secondMapping);
+        assertNotSame(mapping.getInputField().get(0), firstMapping.getInputField().get(0));
+        assertNotSame(firstMapping.getInputField().get(0), secondMapping.getInputField().get(0));
+
+        firstMapping.getInputField().get(0).setValue("42");
+        firstMapping.getInputField().get(0).setPath("/order/number");
+        firstMapping.getOutputField().clear();
+        assertNull(secondMapping.getInputField().get(0).getValue());
+        assertEquals("/order/id", secondMapping.getInputField().get(0).getPath());
+        assertEquals(1, secondMapping.getOutputField().size());
+        assertNull(((Mapping) plan.createSessionMapping().getMappings().getMapping().get(0))
+                .getInputField().get(0).getValue());
+
+        Collection firstCollection = (Collection) first.getMappings().getMapping().get(1);
+        Collection secondCollection = (Collection) second.getMappings().getMapping().get(1);
+        assertEquals(MappingType.COLLECTION, firstCollection.getMappingType());
+        Mapping firstElement = (Mapping) firstCollection.getMappings().getMapping().get(0);
+        Mapping secondElement = (Mapping) secondCollection.getMappings().getMapping().get(0);
+        assertNotSame(firstElement, secondElement);
+        assertEquals("/order/lines<>/sku", firstElement.getInputField().get(0).getPath());
+        assertTrue(firstElement.getInputField().get(0) instanceof SimpleField);
+        assertNotSame(firstElement.getInputField().get(0), secondElement.getInputField().get(0));
+    }
+
+    @Test
+    public void testCompiledPathsComeFromPlan() throws Exception {
+        AtlasMapping definition = AtlasTestData.generateAtlasMapping();
+        Mapping mapping = AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getInputField().add(createField("/order/lines<3>/sku", FieldType.STRING));
+        definition.getMappings().getMapping().add(mapping);
+        AtlasMappingPlan plan = AtlasMappingPlan.compile(definition);
+
+        CompiledPath path = plan.getCompiledPath("/order/lines<3>/sku");
+        assertSame(path, plan.getCompiledPath("/order/lines<3>/sku"));
+        assertEquals(Integer.valueOf(3), path.getSegment(1).getIndex());
+
+        DefaultAtlasSession session = new DefaultAtlasSession(plan.createSessionMapping());
+        session.setMappingPlan(plan);
+        Mapping sessionMapping = (Mapping) session.getMapping().getMappings().getMapping().get(0);
+        assertSame(path, session.getCompiledPath(sessionMapping.getInputField().get(0)));
+        assertEquals("/other/path", plan.getCompiledPath("/other/path").getOriginalPath());
+    }
+
+    @Test
+    public void testSameContent() throws Exception {
+        AtlasMapping definition = AtlasTestData.generateAtlasMapping();
+        definition.setName("plan-test");
+        AtlasMappingPlan plan = AtlasMappingPlan.compile(definition);
+        assertTrue(plan.hasSameContent(AtlasMappingPlan.compile(definition)));
+        assertEquals(plan.getContentHash(), AtlasMappingPlan.compile(definition).getContentHash());
+
+        definition.setName("changed");
+        assertFalse(plan.hasSameContent(AtlasMappingPlan.compile(definition)));
+    }
+
+    @Test(expected = AtlasException.class)
+    public void testCompileNullMapping() throws Exception {
+        AtlasMappingPlan.compile(null);
+    }
+
+    private static SimpleField createField(String path, FieldType type) {
+        SimpleField field = new SimpleField();
+        field.setPath(path);
+        field.setFieldType(type);
+        return field;
+    }
+}
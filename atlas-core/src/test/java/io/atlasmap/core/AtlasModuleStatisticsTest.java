@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.AtlasModuleMode;
+
+public class AtlasModuleStatisticsTest {
+
+    private AtlasModuleStatistics statistics = null;
+
+    @Before
+    public void setUp() {
+        AtlasModule module = mock(AtlasModule.class);
+        when(module.getMode()).thenReturn(AtlasModuleMode.SOURCE);
+        when(module.listSupportedModes()).thenReturn(Arrays.asList(AtlasModuleMode.SOURCE));
+        statistics = new AtlasModuleStatistics(module);
+    }
+
+    @Test
+    public void testModuleInfo() {
+        assertEquals("source", statistics.getMode());
+        assertTrue(statistics.isSourceSupported());
+        assertFalse(statistics.isTargetSupported());
+        assertFalse(statistics.isStatisticsEnabled());
+        statistics.setStatisticsEnabled(true);
+        assertTrue(statistics.isStatisticsEnabled());
+    }
+
+    @Test
+    public void testRecordAndReset() throws Exception {
+        assertEquals(0L, statistics.getInputMinExecutionTime());
+        assertEquals(0L, statistics.getInputMaxExecutionTime());
+
+        statistics.recordInput(10L, false);
+        statistics.recordInput(30L, true);
+        statistics.recordOutput(5L, false);
+
+        assertEquals(2L, statistics.getInputCount());
+        assertEquals(1L, statistics.getInputErrorCount());
+        assertEquals(1L, statistics.getInputSuccessCount());
+        assertEquals(10L, statistics.getInputMinExecutionTime());
+        assertEquals(30L, statistics.getInputMaxExecutionTime());
+        assertEquals(40L, statistics.getInputTotalExecutionTime());
+        assertEquals(1L, statistics.getOutputCount());
+        assertEquals(0L, statistics.getOutputErrorCount());
+
+        TabularData data = statistics.readAndResetStatistics();
+        CompositeData input = data.get(new Object[] {"input"});
+        assertEquals(2L, input.get("count"));
+        assertEquals(40L, input.get("totalExecutionTime"));
+        CompositeData output = data.get(new Object[] {"output"});
+        assertEquals(5L, output.get("maxExecutionTime"));
+
+        assertEquals(0L, statistics.getInputCount());
+        assertEquals(0L, statistics.getOutputTotalExecutionTime());
+    }
+}
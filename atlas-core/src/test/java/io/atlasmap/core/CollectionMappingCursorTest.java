@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.SimpleField;
+
+public class CollectionMappingCursorTest {
+
+    @Test
+    public void testBindAndRestore() {
+        Mapping mapping = createMapping("/orders<>/id", "/items[]/orderId");
+        SimpleField input = (SimpleField) mapping.getInputField().get(0);
+        SimpleField output = (SimpleField) mapping.getOutputField().get(0);
+        CollectionMappingCursor cursor = new CollectionMappingCursor(null, mapping);
+        assertTrue(cursor.isInputCollection());
+
+        cursor.bind(0);
+        assertEquals("/orders<0>/id", input.getPath());
+        assertEquals("/items[0]/orderId", output.getPath());
+        input.setValue("a");
+        input.setFieldType(FieldType.INTEGER);
+
+        cursor.bind(5);
+        assertEquals("/orders<5>/id", input.getPath());
+        assertEquals("/items[5]/orderId", output.getPath());
+        assertNull(input.getValue());
+        assertEquals(FieldType.STRING, input.getFieldType());
+
+        cursor.restore();
+        assertEquals("/orders<>/id", input.getPath());
+        assertEquals("/items[]/orderId", output.getPath());
+        assertEquals(1, mapping.getInputField().size());
+    }
+
+    @Test
+    public void testNonCollectionInput() {
+        Mapping mapping = createMapping("/contact/firstName", "/contacts<>/firstName");
+        CollectionMappingCursor cursor = new CollectionMappingCursor(null, mapping);
+        assertFalse(cursor.isInputCollection());
+
+        cursor.bind(0);
+        assertEquals("/contact/firstName", mapping.getInputField().get(0).getPath());
+        assertEquals("/contacts<0>/firstName", mapping.getOutputField().get(0).getPath());
+    }
+
+    @Test
+    public void testBindsCompiledPathInSession() {
+        Mapping mapping = createMapping("/customer/orders<>/id", "/items[]/orderId");
+        SimpleField input = (SimpleField) mapping.getInputField().get(0);
+        DefaultAtlasSession session = new DefaultAtlasSession(AtlasModelFactory.createAtlasMapping());
+        CompiledPath template = session.getCompiledPath(input);
+        CollectionMappingCursor cursor = new CollectionMappingCursor(session, mapping);
+
+        cursor.bind(3);
+        CompiledPath bound = session.getCompiledPath(input);
+        assertEquals("/customer/orders<3>/id", bound.getOriginalPath());
+        assertEquals(bound.getOriginalPath(), input.getPath());
+        assertEquals(Integer.valueOf(3), bound.getSegment(1).getIndex());
+        assertSame(template.getSegment(0), bound.getSegment(0));
+
+        cursor.bind(4);
+        assertEquals(Integer.valueOf(4), session.getCompiledPath(input).getSegment(1).getIndex());
+
+        cursor.restore();
+        assertSame(template, session.getCompiledPath(input));
+    }
+
+    private Mapping createMapping(String inputPath, String outputPath) {
+        Mapping mapping = AtlasModelFactory.createMapping(MappingType.MAP);
+        SimpleField input = new SimpleField();
+        input.setPath(inputPath);
+        input.setFieldType(FieldType.STRING);
+        mapping.getInputField().add(input);
+        SimpleField output = new SimpleField();
+        output.setPath(outputPath);
+        mapping.getOutputField().add(output);
+        return mapping;
+    }
+}
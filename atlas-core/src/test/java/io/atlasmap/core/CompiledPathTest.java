@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import io.atlasmap.core.CompiledPath.Segment;
+import io.atlasmap.core.PathUtil.SegmentContext;
+import io.atlasmap.v2.CollectionType;
+
+public class CompiledPathTest {
+
+    @Test
+    public void testCompileIsInterned() {
+        String path = "/orders<>/address/city";
+        assertSame(CompiledPath.compile(path), CompiledPath.compile(new String(path)));
+        assertFalse(CompiledPath.compile(path).isIndexed());
+        assertEquals(0, CompiledPath.compile(null).getSegmentCount());
+        assertEquals(0, CompiledPath.compile("").getSegmentCount());
+    }
+
+    @Test
+    public void testIndexedPathIsNotInterned() {
+        CompiledPath.compile("/contact<>/firstName");
+        int interned = CompiledPath.getInternedCount();
+        for (int i = 0; i < 100; i++) {
+            CompiledPath path = CompiledPath.compile("/contact[" + i + "]/firstName");
+            assertTrue(path.isIndexed());
+            assertEquals(Integer.valueOf(i), path.getSegment(0).getIndex());
+        }
+        String path = "/contact[12345]/firstName";
+        assertNotSame(CompiledPath.compile(path), CompiledPath.compile(path));
+        assertEquals(interned, CompiledPath.getInternedCount());
+        assertSame(CompiledPath.compile("/contact<>/firstName"), CompiledPath.compile("/contact<>/firstName"));
+    }
+
+    @Test
+    public void testSegments() {
+        CompiledPath path = CompiledPath.compile("/xt1:XmlOA/xt1:orders[2]/contact<>/@xt1:firstName");
+        assertEquals(4, path.getSegmentCount());
+        assertTrue(path.hasCollection());
+        assertEquals("/xt1:XmlOA/xt1:orders[]/contact<>/@xt1:firstName", path.getNormalizedPath());
+
+        Segment orders = path.getSegment(1);
+        assertEquals("xt1:orders[2]", orders.getExpression());
+        assertEquals("/xt1:XmlOA/xt1:orders[2]", orders.getSegmentPath());
+        assertEquals("orders", orders.getName());
+        assertEquals("xt1:orders", orders.getUnindexedName());
+        assertEquals("xt1", orders.getPrefix());
+        assertEquals("xt1:orders", orders.getQualifiedName());
+        assertEquals(CollectionType.ARRAY, orders.getCollectionType());
+        assertEquals(Integer.valueOf(2), orders.getIndex());
+        assertFalse(orders.isAttribute());
+
+        Segment contact = path.getSegment(2);
+        assertEquals(CollectionType.LIST, contact.getCollectionType());
+        assertNull(contact.getIndex());
+        assertNull(contact.getPrefix());
+        assertEquals("contact", contact.getQualifiedName());
+
+        Segment firstName = path.getLastSegment();
+        assertTrue(firstName.isAttribute());
+        assertTrue(firstName.isNamespaced());
+        assertEquals("firstName", firstName.getName());
+        assertEquals(CollectionType.NONE, firstName.getCollectionType());
+    }
+
+    @Test
+    public void testSegmentContextsMatchPathUtil() {
+        String path = "/orders<1>/address/city";
+        for (boolean rooted : new boolean[] {false, true}) {
+            List<SegmentContext> expected = new PathUtil(path).getSegmentContexts(rooted);
+            List<SegmentContext> actual = CompiledPath.compile(path).getSegmentContexts(rooted);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).toString(), actual.get(i).toString());
+                assertEquals(expected.get(i).hasParent(), actual.get(i).hasParent());
+                assertEquals(expected.get(i).hasChild(), actual.get(i).hasChild());
+            }
+        }
+        SegmentContext orders = CompiledPath.compile(path).getSegmentContexts(true).get(1);
+        assertEquals(Integer.valueOf(1), orders.getCompiledSegment().getIndex());
+    }
+
+    @Test
+    public void testBindCollectionIndexMatchesPathUtil() {
+        String[] paths = new String[] {"/orders<>/address/city", "/contacts[]/name", "/foo/bar", "/map{}/key",
+            "/xt1:XmlOA/xt1:orders[3]/@id"};
+        for (String path : paths) {
+            assertEquals(PathUtil.overwriteCollectionIndex(path, 7),
+                    CompiledPath.compile(path).bindCollectionIndex(7));
+        }
+    }
+
+    @Test
+    public void testBindMatchesParsedPath() {
+        String[] paths = new String[] {"/orders<>/address/city", "/contacts[]/name", "/map{}/key",
+            "/xt1:XmlOA/xt1:orders[3]/@id", "/a/b<>/c[]/xt1:d"};
+        for (String path : paths) {
+            CompiledPath template = CompiledPath.compile(path);
+            CompiledPath bound = template.bind(7);
+            CompiledPath parsed = CompiledPath.compile(template.bindCollectionIndex(7));
+            assertEquals(parsed.getOriginalPath(), bound.getOriginalPath());
+            assertEquals(parsed.getNormalizedPath(), bound.getNormalizedPath());
+            assertEquals(parsed.getSegmentCount(), bound.getSegmentCount());
+            for (int i = 0; i < parsed.getSegmentCount(); i++) {
+                Segment expected = parsed.getSegment(i);
+                Segment actual = bound.getSegment(i);
+                assertEquals(expected.getExpression(), actual.getExpression());
+                assertEquals(expected.getSegmentPath(), actual.getSegmentPath());
+                assertEquals(expected.getName(), actual.getName());
+                assertEquals(expected.getUnindexedName(), actual.getUnindexedName());
+                assertEquals(expected.getPrefix(), actual.getPrefix());
+                assertEquals(expected.getQualifiedName(), actual.getQualifiedName());
+                assertEquals(expected.isAttribute(), actual.isAttribute());
+                assertEquals(expected.getCollectionType(), actual.getCollectionType());
+                assertEquals(expected.getIndex(), actual.getIndex());
+            }
+            List<SegmentContext> expectedContexts = parsed.getSegmentContexts(true);
+            List<SegmentContext> actualContexts = bound.getSegmentContexts(true);
+            assertEquals(expectedContexts.size(), actualContexts.size());
+            for (int i = 0; i < expectedContexts.size(); i++) {
+                assertEquals(expectedContexts.get(i).getSegment(), actualContexts.get(i).getSegment());
+                assertEquals(expectedContexts.get(i).getSegmentPath(), actualContexts.get(i).getSegmentPath());
+            }
+        }
+        CompiledPath plain = CompiledPath.compile("/foo/bar");
+        assertSame(plain, plain.bind(7));
+        CompiledPath template = CompiledPath.compile("/orders<>/address/city");
+        assertSame(template.getSegment(1).getName(), template.bind(1).getSegment(1).getName());
+        assertSame(template.getSegmentContexts(false), template.getSegmentContexts(false));
+    }
+}
@@ -15,13 +15,52 @@
  */
 package io.atlasmap.core;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.ObjectName;
+
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import io.atlasmap.api.AtlasFailFastPolicy;
+import io.atlasmap.api.AtlasProcessPhase;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.AtlasProcessListener;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.CollectionType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldStatus;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.SimpleField;
+import io.atlasmap.v2.Validation;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 
 public class DefaultAtlasContextFactoryTest {
 
@@ -124,4 +163,331 @@ public class DefaultAtlasContextFactoryTest {
         assertNotNull(factory.getModules());
         assertEquals(new Integer(0), new Integer(factory.getModules().size()));
     }
+
+    @Test
+    public void testCreateContextCached() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setContextCacheMaxSize(10);
+
+        AtlasMapping mapping = AtlasTestData.generateAtlasMapping();
+        DefaultAtlasContext first = (DefaultAtlasContext) factory.createContext(mapping);
+        DefaultAtlasContext second = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        assertSame(first, second);
+        assertEquals(1, factory.getContextCacheSize());
+
+        mapping.setName("changed");
+        DefaultAtlasContext changed = (DefaultAtlasContext) factory.createContext(mapping);
+        assertNotSame(first, changed);
+        assertEquals(2, factory.getContextCacheSize());
+
+        factory.setSessionPoolSize(1);
+        assertEquals(0, factory.getContextCacheSize());
+        DefaultAtlasContext pooled = (DefaultAtlasContext) factory.createContext(mapping);
+        assertNotSame(changed, pooled);
+        assertEquals(1, pooled.getSessionPoolSize());
+
+        factory.destroy();
+    }
+
+    @Test
+    public void testContextCacheEvictionUnregistersJmx() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setContextCacheMaxSize(1);
+
+        AtlasMapping mapping = AtlasTestData.generateAtlasMapping();
+        DefaultAtlasContext first = (DefaultAtlasContext) factory.createContext(mapping);
+        ObjectName firstName = first.getJmxObjectName();
+        assertNotNull(firstName);
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(firstName));
+
+        mapping.setName("evicting");
+        DefaultAtlasContext second = (DefaultAtlasContext) factory.createContext(mapping);
+        assertNotSame(first, second);
+        assertEquals(1, factory.getContextCacheSize());
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(firstName));
+        assertNotNull(first.createSession());
+
+        ObjectName secondName = second.getJmxObjectName();
+        factory.destroy();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(secondName));
+    }
+
+    @Test
+    public void testContextCacheDisabled() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        assertEquals(0, factory.getContextCacheMaxSize());
+
+        AtlasMapping mapping = AtlasTestData.generateAtlasMapping();
+        assertNotSame(factory.createContext(mapping), factory.createContext(mapping));
+        assertEquals(0, factory.getContextCacheSize());
+        factory.destroy();
+    }
+
+    @Test
+    public void testValidationCachedPerPlan() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        AtomicInteger validationCount = new AtomicInteger();
+        factory.setValidationService(new DefaultAtlasValidationService() {
+            @Override
+            public List<Validation> validateMapping(AtlasMapping mapping) {
+                validationCount.incrementAndGet();
+                return super.validateMapping(mapping);
+            }
+        });
+
+        DefaultAtlasContext context = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        AtlasSession first = context.createSession();
+        context.processValidation(first);
+        AtlasSession second = context.createSession();
+        context.processValidation(second);
+        assertEquals(1, validationCount.get());
+        List<Validation> firstValidations = first.getValidations().getValidation();
+        List<Validation> secondValidations = second.getValidations().getValidation();
+        assertEquals(firstValidations.size(), secondValidations.size());
+        for (int i = 0; i < secondValidations.size(); i++) {
+            assertNotSame(firstValidations.get(i), secondValidations.get(i));
+            assertEquals(firstValidations.get(i).getMessage(), secondValidations.get(i).getMessage());
+        }
+
+        AtlasMapping changed = AtlasTestData.generateAtlasMapping();
+        changed.setName("changed");
+        context.setMappingPlan(AtlasMappingPlan.compile(changed));
+        context.processValidation(context.createSession());
+        assertEquals(2, validationCount.get());
+        factory.destroy();
+    }
+
+    @Test
+    public void testFailFastAfterValidation() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setFailFastPolicy(AtlasFailFastPolicy.VALIDATION);
+
+        DefaultAtlasContext context = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        assertEquals(AtlasFailFastPolicy.VALIDATION, context.getFailFastPolicy());
+        AtlasSession session = context.createSession();
+        Audit audit = new Audit();
+        audit.setStatus(AuditStatus.ERROR);
+        session.getAudits().getAudit().add(audit);
+
+        // no modules are loaded, so anything past validation would fail
+        context.process(session);
+        assertEquals(AtlasProcessPhase.VALIDATION, session.getAbortedPhase());
+        assertNull(session.getOutput());
+
+        context.setFailFastPolicy(AtlasFailFastPolicy.NONE);
+        assertEquals(AtlasFailFastPolicy.NONE, context.getFailFastPolicy());
+        factory.destroy();
+    }
+
+    @Test
+    public void testSessionPool() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setSessionPoolSize(1);
+
+        DefaultAtlasContext context = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        assertEquals(1, context.getSessionPoolSize());
+        AtlasSession first = context.createSession();
+        AtlasSession second = context.createSession();
+        assertNotSame(first, second);
+        assertNotNull(first.getProperties().get("Atlas.CreatedDateTimeTZ"));
+
+        first.setInput("input");
+        context.releaseSession(first);
+        context.releaseSession(second);
+        AtlasSession recycled = context.createSession();
+        assertSame(first, recycled);
+        assertNull(recycled.getInput());
+        assertNotNull(recycled.getProperties().get("Atlas.CreatedDateTimeTZ"));
+        assertNotSame(first, context.createSession());
+
+        context.setSessionPoolSize(0);
+        context.releaseSession(recycled);
+        assertNotSame(recycled, context.createSession());
+        factory.destroy();
+    }
+
+    @Test
+    public void testSessionPoolRestoresFieldState() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setSessionPoolSize(1);
+        factory.setFailFastPolicy(AtlasFailFastPolicy.NONE);
+
+        AtlasMapping definition = AtlasTestData.generateAtlasMapping();
+        Mapping mapping = AtlasModelFactory.createMapping(MappingType.MAP);
+        SimpleField inputField = new SimpleField();
+        inputField.setPath("/value");
+        inputField.setDocId("source");
+        mapping.getInputField().add(inputField);
+        SimpleField outputField = new SimpleField();
+        outputField.setPath("/value");
+        mapping.getOutputField().add(outputField);
+        definition.getMappings().getMapping().add(mapping);
+        DefaultAtlasContext context = (DefaultAtlasContext) factory.createContext(definition);
+
+        // reads like the json reader, an array sets the collection type the scalar read doesn't touch
+        AtlasModule source = mock(AtlasModule.class);
+        doAnswer(invocation -> {
+            AtlasSession session = invocation.getArgument(0);
+            Field field = ((Mapping) invocation.getArgument(1)).getInputField().get(0);
+            Object input = session.getInput();
+            field.setValue(input.toString());
+            if (input instanceof List) {
+                field.setFieldType(FieldType.COMPLEX);
+                field.setCollectionType(CollectionType.ARRAY);
+                field.setArraySize(((List<?>) input).size());
+                field.setStatus(FieldStatus.SUPPORTED);
+                field.setDocId("array");
+            } else {
+                field.setFieldType(FieldType.STRING);
+            }
+            return null;
+        }).when(source).processInputMapping(any(AtlasSession.class), any(BaseMapping.class));
+        context.setSourceModule(source);
+        context.setTargetModule(mock(AtlasModule.class));
+
+        AtlasSession first = context.createSession();
+        first.setInput(Arrays.asList("a", "b"));
+        context.process(first);
+        Field firstField = ((Mapping) first.getMapping().getMappings().getMapping().get(0)).getInputField().get(0);
+        assertEquals(CollectionType.ARRAY, firstField.getCollectionType());
+        context.releaseSession(first);
+
+        AtlasSession second = context.createSession();
+        assertSame(first, second);
+        Field field = ((Mapping) second.getMapping().getMappings().getMapping().get(0)).getInputField().get(0);
+        assertSame(firstField, field);
+        assertNull(field.getValue());
+        assertNull(field.getCollectionType());
+        assertNull(field.getArraySize());
+        assertNull(field.getStatus());
+        assertEquals("source", field.getDocId());
+
+        second.setInput("scalar");
+        context.process(second);
+        assertEquals("scalar", field.getValue());
+        assertEquals(FieldType.STRING, field.getFieldType());
+        assertNull(field.getCollectionType());
+        assertEquals("source", field.getDocId());
+        factory.destroy();
+    }
+
+    @Test
+    public void testProcessAsyncCompletesOnError() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+
+        DefaultAtlasContext context = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        AtlasModule module = mock(AtlasModule.class);
+        Error failure = new Error("module failure");
+        doThrow(failure).when(module).processPreValidation(any(AtlasSession.class));
+        context.setSourceModule(module);
+
+        CompletableFuture<AtlasSession> future = context.processAsync(context.createSession(), Runnable::run);
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+        factory.destroy();
+    }
+
+    @Test
+    public void testProcessListener() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setFailFastPolicy(AtlasFailFastPolicy.VALIDATION);
+        List<String> events = new ArrayList<>();
+        AtlasProcessListener listener = new AtlasProcessListener() {
+            @Override
+            public void beginProcess(AtlasSession session) {
+                events.add("beginProcess");
+            }
+
+            @Override
+            public void endProcess(AtlasSession session, Throwable failure) {
+                events.add("endProcess:" + failure);
+            }
+
+            @Override
+            public void beginPhase(AtlasSession session, AtlasProcessPhase phase) {
+                events.add("begin:" + phase.value());
+            }
+
+            @Override
+            public void endPhase(AtlasSession session, AtlasProcessPhase phase) {
+                events.add("end:" + phase.value());
+                throw new IllegalStateException("ignored");
+            }
+        };
+        factory.addProcessListener(listener);
+        assertTrue(factory.getProcessListeners().contains(listener));
+
+        DefaultAtlasContext context = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        AtlasSession session = context.createSession();
+        Audit audit = new Audit();
+        audit.setStatus(AuditStatus.ERROR);
+        session.getAudits().getAudit().add(audit);
+        context.process(session);
+        assertEquals(AtlasProcessPhase.VALIDATION, session.getAbortedPhase());
+        assertEquals("[beginProcess, begin:validation, end:validation, endProcess:null]", events.toString());
+
+        factory.removeProcessListener(listener);
+        assertFalse(factory.getProcessListeners().contains(listener));
+        events.clear();
+        session = context.createSession();
+        session.getAudits().getAudit().add(audit);
+        context.process(session);
+        assertTrue(events.isEmpty());
+        factory.destroy();
+    }
+
+    @Test
+    public void testProcessListenerRegisteredDuringProcess() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setFailFastPolicy(AtlasFailFastPolicy.VALIDATION);
+        List<String> events = new ArrayList<>();
+        AtlasProcessListener late = new AtlasProcessListener() {
+            @Override
+            public void beginPhase(AtlasSession session, AtlasProcessPhase phase) {
+                events.add("begin:" + phase.value());
+            }
+
+            @Override
+            public void endProcess(AtlasSession session, Throwable failure) {
+                events.add("endProcess");
+            }
+        };
+        AtlasProcessListener registering = new AtlasProcessListener() {
+            @Override
+            public void beginProcess(AtlasSession session) {
+                factory.addProcessListener(late);
+            }
+        };
+        factory.addProcessListener(registering);
+
+        DefaultAtlasContext context = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        AtlasSession session = context.createSession();
+        Audit audit = new Audit();
+        audit.setStatus(AuditStatus.ERROR);
+        session.getAudits().getAudit().add(audit);
+        context.process(session);
+        assertTrue(events.isEmpty());
+
+        factory.removeProcessListener(registering);
+        session = context.createSession();
+        session.getAudits().getAudit().add(audit);
+        context.process(session);
+        assertEquals("[begin:validation, endProcess]", events.toString());
+        factory.destroy();
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.atlasmap.core;
 
+import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasConverter;
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
@@ -82,6 +83,19 @@ public class DefaultAtlasConversionServiceTest {
         assertFalse(f);
     }
 
+    @Test
+    public void convertTypeUsesConverterMatrix() throws Exception {
+        assertEquals(Boolean.TRUE, service.convertType("T", FieldType.STRING, FieldType.BOOLEAN));
+        assertEquals(Boolean.FALSE, service.convertType("F", null, FieldType.BOOLEAN));
+        assertSame(service.findMatchingConverter(FieldType.STRING, FieldType.BOOLEAN).get(),
+                service.findMatchingConverter(FieldType.STRING, FieldType.BOOLEAN).get());
+    }
+
+    @Test(expected = AtlasConversionException.class)
+    public void convertTypeNoMatchingConverter() throws Exception {
+        service.convertType("foo", FieldType.STRING, FieldType.COMPLEX);
+    }
+
     @Test
     public void findMatchingConverterByFieldTypesCustomConverter() throws Exception {
         assertNotNull(service);
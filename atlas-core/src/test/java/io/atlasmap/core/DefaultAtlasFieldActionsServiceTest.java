@@ -7,9 +7,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import io.atlasmap.v2.ActionDetail;
+import io.atlasmap.v2.FieldType;
 import io.atlasmap.v2.Property;
+import io.atlasmap.v2.Uppercase;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class DefaultAtlasFieldActionsServiceTest {
@@ -48,4 +52,18 @@ public class DefaultAtlasFieldActionsServiceTest {
             }
         }
     }
+
+    @Test
+    public void testProcessActionWithBoundHandle() throws Exception {
+        ActionDetail detail = fieldActionsService.findActionDetail("Uppercase", FieldType.STRING);
+        assertNotNull(detail);
+        assertEquals(FieldType.STRING, detail.getSourceType());
+        assertEquals("FOO", fieldActionsService.processAction(new Uppercase(), detail, "foo"));
+        assertNull(fieldActionsService.processAction(new Uppercase(), detail, null));
+    }
+
+    @Test
+    public void testFindActionDetailUnknown() {
+        assertNull(fieldActionsService.findActionDetail("NotAnAction", FieldType.STRING));
+    }
 }
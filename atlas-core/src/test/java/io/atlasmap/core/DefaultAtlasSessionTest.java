@@ -6,9 +6,14 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.SimpleField;
 import io.atlasmap.v2.Validation;
 import io.atlasmap.v2.ValidationScope;
 import io.atlasmap.v2.Validations;
@@ -179,6 +184,42 @@ public class DefaultAtlasSessionTest {
         assertFalse(session.hasWarns());
     }
 
+    @Test
+    public void testInputCacheInvalidatedOnSetInput() {
+        session.setInput("defaultInput");
+        session.setInput("docInput", "docId");
+        session.getInputCache().put(AtlasConstants.DEFAULT_SOURCE_DOC_ID, "parsedDefault");
+        session.getInputCache().put("docId", "parsedDoc");
+
+        session.setInput("otherInput", "docId");
+        assertNull(session.getInputCache().get("docId"));
+        assertEquals("parsedDefault", session.getInputCache().get(AtlasConstants.DEFAULT_SOURCE_DOC_ID));
+
+        session.setInput("otherDefault");
+        assertTrue(session.getInputCache().isEmpty());
+    }
+
+    @Test
+    public void testForkForInput() {
+        session.setInput("defaultInput");
+        session.setInput("docInput", null);
+        session.getInputCache().put(AtlasConstants.DEFAULT_SOURCE_DOC_ID, "parsedDefault");
+        session.getProperties().put("key", "value");
+
+        DefaultAtlasSession fork = session.forkForInput();
+        assertEquals("defaultInput", fork.getInput());
+        assertEquals("parsedDefault", fork.getInputCache().get(AtlasConstants.DEFAULT_SOURCE_DOC_ID));
+        assertEquals("value", fork.getProperties().get("key"));
+        fork.getInputCache().put("docId", "parsedDoc");
+        assertEquals("parsedDoc", session.getInputCache().get("docId"));
+
+        Audit error = new Audit();
+        error.setStatus(AuditStatus.ERROR);
+        fork.getAudits().getAudit().add(error);
+        assertTrue(fork.hasErrors());
+        assertFalse(session.hasErrors());
+    }
+
     @Test
     public void testAuditWarns() {
         assertTrue(session.errorCount() == 0);
@@ -196,4 +237,32 @@ public class DefaultAtlasSessionTest {
         assertTrue(session.hasWarns());
     }
 
+
+    @Test
+    public void testReset() throws Exception {
+        Mapping mapping = AtlasModelFactory.createMapping(MappingType.MAP);
+        SimpleField inputField = new SimpleField();
+        inputField.setPath("/foo");
+        mapping.getInputField().add(inputField);
+        session.getMapping().getMappings().getMapping().add(mapping);
+        session.captureMappingState();
+
+        session.setInput("input");
+        session.setOutput("output");
+        session.getProperties().put("key", "value");
+        session.getAudits().getAudit().add(new Audit());
+        session.getValidations().getValidation().add(new Validation());
+        inputField.setValue("read");
+        mapping.getInputField().add(new SimpleField());
+
+        session.reset();
+        assertNull(session.getInput());
+        assertNull(session.getOutput());
+        assertTrue(session.getProperties().isEmpty());
+        assertTrue(session.getAudits().getAudit().isEmpty());
+        assertTrue(session.getValidations().getValidation().isEmpty());
+        assertEquals(1, mapping.getInputField().size());
+        assertNull(inputField.getValue());
+        assertEquals("/foo", inputField.getPath());
+    }
 }
@@ -0,0 +1,123 @@
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.LookupEntry;
+import io.atlasmap.v2.LookupTable;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.SimpleField;
+
+public class LookupTableIndexTest {
+
+    @Test
+    public void testCompile() throws Exception {
+        LookupTable table = createTable("codes");
+        table.getLookupEntry().add(createEntry("A", "1", FieldType.INTEGER));
+        table.getLookupEntry().add(createEntry("B", "Bravo", null));
+        table.getLookupEntry().add(createEntry("A", "2", FieldType.INTEGER));
+
+        LookupTableIndex index = LookupTableIndex.compile(table, DefaultAtlasConversionService.getInstance());
+        assertEquals("codes", index.getName());
+        assertEquals(2, index.size());
+        // first entry wins and the target value is converted up front
+        assertEquals(Integer.valueOf(1), index.get("A").getTargetValue());
+        assertEquals(FieldType.INTEGER, index.get("A").getTargetType());
+        assertEquals("Bravo", index.get("B").getTargetValue());
+        assertNull(index.get("C"));
+        assertNull(index.get(null));
+    }
+
+    @Test
+    public void testConversionErrorReportedOnUse() throws Exception {
+        LookupTable table = createTable("codes");
+        table.getLookupEntry().add(createEntry("A", "not-a-number", FieldType.INTEGER));
+
+        LookupTableIndex index = LookupTableIndex.compile(table, DefaultAtlasConversionService.getInstance());
+        try {
+            index.get("A").getTargetValue();
+            fail("AtlasConversionException expected");
+        } catch (AtlasConversionException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPlanSharesIndex() throws Exception {
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        LookupTable table = createTable("codes");
+        table.getLookupEntry().add(createEntry("A", "Alpha", FieldType.STRING));
+        mapping.getLookupTables().getLookupTable().add(table);
+
+        AtlasMappingPlan plan = AtlasMappingPlan.compile(mapping);
+        LookupTableIndex index = plan.getLookupTableIndex("codes", DefaultAtlasConversionService.getInstance());
+        assertNotNull(index);
+        assertSame(index, plan.getLookupTableIndex("codes", DefaultAtlasConversionService.getInstance()));
+        assertNull(plan.getLookupTableIndex("missing", DefaultAtlasConversionService.getInstance()));
+
+        DefaultAtlasSession session = new DefaultAtlasSession(plan.createSessionMapping());
+        assertNotSame(index, LookupTableIndex.forSession(session, "codes", DefaultAtlasConversionService.getInstance()));
+        session.setMappingPlan(plan);
+        assertSame(index, LookupTableIndex.forSession(session, "codes", DefaultAtlasConversionService.getInstance()));
+
+        // target values are converted with the service, so another service gets its own index
+        DefaultAtlasConversionService other = spy(DefaultAtlasConversionService.getInstance());
+        assertNotSame(index, plan.getLookupTableIndex("codes", other));
+        assertSame(plan.getLookupTableIndex("codes", other), plan.getLookupTableIndex("codes", other));
+    }
+
+    @Test
+    public void testLookupFieldKeepsRawTargetValue() throws Exception {
+        AtlasMapping definition = AtlasModelFactory.createAtlasMapping();
+        LookupTable table = createTable("codes");
+        table.getLookupEntry().add(createEntry("A", "1", FieldType.INTEGER));
+        definition.getLookupTables().getLookupTable().add(table);
+        DefaultAtlasSession session = new DefaultAtlasSession(definition);
+        session.setAudits(new Audits());
+
+        Mapping mapping = new Mapping();
+        mapping.setMappingType(MappingType.MAP);
+        mapping.setLookupTableName("codes");
+        Field inputField = new SimpleField();
+        inputField.setFieldType(FieldType.STRING);
+        inputField.setValue("A");
+        mapping.getInputField().add(inputField);
+        mapping.getOutputField().add(new SimpleField());
+
+        BaseAtlasModule module = spy(BaseAtlasModule.class);
+        when(module.getConversionService()).thenReturn(DefaultAtlasConversionService.getInstance());
+        module.processLookupField(session, mapping);
+        assertEquals("1", inputField.getValue());
+        assertEquals(FieldType.STRING, inputField.getFieldType());
+    }
+
+    private LookupTable createTable(String name) {
+        LookupTable table = new LookupTable();
+        table.setName(name);
+        return table;
+    }
+
+    private LookupEntry createEntry(String sourceValue, String targetValue, FieldType targetType) {
+        LookupEntry entry = new LookupEntry();
+        entry.setSourceValue(sourceValue);
+        entry.setSourceType(FieldType.STRING);
+        entry.setTargetValue(targetValue);
+        entry.setTargetType(targetType);
+        return entry;
+    }
+}
@@ -3,6 +3,8 @@ package io.atlasmap.core;
 import java.io.File;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -74,6 +76,48 @@ public class AtlasMappingServiceTest {
                 .createContext(new File(url.toURI()), AtlasMappingFormat.JSON).createSession().getMapping());
     }
 
+    @Test
+    public void testMappingPlanCache() throws Exception {
+        URL url = Thread.currentThread().getContextClassLoader().getResource("mappings/atlasmapping.xml");
+        File copy = new File("target/cached-atlasmapping.xml");
+        Files.copy(new File(url.toURI()).toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        // file system notifications are asynchronous, check the file on every load instead
+        mappingService.setCacheWatchEnabled(false);
+
+        AtlasMappingPlan first = mappingService.loadMappingPlan(copy.toURI(), AtlasMappingFormat.XML);
+        AtlasMappingPlan second = mappingService.loadMappingPlan(copy.toURI(), AtlasMappingFormat.XML);
+        Assert.assertSame(first, second);
+        assertAtlasMapping(first.createSessionMapping());
+        Assert.assertNotSame(first.createSessionMapping(), second.createSessionMapping());
+
+        AtlasMapping changed = first.createSessionMapping();
+        changed.setName("core-unit-test-changed");
+        mappingService.saveMappingAsFile(changed, copy, AtlasMappingFormat.XML);
+        copy.setLastModified(System.currentTimeMillis() + 2000);
+        AtlasMappingPlan third = mappingService.loadMappingPlan(copy.toURI(), AtlasMappingFormat.XML);
+        Assert.assertNotSame(first, third);
+        Assert.assertEquals("core-unit-test-changed", third.getMappingName());
+
+        mappingService.invalidateCache(copy.toURI());
+        Assert.assertNotSame(third, mappingService.loadMappingPlan(copy.toURI(), AtlasMappingFormat.XML));
+        mappingService.setCacheWatchEnabled(true);
+    }
+
+    @Test
+    public void testWatchedMappingPlan() throws Exception {
+        URL url = Thread.currentThread().getContextClassLoader().getResource("mappings/atlasmapping.xml");
+        File copy = new File("target/watched-atlasmapping.xml");
+        Files.copy(new File(url.toURI()).toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Assert.assertTrue(mappingService.isCacheWatchEnabled());
+
+        AtlasMappingPlan plan = mappingService.loadMappingPlan(copy.toURI(), AtlasMappingFormat.XML);
+        Assert.assertTrue(mappingService.isWatchedMappingPlan(copy.toURI(), AtlasMappingFormat.XML, plan));
+        Assert.assertFalse(mappingService.isWatchedMappingPlan(copy.toURI(), AtlasMappingFormat.JSON, plan));
+
+        mappingService.invalidateCache(copy.toURI());
+        Assert.assertFalse(mappingService.isWatchedMappingPlan(copy.toURI(), AtlasMappingFormat.XML, plan));
+    }
+
     private void assertAtlasMapping(AtlasMapping mapping) throws Exception {
         Assert.assertNotNull(mapping);
         Assert.assertEquals("core-unit-test", mapping.getName());
@@ -2,11 +2,29 @@ package io.atlasmap.reference.json_to_json;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.junit.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContextFactory;
 import io.atlasmap.reference.AtlasMappingBaseTest;
 
 public class JsonJsonCollectionConversionTest extends AtlasMappingBaseTest {
@@ -42,6 +60,126 @@ public class JsonJsonCollectionConversionTest extends AtlasMappingBaseTest {
         assertEquals(output, (String) object);
     }
 
+    @Test
+    public void testProcessCollectionListSimpleToOutputSink() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        String input = "{ \"contact\": [{ \"firstName\": \"name0\"}, { \"firstName\": \"name1\"}] }";
+        String output = "{\"contact\":[{\"name\":\"name0\"},{\"name\":\"name1\"}]}";
+
+        AtlasSession session = context.createSession();
+        session.setInput(input);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        session.setOutputSink(out);
+        context.process(session);
+        assertSame(out, session.getOutput());
+        assertEquals(output, new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        session = context.createSession();
+        session.setInput(input);
+        StringWriter writer = new StringWriter();
+        session.setOutputSink(writer);
+        context.process(session);
+        assertSame(writer, session.getOutput());
+        assertEquals(output, writer.toString());
+    }
+
+    @Test
+    public void testProcessCollectionListSimpleFromParsedAndBinaryInput() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        String input = "{ \"contact\": [{ \"firstName\": \"name0\"}, { \"firstName\": \"name1\"}] }";
+        String output = "{\"contact\":[{\"name\":\"name0\"},{\"name\":\"name1\"}]}";
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        Object[] inputs = new Object[] {bytes, ByteBuffer.wrap(bytes), new ByteArrayInputStream(bytes),
+            new StringReader(input), new ObjectMapper().readTree(input)};
+
+        for (Object in : inputs) {
+            AtlasSession session = context.createSession();
+            session.setInput(in);
+            context.process(session);
+            assertEquals(in.getClass().getName(), output, session.getOutput());
+        }
+    }
+
+    @Test
+    public void testProcessCollectionListParallel() throws Exception {
+        DefaultAtlasContextFactory factory = (DefaultAtlasContextFactory) atlasContextFactory;
+        AtlasContext context = factory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        StringBuilder input = new StringBuilder("{ \"contact\": [");
+        StringBuilder output = new StringBuilder("{\"contact\":[");
+        for (int i = 0; i < 500; i++) {
+            input.append(i == 0 ? "" : ",").append("{ \"firstName\": \"name" + i + "\"}");
+            output.append(i == 0 ? "" : ",").append("{\"name\":\"name" + i + "\"}");
+        }
+        input.append("] }");
+        output.append("]}");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        factory.setCollectionPool(pool);
+        factory.setParallelCollectionThreshold(10);
+        try {
+            AtlasSession session = context.createSession();
+            session.setInput(input.toString());
+            context.process(session);
+            assertEquals(output.toString(), session.getOutput());
+        } finally {
+            factory.setParallelCollectionThreshold(0);
+            factory.setCollectionPool(null);
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testProcessBatch() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        List<String> inputs = Arrays.asList("{ \"contact\": [{ \"firstName\": \"name0\"}] }",
+                "{ \"contact\": [{ \"firstName\": \"name1\"}, { \"firstName\": \"name2\"}] }", "{ \"contact\": [");
+
+        List<AtlasSession> sessions = context.processBatch(inputs).collect(Collectors.toList());
+        assertEquals(3, sessions.size());
+        assertEquals("{\"contact\":[{\"name\":\"name0\"}]}", sessions.get(0).getOutput());
+        assertEquals("{\"contact\":[{\"name\":\"name1\"},{\"name\":\"name2\"}]}", sessions.get(1).getOutput());
+        assertTrue(sessions.get(2).hasErrors());
+
+        List<Object> outputs = context.processBatch(inputs.subList(0, 2).spliterator(), true)
+                .map(AtlasSession::getOutput).collect(Collectors.toList());
+        assertEquals(sessions.get(0).getOutput(), outputs.get(0));
+        assertEquals(sessions.get(1).getOutput(), outputs.get(1));
+    }
+
+    @Test
+    public void testProcessAsync() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        AtlasSession session = context.createSession();
+        session.setInput("{ \"contact\": [{ \"firstName\": \"name0\"}] }");
+        assertSame(session, context.processAsync(session).get(10, TimeUnit.SECONDS));
+        assertEquals("{\"contact\":[{\"name\":\"name0\"}]}", session.getOutput());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<String> inputs = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                inputs.add("{ \"contact\": [{ \"firstName\": \"name" + i + "\"}] }");
+            }
+            ConcurrentLinkedQueue<Object> outputs = new ConcurrentLinkedQueue<>();
+            context.processBatchAsync(inputs.iterator(), executor, 3, s -> outputs.add(s.getOutput()))
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(20, outputs.size());
+            assertTrue(outputs.contains("{\"contact\":[{\"name\":\"name19\"}]}"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testProcessCollectionArraySimple() throws Exception {
         AtlasContext context = atlasContextFactory.createContext(
@@ -0,0 +1,131 @@
+package io.atlasmap.reference.json_to_json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.json.module.JsonArrayStreamProcessor;
+import io.atlasmap.reference.AtlasMappingBaseTest;
+import io.atlasmap.v2.AuditStatus;
+
+public class JsonJsonStreamingTest extends AtlasMappingBaseTest {
+
+    @Test
+    public void testStreamCollectionListSimple() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        // contact<>.firstName -> contact<>.name
+        AtlasSession session = context.createSession();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = new JsonArrayStreamProcessor().process(session,
+                new ByteArrayInputStream(createContacts(3).getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(3L, count);
+        assertFalse(session.hasErrors());
+        assertEquals(createNames(3), new String(output.toByteArray(), StandardCharsets.UTF_8));
+        assertNull(session.getOutput());
+    }
+
+    @Test
+    public void testStreamMatchesProcess() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-array-simple.xml").toURI());
+
+        AtlasSession session = context.createSession();
+        session.setInput(createContacts(5));
+        context.process(session);
+
+        AtlasSession streamSession = context.createSession();
+        StringWriter output = new StringWriter();
+        new JsonArrayStreamProcessor().process(streamSession, new StringReader(createContacts(5)), output);
+
+        assertEquals(session.getOutput(), output.toString());
+    }
+
+    @Test
+    public void testStreamTopLevelArray() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        String input = "[ { \"firstName\": \"name0\"}, { \"ignored\": true }, { \"firstName\": \"name2\"} ]";
+        JsonArrayStreamProcessor processor = new JsonArrayStreamProcessor();
+        processor.setInputArrayPath("");
+        processor.setOutputArrayPath("");
+        StringWriter output = new StringWriter();
+        long count = processor.process(context.createSession(), new StringReader(input), output);
+
+        assertEquals(3L, count);
+        assertEquals("[{\"name\":\"name0\"},{},{\"name\":\"name2\"}]", output.toString());
+    }
+
+    @Test(expected = AtlasException.class)
+    public void testStreamTopLevelArrayRejectsArrayPath() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        // the mapping reads from /contact<>, which a top-level array doesn't have
+        new JsonArrayStreamProcessor().process(context.createSession(),
+                new StringReader("[ { \"firstName\": \"name0\"} ]"), new StringWriter());
+    }
+
+    @Test
+    public void testStreamConfiguredArrayPath() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        String input = "{ \"header\": { \"contact\": \"skipped\" }, \"export\": { \"count\": 2, \"contact\": "
+                + "[ { \"firstName\": \"name0\"}, { \"firstName\": \"name1\"} ] } }";
+        JsonArrayStreamProcessor processor = new JsonArrayStreamProcessor();
+        processor.setInputArrayPath("/export/contact");
+        StringWriter output = new StringWriter();
+        long count = processor.process(context.createSession(), new StringReader(input), output);
+
+        assertEquals(2L, count);
+        assertEquals(createNames(2), output.toString());
+    }
+
+    @Test
+    public void testStreamMissingArray() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/jsonToJson/atlasmapping-collection-list-simple.xml").toURI());
+
+        AtlasSession session = context.createSession();
+        StringWriter output = new StringWriter();
+        long count = new JsonArrayStreamProcessor().process(session, new StringReader("{ \"other\": [] }"), output);
+
+        assertEquals(0L, count);
+        assertEquals("{\"contact\":[]}", output.toString());
+        assertEquals(AuditStatus.WARN, session.getAudits().getAudit().get(0).getStatus());
+    }
+
+    private String createContacts(int size) {
+        StringBuilder input = new StringBuilder("{ \"contact\": [");
+        for (int i = 0; i < size; i++) {
+            input.append("{ \"firstName\": \"name").append(i).append("\"}");
+            input.append(i == size - 1 ? "" : ",");
+        }
+        return input.append("] }").toString();
+    }
+
+    private String createNames(int size) {
+        StringBuilder output = new StringBuilder("{\"contact\":[");
+        for (int i = 0; i < size; i++) {
+            output.append("{\"name\":\"name").append(i).append("\"}");
+            output.append(i == size - 1 ? "" : ",");
+        }
+        return output.append("]}").toString();
+    }
+}
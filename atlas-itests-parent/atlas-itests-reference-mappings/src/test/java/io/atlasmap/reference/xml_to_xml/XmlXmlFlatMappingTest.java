@@ -15,9 +15,14 @@
  */
 package io.atlasmap.reference.xml_to_xml;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import javax.xml.bind.JAXBElement;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMSource;
 import org.junit.Test;
+import org.w3c.dom.Document;
 import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.reference.AtlasMappingBaseTest;
@@ -54,6 +59,34 @@ public class XmlXmlFlatMappingTest extends AtlasMappingBaseTest {
         AtlasTestUtil.validateXmlFlatPrimitiveElement(xmlFPE.getValue());
     }
 
+    @Test
+    public void testProcessXmlXmlFlatPrimitiveAttributeToElementNSFromParsedAndBinaryInput() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/xmlToXml/atlasmapping-flatprimitive-attributeToElement-ns.xml"));
+
+        String sourceXml = AtlasTestUtil
+                .loadFileAsString("src/test/resources/xmlToXml/atlas-xml-flatprimitive-attribute-ns.xml");
+        byte[] bytes = sourceXml.getBytes(StandardCharsets.UTF_8);
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        Document document = dbf.newDocumentBuilder().parse(new ByteArrayInputStream(bytes));
+        Object[] inputs = new Object[] {bytes, new ByteArrayInputStream(bytes), document, new DOMSource(document)};
+
+        for (Object input : inputs) {
+            AtlasSession session = context.createSession();
+            session.setInput(input);
+            context.process(session);
+
+            Object object = session.getOutput();
+            assertNotNull(object);
+            assertTrue(object instanceof String);
+            @SuppressWarnings("unchecked")
+            JAXBElement<XmlFlatPrimitiveElement> xmlFPE = (JAXBElement<XmlFlatPrimitiveElement>) AtlasXmlTestHelper
+                    .unmarshal((String) object, XmlFlatPrimitiveElement.class);
+            AtlasTestUtil.validateXmlFlatPrimitiveElement(xmlFPE.getValue());
+        }
+    }
+
     @Test
     public void testProcessXmlXmlFlatPrimitiveAttributeToElementNoMappedBoxedFieldsNS() throws Exception {
         AtlasContext context = atlasContextFactory.createContext(
@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.java.inspect;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-class cache of resolved getters and setters. Entries are keyed by method
+ * or field name, so each (class, path segment) pair is only looked up once and
+ * later mappings reuse the {@link JavaAccessor} without reflection or
+ * {@link NoSuchMethodException} handling. The cache lives in a {@link ClassValue}
+ * and therefore doesn't keep the class loader of a mapped class alive.
+ */
+public final class ClassAccessorCache {
+
+    private static final ClassValue<ClassAccessorCache> CACHE = new ClassValue<ClassAccessorCache>() {
+        @Override
+        protected ClassAccessorCache computeValue(Class<?> type) {
+            return new ClassAccessorCache(type);
+        }
+    };
+
+    private final Class<?> type;
+    private volatile List<Class<?>> mappableClasses;
+    private final ConcurrentMap<String, Resolved> getters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Resolved> propertyGetters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<SetterKey, Resolved> setters = new ConcurrentHashMap<>();
+
+    private ClassAccessorCache(Class<?> type) {
+        this.type = type;
+    }
+
+    public static ClassAccessorCache forClass(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * @return the class followed by its superclasses, stopping at the first JDK class
+     */
+    public List<Class<?>> getMappableClasses() {
+        List<Class<?>> classes = mappableClasses;
+        if (classes == null) {
+            classes = new ArrayList<>();
+            classes.add(type);
+            Class<?> superClazz = type.getSuperclass();
+            while (superClazz != null && !JdkPackages.contains(superClazz.getPackage().getName())) {
+                classes.add(superClazz);
+                superClazz = superClazz.getSuperclass();
+            }
+            classes = Collections.unmodifiableList(classes);
+            mappableClasses = classes;
+        }
+        return classes;
+    }
+
+    /**
+     * @param methodName getter method name
+     * @return the no-arg public method with the given name, or null
+     */
+    public JavaAccessor findGetter(String methodName) {
+        return resolveGetter(methodName).accessor;
+    }
+
+    /**
+     * @param fieldName field name as used in a path segment
+     * @return the "get" or "is" getter for the field, or null
+     */
+    public JavaAccessor findPropertyGetter(String fieldName) {
+        Resolved resolved = propertyGetters.get(fieldName);
+        if (resolved == null) {
+            JavaAccessor accessor = null;
+            for (String methodName : ClassHelper.getterMethodNames(fieldName)) {
+                accessor = findGetter(methodName);
+                if (accessor != null) {
+                    break;
+                }
+            }
+            resolved = cache(propertyGetters, fieldName, new Resolved(accessor, null));
+        }
+        return resolved.accessor;
+    }
+
+    /**
+     * @param methodName setter method name
+     * @param paramType expected parameter type, or null to auto-detect from the getter
+     * @return the matching setter, or null
+     */
+    public JavaAccessor findSetter(String methodName, Class<?> paramType) {
+        return resolveSetter(methodName, paramType).accessor;
+    }
+
+    Resolved resolveGetter(String methodName) {
+        Resolved resolved = getters.get(methodName);
+        if (resolved == null) {
+            Method method = ClassHelper.lookupGetterMethod(type, methodName);
+            resolved = cache(getters, methodName, method != null ? new Resolved(JavaAccessor.forGetter(method), null)
+                    : new Resolved(null, String.format("No matching getter method for class=%s method=%s",
+                            type.getName(), methodName)));
+        }
+        return resolved;
+    }
+
+    Resolved resolveSetter(String methodName, Class<?> paramType) {
+        SetterKey key = new SetterKey(methodName, paramType);
+        Resolved resolved = setters.get(key);
+        if (resolved == null) {
+            try {
+                Method method = ClassHelper.lookupSetterMethod(type, methodName, paramType);
+                resolved = new Resolved(JavaAccessor.forSetter(method), null);
+            } catch (NoSuchMethodException e) {
+                resolved = new Resolved(null, e.getMessage());
+            }
+            resolved = cache(setters, key, resolved);
+        }
+        return resolved;
+    }
+
+    private static <K> Resolved cache(ConcurrentMap<K, Resolved> map, K key, Resolved resolved) {
+        Resolved existing = map.putIfAbsent(key, resolved);
+        return existing != null ? existing : resolved;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassAccessorCache [type=" + type.getName() + "]";
+    }
+
+    static final class Resolved {
+        final JavaAccessor accessor;
+        final String failure;
+
+        Resolved(JavaAccessor accessor, String failure) {
+            this.accessor = accessor;
+            this.failure = failure;
+        }
+    }
+
+    private static final class SetterKey {
+        private final String methodName;
+        private final Class<?> paramType;
+
+        SetterKey(String methodName, Class<?> paramType) {
+            this.methodName = methodName;
+            this.paramType = paramType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * methodName.hashCode() + Objects.hashCode(paramType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SetterKey)) {
+                return false;
+            }
+            SetterKey other = (SetterKey) obj;
+            return methodName.equals(other.methodName) && paramType == other.paramType;
+        }
+    }
+}
@@ -46,6 +46,24 @@ public class ClassHelper {
     }
 
     public static Method detectGetterMethod(Class<?> clazz, String methodName) throws NoSuchMethodException {
+        ClassAccessorCache.Resolved resolved = ClassAccessorCache.forClass(clazz).resolveGetter(methodName);
+        if (resolved.accessor == null) {
+            throw new NoSuchMethodException(resolved.failure);
+        }
+        return resolved.accessor.getMethod();
+    }
+
+    public static Method detectSetterMethod(Class<?> clazz, String methodName, Class<?> paramType)
+            throws NoSuchMethodException {
+        ClassAccessorCache.Resolved resolved = ClassAccessorCache.forClass(clazz).resolveSetter(methodName,
+                paramType);
+        if (resolved.accessor == null) {
+            throw new NoSuchMethodException(resolved.failure);
+        }
+        return resolved.accessor.getMethod();
+    }
+
+    static Method lookupGetterMethod(Class<?> clazz, String methodName) {
 
         Method[] methods = clazz.getMethods();
 
@@ -54,12 +72,10 @@ public class ClassHelper {
                 return method;
             }
         }
-
-        throw new NoSuchMethodException(
-                String.format("No matching getter method for class=%s method=%s", clazz.getName(), methodName));
+        return null;
     }
 
-    public static Method detectSetterMethod(Class<?> clazz, String methodName, Class<?> paramType)
+    static Method lookupSetterMethod(Class<?> clazz, String methodName, Class<?> paramType)
             throws NoSuchMethodException {
         List<Method> candidates = new ArrayList<Method>();
 
@@ -96,16 +112,12 @@ public class ClassHelper {
             return candidates.get(0);
         }
 
-        Method getter = null;
         Class<?> returnType = null;
         for (String prefix : Arrays.asList("get", "is")) {
-            try {
-                getter = detectGetterMethod(clazz, methodName.replace("set", prefix));
+            Method getter = lookupGetterMethod(clazz, methodName.replace("set", prefix));
+            if (getter != null) {
                 returnType = getter.getReturnType();
                 break;
-            } catch (NoSuchMethodException nsme) {
-                // System.out.println("\t\t could not find getter " + methodName.replace("set",
-                // prefix));
             }
         }
 
@@ -158,23 +170,14 @@ public class ClassHelper {
             }
 
             for (String segment : parentPath.getSegments()) {
-                List<String> getters = getterMethodNames(PathUtil.cleanPathSegment(segment));
-                Method getterMethod = null;
-                for (String getter : getters) {
-                    try {
-                        getterMethod = detectGetterMethod(parentObject.getClass(), getter);
-                        break;
-                    } catch (NoSuchMethodException e) {
-                        // exhaust options
-                    }
-                }
-
-                if (getterMethod == null) {
+                String fieldName = PathUtil.cleanPathSegment(segment);
+                JavaAccessor getter = ClassAccessorCache.forClass(parentObject.getClass())
+                        .findPropertyGetter(fieldName);
+                if (getter == null) {
                     throw new NoSuchMethodException("Unable to detect getter method for " + segment);
                 }
 
-                getterMethod.setAccessible(true);
-                parentObject = getterMethod.invoke(parentObject);
+                parentObject = getter.get(parentObject);
 
                 if (skipCollectionWrapper) {
                     if (PathUtil.isListSegment(segment) && pathUtil.isIndexedCollection()) {
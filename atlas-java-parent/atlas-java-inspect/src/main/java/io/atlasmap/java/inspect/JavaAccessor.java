@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.java.inspect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * A resolved getter or setter. Invocation goes through a {@link MethodHandle}
+ * adapted to a generic signature, falling back to reflection when the method
+ * can't be unreflected (e.g. inaccessible declaring class), and for primitive
+ * setter values that need a widening conversion the handle doesn't apply.
+ */
+public final class JavaAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final boolean getter;
+    private final Class<?> primitiveWrapper;
+
+    private JavaAccessor(Method method, boolean getter) {
+        this.method = method;
+        this.getter = getter;
+        this.handle = createHandle(method, getter ? GETTER_TYPE : SETTER_TYPE);
+        this.primitiveWrapper = getter ? null : wrapperFor(method.getParameterTypes()[0]);
+    }
+
+    public static JavaAccessor forGetter(Method method) {
+        return new JavaAccessor(method, true);
+    }
+
+    public static JavaAccessor forSetter(Method method) {
+        return new JavaAccessor(method, false);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the getter return type or the setter parameter type
+     */
+    public Class<?> getType() {
+        return getter ? method.getReturnType() : method.getParameterTypes()[0];
+    }
+
+    public Object get(Object target) throws Exception {
+        if (handle == null) {
+            return method.invoke(target);
+        }
+        try {
+            return (Object) handle.invokeExact(target);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    public void set(Object target, Object value) throws Exception {
+        if (handle == null || (primitiveWrapper != null && value != null && value.getClass() != primitiveWrapper)) {
+            method.invoke(target, value);
+            return;
+        }
+        try {
+            handle.invokeExact(target, value);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static MethodHandle createHandle(Method method, MethodType type) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (RuntimeException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> wrapperFor(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    @Override
+    public String toString() {
+        return "JavaAccessor [method=" + method + "]";
+    }
+}
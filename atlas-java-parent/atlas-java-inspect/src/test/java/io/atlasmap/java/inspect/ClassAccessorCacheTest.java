@@ -0,0 +1,81 @@
+package io.atlasmap.java.inspect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import io.atlasmap.java.test.BaseOrder;
+import io.atlasmap.java.test.SourceAddress;
+import io.atlasmap.java.test.SourceOrder;
+import io.atlasmap.java.test.TargetFlatPrimitiveClass;
+
+public class ClassAccessorCacheTest {
+
+    @Test
+    public void testForClassIsCached() {
+        assertSame(ClassAccessorCache.forClass(SourceOrder.class), ClassAccessorCache.forClass(SourceOrder.class));
+    }
+
+    @Test
+    public void testMappableClasses() {
+        List<Class<?>> classes = ClassAccessorCache.forClass(SourceOrder.class).getMappableClasses();
+        assertEquals(2, classes.size());
+        assertEquals(SourceOrder.class, classes.get(0));
+        assertEquals(BaseOrder.class, classes.get(1));
+        assertSame(classes, ClassAccessorCache.forClass(SourceOrder.class).getMappableClasses());
+    }
+
+    @Test
+    public void testPropertyGetter() throws Exception {
+        SourceAddress sourceAddress = new SourceAddress();
+        SourceOrder sourceOrder = new SourceOrder();
+        sourceOrder.setAddress(sourceAddress);
+
+        ClassAccessorCache accessors = ClassAccessorCache.forClass(SourceOrder.class);
+        JavaAccessor getter = accessors.findPropertyGetter("address");
+        assertNotNull(getter);
+        assertEquals("getAddress", getter.getMethod().getName());
+        assertSame(getter, accessors.findPropertyGetter("address"));
+        assertSame(sourceAddress, getter.get(sourceOrder));
+    }
+
+    @Test
+    public void testMissingAccessors() {
+        ClassAccessorCache accessors = ClassAccessorCache.forClass(JavaGetterSetterModel.class);
+        assertNull(accessors.findGetter("getParam2"));
+        assertNull(accessors.findPropertyGetter("param2"));
+        assertNull(accessors.findSetter("setOverloadParam", Short.class));
+        // repeated misses are served from the cache
+        assertNull(accessors.findSetter("setOverloadParam", Short.class));
+    }
+
+    @Test
+    public void testSetter() throws Exception {
+        JavaGetterSetterModel model = new JavaGetterSetterModel();
+        JavaAccessor setter = ClassAccessorCache.forClass(JavaGetterSetterModel.class).findSetter("setParam",
+                String.class);
+        assertNotNull(setter);
+        assertEquals(String.class, setter.getType());
+        setter.set(model, "foo");
+        assertEquals("foo", model.getParam());
+    }
+
+    @Test
+    public void testPrimitiveSetter() throws Exception {
+        TargetFlatPrimitiveClass target = new TargetFlatPrimitiveClass();
+        ClassAccessorCache accessors = ClassAccessorCache.forClass(TargetFlatPrimitiveClass.class);
+        JavaAccessor setter = accessors.findSetter("setLongField", long.class);
+        assertNotNull(setter);
+        setter.set(target, 30000L);
+        assertEquals(30000L, target.getLongField());
+        // widening conversion falls back to reflection
+        setter.set(target, 42);
+        assertEquals(42L, target.getLongField());
+        assertEquals(42L, accessors.findPropertyGetter("longField").get(target));
+    }
+}
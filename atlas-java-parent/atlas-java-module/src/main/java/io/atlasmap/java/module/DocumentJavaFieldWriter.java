@@ -14,11 +14,13 @@ import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.DefaultAtlasConversionService;
-import io.atlasmap.core.PathUtil;
+import io.atlasmap.core.CompiledPath;
 import io.atlasmap.core.PathUtil.SegmentContext;
-import io.atlasmap.java.inspect.ClassHelper;
+import io.atlasmap.java.inspect.ClassAccessorCache;
+import io.atlasmap.java.inspect.JavaAccessor;
 import io.atlasmap.java.v2.JavaEnumField;
 import io.atlasmap.java.v2.JavaField;
+import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
 
@@ -52,7 +54,7 @@ public class DocumentJavaFieldWriter {
 
             processedPaths.add(field.getPath());
 
-            PathUtil path = new PathUtil(field.getPath());
+            CompiledPath path = CompiledPath.compile(field.getPath());
             Object parentObject = rootObject;
             boolean segmentIsComplexSegment = true;
             for (SegmentContext segmentContext : path.getSegmentContexts(true)) {
@@ -106,7 +108,7 @@ public class DocumentJavaFieldWriter {
                     }
                     parentObject = childObject;
                 } else { // processing field value
-                    if (PathUtil.isCollectionSegment(segmentContext.getSegment())) {
+                    if (segmentContext.getCompiledSegment().isCollection()) {
                         parentObject = findOrCreateOrExpandParentCollectionObject(field, parentObject, segmentContext);
                     }
                     Object value = converter.convertValue(parentObject, field);
@@ -142,7 +144,7 @@ public class DocumentJavaFieldWriter {
 
         // find the child object on the given parent
         Object childObject = writerUtil.getObjectFromParent(field, parentObject, segmentContext);
-        if (childObject != null && PathUtil.isCollectionSegment(segment)) {
+        if (childObject != null && segmentContext.getCompiledSegment().isCollection()) {
             if (!collectionHasRoomForIndex(childObject, segmentContext)) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Found child collection '" + segment + "' (" + childObject.getClass().getName()
@@ -175,7 +177,7 @@ public class DocumentJavaFieldWriter {
             LOG.debug("Creating parent object: " + segmentContext);
         }
         Object childObject = null;
-        if (PathUtil.isCollectionSegment(segment)) {
+        if (segmentContext.getCompiledSegment().isCollection()) {
             // first, let's see if we have the collection object at all
             if (LOG.isDebugEnabled()) {
                 LOG.debug(
@@ -243,7 +245,7 @@ public class DocumentJavaFieldWriter {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Collection is not large enough for segment '" + segment + "', expanding the collection.");
             }
-            int index = PathUtil.indexOfSegment(segment);
+            int index = segmentContext.getCompiledSegment().getIndex();
             if (collectionObject instanceof List) {
                 List list = (List) collectionObject;
                 while (list.size() < (index + 1)) {
@@ -274,12 +276,13 @@ public class DocumentJavaFieldWriter {
             throws AtlasException {
         // create the "List" part of List<Contact>
         String segment = segmentContext.getSegment();
-        if (PathUtil.isArraySegment(segment)) {
+        CollectionType collectionType = segmentContext.getCompiledSegment().getCollectionType();
+        if (collectionType == CollectionType.ARRAY) {
             return createObject(field, segmentContext, parentObject, true);
-        } else if (PathUtil.isListSegment(segment)) {
+        } else if (collectionType == CollectionType.LIST) {
             // TODO: look up field level or document level default list impl
             return writerUtil.instantiateObject(LinkedList.class, segmentContext, false);
-        } else if (PathUtil.isMapSegment(segment)) {
+        } else if (collectionType == CollectionType.MAP) {
             // TODO: look up field level or document level default map impl
             return writerUtil.instantiateObject(HashMap.class, segmentContext, false);
         }
@@ -317,7 +320,7 @@ public class DocumentJavaFieldWriter {
                 LOG.debug("Couldn't find class on field. Looking for configured class for segment: " + segmentContext
                         + ".");
             }
-            String normalizedSegment = PathUtil.removeCollectionIndexes(segmentContext.getSegmentPath());
+            String normalizedSegment = CompiledPath.compile(segmentContext.getSegmentPath()).getNormalizedPath();
             clz = this.classesForFields.get(normalizedSegment);
         }
         Type clzType = null;
@@ -326,17 +329,14 @@ public class DocumentJavaFieldWriter {
                 LOG.debug("Couldn't find configured class for segment: " + segmentContext
                         + ", looking up getter method.");
             }
-            Method m = null;
-            try {
-                String methodName = "get"
-                        + JavaWriterUtil.capitalizeFirstLetter(PathUtil.cleanPathSegment(segmentContext.getSegment()));
-                m = ClassHelper.detectGetterMethod(parentObject.getClass(), methodName);
-            } catch (NoSuchMethodException e) {
-                // it's ok, we didnt find a getter.
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Couldn't find getter method for segment: " + segmentContext, e);
-                }
+            String methodName = "get"
+                    + JavaWriterUtil.capitalizeFirstLetter(segmentContext.getCompiledSegment().getName());
+            JavaAccessor getter = ClassAccessorCache.forClass(parentObject.getClass()).findGetter(methodName);
+            // it's ok if we didnt find a getter.
+            if (getter == null && LOG.isDebugEnabled()) {
+                LOG.debug("Couldn't find getter method for segment: " + segmentContext);
             }
+            Method m = getter == null ? null : getter.getMethod();
             clz = m == null ? null : m.getReturnType();
             clzType = m.getGenericReturnType();
         }
@@ -354,7 +354,7 @@ public class DocumentJavaFieldWriter {
         } else if (unwrapCollectionType && Collection.class.isAssignableFrom(clz)) {
             Class<?> oldClass = clz;
             clz = null;
-            String cleanedSegment = PathUtil.cleanPathSegment(segmentContext.getSegment());
+            String cleanedSegment = segmentContext.getCompiledSegment().getName();
 
             // From return type of getter method
             if (clzType instanceof Class) {
@@ -431,20 +431,20 @@ public class DocumentJavaFieldWriter {
 
     public Object getCollectionItem(Object collection, SegmentContext segmentContext) throws AtlasException {
         String segment = segmentContext.getSegment();
-        int index = PathUtil.indexOfSegment(segment);
-        if (PathUtil.isArraySegment(segment)) {
+        CompiledPath.Segment compiled = segmentContext.getCompiledSegment();
+        int index = compiled.getIndex();
+        if (compiled.getCollectionType() == CollectionType.ARRAY) {
             return Array.get(collection, index);
-        } else if (PathUtil.isListSegment(segment)) {
+        } else if (compiled.getCollectionType() == CollectionType.LIST) {
             return ((List<?>) collection).get(index);
-        } else if (PathUtil.isMapSegment(segment)) {
+        } else if (compiled.getCollectionType() == CollectionType.MAP) {
             throw new AtlasException("Maps are currently unhandled for segment: " + segment);
         }
         throw new AtlasException("Cannot determine collection type from segment: " + segment);
     }
 
     public boolean collectionHasRoomForIndex(Object collection, SegmentContext segmentContext) throws AtlasException {
-        String segment = segmentContext.getSegment();
-        int index = PathUtil.indexOfSegment(segment);
+        int index = segmentContext.getCompiledSegment().getIndex();
         int size = getCollectionSize(collection);
         boolean result = size > index;
         if (LOG.isDebugEnabled()) {
@@ -480,8 +480,7 @@ public class DocumentJavaFieldWriter {
         }
         boolean parentIsCollection = (parentObject instanceof Collection) || (parentObject.getClass().isArray());
         if (parentIsCollection) {
-            String segment = segmentContext.getSegment();
-            int index = PathUtil.indexOfSegment(segment);
+            int index = segmentContext.getCompiledSegment().getIndex();
             if (parentObject instanceof List) {
                 List list = (List) parentObject;
                 if (index >= list.size()) {
@@ -539,7 +538,7 @@ public class DocumentJavaFieldWriter {
     }
 
     public void addClassForFieldPath(String fieldPath, Class<?> clz) {
-        String fieldPathTrimmed = PathUtil.removeCollectionIndexes(fieldPath);
+        String fieldPathTrimmed = CompiledPath.compile(fieldPath).getNormalizedPath();
         this.classesForFields.put(fieldPathTrimmed, clz);
     }
 
@@ -17,8 +17,6 @@ package io.atlasmap.java.module;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,11 +30,12 @@ import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
 import io.atlasmap.core.DefaultAtlasContextFactory;
 import io.atlasmap.core.PathUtil;
+import io.atlasmap.java.inspect.ClassAccessorCache;
 import io.atlasmap.java.inspect.ClassHelper;
 import io.atlasmap.java.inspect.ClassInspectionService;
 import io.atlasmap.java.inspect.ConstructException;
+import io.atlasmap.java.inspect.JavaAccessor;
 import io.atlasmap.java.inspect.JavaConstructService;
-import io.atlasmap.java.inspect.JdkPackages;
 import io.atlasmap.java.inspect.StringUtil;
 import io.atlasmap.java.v2.AtlasJavaModelFactory;
 import io.atlasmap.java.v2.JavaClass;
@@ -207,16 +206,16 @@ public class JavaModule extends BaseAtlasModule {
     }
 
     protected void processInputMapping(Field sourceField, Object source, AtlasSession session) throws Exception {
-        Method getter = null;
+        JavaAccessor getter = null;
         if (sourceField.getFieldType() == null
                 && (sourceField instanceof JavaField || sourceField instanceof JavaEnumField)) {
-            getter = resolveGetMethod(source, sourceField, false);
+            getter = resolveGetter(source, sourceField, false);
             if (getter == null) {
                 LOG.warn("Unable to auto-detect sourceField type p=" + sourceField.getPath() + " d="
                         + sourceField.getDocId());
                 return;
             }
-            Class<?> returnType = getter.getReturnType();
+            Class<?> returnType = getter.getType();
             sourceField.setFieldType(getConversionService().fieldTypeFromClass(returnType));
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Auto-detected sourceField type p=" + sourceField.getPath() + " t="
@@ -227,18 +226,18 @@ public class JavaModule extends BaseAtlasModule {
         populateSourceFieldValue(sourceField, source, getter);
     }
 
-    protected void populateSourceFieldValue(Field field, Object source, Method m) throws Exception {
-        Method getter = m;
+    protected void populateSourceFieldValue(Field field, Object source, JavaAccessor accessor) throws Exception {
+        JavaAccessor getter = accessor;
         Object parentObject = source;
         PathUtil pathUtil = new PathUtil(field.getPath());
         if (pathUtil.hasParent()) {
             parentObject = ClassHelper.parentObjectForPath(source, pathUtil, true);
         }
-        getter = (getter == null) ? resolveGetMethod(parentObject, field, (parentObject != source)) : getter;
+        getter = (getter == null) ? resolveGetter(parentObject, field, (parentObject != source)) : getter;
 
         Object sourceValue = null;
         if (getter != null) {
-            sourceValue = getter.invoke(parentObject);
+            sourceValue = getter.get(parentObject);
         }
 
         // TODO: support doing parent stuff at field level vs getter
@@ -432,9 +431,14 @@ public class JavaModule extends BaseAtlasModule {
 
     protected static Method resolveGetMethod(Object sourceObject, Field field, boolean objectIsParent)
             throws AtlasException {
+        JavaAccessor getter = resolveGetter(sourceObject, field, objectIsParent);
+        return getter != null ? getter.getMethod() : null;
+    }
+
+    protected static JavaAccessor resolveGetter(Object sourceObject, Field field, boolean objectIsParent)
+            throws AtlasException {
         Object parentObject = sourceObject;
         PathUtil pathUtil = new PathUtil(field.getPath());
-        Method getter = null;
 
         if (pathUtil.hasParent() && !objectIsParent) {
             parentObject = ClassHelper.parentObjectForPath(sourceObject, pathUtil, true);
@@ -443,28 +447,18 @@ public class JavaModule extends BaseAtlasModule {
             return null;
         }
 
-        List<Class<?>> classTree = resolveMappableClasses(parentObject.getClass());
-
-        for (Class<?> clazz : classTree) {
-            try {
-                if (field instanceof JavaField && ((JavaField) field).getGetMethod() != null) {
-                    getter = clazz.getMethod(((JavaField) field).getGetMethod());
-                    getter.setAccessible(true);
-                    return getter;
-                }
-            } catch (NoSuchMethodException e) {
-                // no getter method specified in mapping file
+        String getMethod = field instanceof JavaField ? ((JavaField) field).getGetMethod() : null;
+        for (Class<?> clazz : resolveMappableClasses(parentObject.getClass())) {
+            ClassAccessorCache accessors = ClassAccessorCache.forClass(clazz);
+            JavaAccessor getter = null;
+            if (getMethod != null) {
+                getter = accessors.findGetter(getMethod);
             }
-
-            for (String m : Arrays.asList("get", "is")) {
-                String getterMethod = m + capitalizeFirstLetter(pathUtil.getLastSegment());
-                try {
-                    getter = clazz.getMethod(getterMethod);
-                    getter.setAccessible(true);
-                    return getter;
-                } catch (NoSuchMethodException e) {
-                    // method does not exist
-                }
+            if (getter == null) {
+                getter = accessors.findPropertyGetter(pathUtil.getLastSegment());
+            }
+            if (getter != null) {
+                return getter;
             }
         }
         return null;
@@ -478,31 +472,24 @@ public class JavaModule extends BaseAtlasModule {
         if (pathUtil.hasParent()) {
             parentObject = ClassHelper.parentObjectForPath(parentObject, pathUtil, true);
         }
-        List<Class<?>> classTree = resolveMappableClasses(parentObject.getClass());
 
-        for (Class<?> clazz : classTree) {
-            try {
-                String setterMethodName = javaField.getSetMethod();
-                if (setterMethodName == null) {
-                    setterMethodName = "set" + capitalizeFirstLetter(pathUtil.getLastSegment());
-                }
-                return ClassHelper.detectSetterMethod(clazz, setterMethodName, targetType);
-            } catch (NoSuchMethodException e) {
-                // method does not exist
-            }
+        String setterMethodName = javaField.getSetMethod();
+        if (setterMethodName == null) {
+            setterMethodName = "set" + capitalizeFirstLetter(pathUtil.getLastSegment());
+        }
+        boolean tryBoxUnboxed = getConversionService().isPrimitive(targetType)
+                || getConversionService().isBoxedPrimitive(targetType);
 
-            // Try the boxUnboxed version
-            if (getConversionService().isPrimitive(targetType) || getConversionService().isBoxedPrimitive(targetType)) {
-                try {
-                    String setterMethodName = javaField.getSetMethod();
-                    if (setterMethodName == null) {
-                        setterMethodName = "set" + capitalizeFirstLetter(pathUtil.getLastSegment());
-                    }
-                    return ClassHelper.detectSetterMethod(clazz, setterMethodName,
-                            getConversionService().boxOrUnboxPrimitive(targetType));
-                } catch (NoSuchMethodException e) {
-                    // method does not exist
-                }
+        for (Class<?> clazz : resolveMappableClasses(parentObject.getClass())) {
+            ClassAccessorCache accessors = ClassAccessorCache.forClass(clazz);
+            JavaAccessor setter = accessors.findSetter(setterMethodName, targetType);
+            if (setter == null && tryBoxUnboxed) {
+                // Try the boxUnboxed version
+                setter = accessors.findSetter(setterMethodName,
+                        getConversionService().boxOrUnboxPrimitive(targetType));
+            }
+            if (setter != null) {
+                return setter.getMethod();
             }
         }
 
@@ -510,28 +497,8 @@ public class JavaModule extends BaseAtlasModule {
     }
 
     public static List<Class<?>> resolveMappableClasses(Class<?> className) {
-        List<Class<?>> classTree = new ArrayList<Class<?>>();
-        classTree.add(className);
-
-        Class<?> superClazz = className.getSuperclass();
-        while (superClazz != null) {
-            if (JdkPackages.contains(superClazz.getPackage().getName())) {
-                // if (logger.isDebugEnabled()) {
-                // logger.debug("Ignoring SuperClass " + superClazz.getName() + " which is a Jdk
-                // core class");
-                // }
-                superClazz = null;
-            } else {
-                classTree.add(superClazz);
-                superClazz = superClazz.getSuperclass();
-            }
-        }
-
-        // DON'T reverse.. prefer child -> parent -> grandparent
-        // List<Class<?>> reverseTree = classTree.subList(0, classTree.size());
-        // Collections.reverse(reverseTree);
-        // return reverseTree;
-        return classTree;
+        // child -> parent -> grandparent, cached per class
+        return ClassAccessorCache.forClass(className).getMappableClasses();
     }
 
     protected JavaField findFieldByPath(JavaClass javaClass, String javaPath) {
@@ -621,4 +588,12 @@ public class JavaModule extends BaseAtlasModule {
     public Field cloneField(Field field) throws AtlasException {
         return AtlasJavaModelFactory.cloneJavaField((JavaField) field);
     }
+
+    /**
+     * Input values are read through getters resolved from the shared, concurrent accessor cache.
+     */
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return true;
+    }
 }
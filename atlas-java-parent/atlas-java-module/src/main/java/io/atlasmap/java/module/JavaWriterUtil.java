@@ -1,21 +1,20 @@
 package io.atlasmap.java.module;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
-import io.atlasmap.core.PathUtil;
+import io.atlasmap.core.CompiledPath;
 import io.atlasmap.core.PathUtil.SegmentContext;
-import io.atlasmap.java.inspect.ClassHelper;
-import io.atlasmap.java.inspect.JdkPackages;
+import io.atlasmap.java.inspect.ClassAccessorCache;
+import io.atlasmap.java.inspect.JavaAccessor;
 import io.atlasmap.java.inspect.StringUtil;
+import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Field;
 
 public class JavaWriterUtil {
@@ -45,8 +44,9 @@ public class JavaWriterUtil {
                 throw new AtlasException("Cannot instantiate object, class is abstract: " + clz.getName()
                         + ", segment: " + segmentContext);
             }
-            if (createWrapperArray && PathUtil.isArraySegment(segmentContext.getSegment())) {
-                int size = PathUtil.indexOfSegment(segmentContext.getSegment()) + 1;
+            CompiledPath.Segment segment = segmentContext.getCompiledSegment();
+            if (createWrapperArray && segment.getCollectionType() == CollectionType.ARRAY) {
+                int size = segment.getIndex() + 1;
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Instantiating array of size " + size + " for class '" + clz.getName() + "', segment: "
                             + segmentContext);
@@ -91,26 +91,13 @@ public class JavaWriterUtil {
 
         // clean up our segment from something like "@addressLine1" to "addressLine1".
         // collection segments like "orders[4]" will be cleaned to "orders"
-        String cleanedSegment = PathUtil.cleanPathSegment(segmentContext.getSegment());
+        String cleanedSegment = segmentContext.getCompiledSegment().getName();
 
         // FIXME: this doesn't work if there isn't a getter but there is a private
         // member variable
 
-        List<String> getters = ClassHelper.getterMethodNames(cleanedSegment);
-        Method getterMethod = null;
-        for (String getter : getters) {
-            try {
-                getterMethod = ClassHelper.detectGetterMethod(parentObject.getClass(), getter);
-                break;
-            } catch (NoSuchMethodException e) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Looking for getter for '" + segmentContext.getSegmentPath() + " on this class: "
-                            + parentObject.getClass().getName(), e);
-                }
-            }
-        }
-
-        if (getterMethod == null) {
+        JavaAccessor getter = ClassAccessorCache.forClass(parentObject.getClass()).findPropertyGetter(cleanedSegment);
+        if (getter == null) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Unable to detect getter method for: " + segmentContext.getSegment() + " from "
                         + segmentContext.getSegmentPath() + " on parent: " + parentObject);
@@ -118,10 +105,9 @@ public class JavaWriterUtil {
             return null;
         }
 
-        getterMethod.setAccessible(true);
         Object childObject;
         try {
-            childObject = getterMethod.invoke(parentObject);
+            childObject = getter.get(parentObject);
         } catch (Exception e) {
             throw new AtlasException(e);
         }
@@ -159,15 +145,13 @@ public class JavaWriterUtil {
                     + "\n\tparentObject: " + parentObject);
         }
 
-        PathUtil pathUtil = new PathUtil(javaField.getPath());
-
         try {
             Class<?> childClass = childObject == null ? null : childObject.getClass();
-            Method targetMethod = resolveSetMethod(parentObject, segmentContext, childClass);
+            JavaAccessor targetSetter = resolveSetter(parentObject, segmentContext, childClass);
             Object targetObject = parentObject;
 
             // We already know we have a 1 paramter setter here
-            if (childObject == null && conversionService.isPrimitive(targetMethod.getParameterTypes()[0])) {
+            if (childObject == null && conversionService.isPrimitive(targetSetter.getType())) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Not setting null value for primitive method paramter for path:'" + javaField.getPath()
                             + "'.\n\tchildObject: " + childObject + "\n\tparentObject: " + parentObject);
@@ -175,11 +159,12 @@ public class JavaWriterUtil {
                 return;
             }
 
-            if (targetMethod != null) {
-                targetMethod.invoke(targetObject, childObject);
+            if (targetSetter != null) {
+                targetSetter.set(targetObject, childObject);
             } else {
                 try {
-                    java.lang.reflect.Field field = targetObject.getClass().getField(pathUtil.getLastSegment());
+                    java.lang.reflect.Field field = targetObject.getClass()
+                            .getField(CompiledPath.compile(javaField.getPath()).getLastSegment().getExpression());
                     field.setAccessible(true);
                     field.set(targetObject, childObject);
                     javaField.setValue(field.get(targetObject));
@@ -197,8 +182,13 @@ public class JavaWriterUtil {
     }
 
     protected Method resolveSetMethod(Object sourceObject, SegmentContext segmentContext, Class<?> targetType)
-            throws NoSuchMethodException, IllegalArgumentException, IllegalAccessException, InvocationTargetException {
-        String setterMethodName = "set" + capitalizeFirstLetter(PathUtil.cleanPathSegment(segmentContext.getSegment()));
+            throws NoSuchMethodException {
+        return resolveSetter(sourceObject, segmentContext, targetType).getMethod();
+    }
+
+    protected JavaAccessor resolveSetter(Object sourceObject, SegmentContext segmentContext, Class<?> targetType)
+            throws NoSuchMethodException {
+        String setterMethodName = "set" + capitalizeFirstLetter(segmentContext.getCompiledSegment().getName());
 
         List<Class<?>> classTree = resolveMappableClasses(sourceObject.getClass());
 
@@ -207,46 +197,20 @@ public class JavaWriterUtil {
                     + sourceObject.getClass().getName() + "': " + classTree);
         }
 
-        Method m = null;
+        boolean tryBoxUnboxed = conversionService.isPrimitive(targetType)
+                || conversionService.isBoxedPrimitive(targetType);
         for (Class<?> clazz : classTree) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Looking for setter '" + setterMethodName + "' on this class: " + clazz.getName());
+            ClassAccessorCache accessors = ClassAccessorCache.forClass(clazz);
+            JavaAccessor setter = accessors.findSetter(setterMethodName, targetType);
+            if (setter == null && tryBoxUnboxed) {
+                // Try the boxUnboxed version
+                setter = accessors.findSetter(setterMethodName, conversionService.boxOrUnboxPrimitive(targetType));
             }
-            try {
-                m = ClassHelper.detectSetterMethod(clazz, setterMethodName, targetType);
-                if (m != null) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Found setter '" + setterMethodName + "' on this class: " + clazz.getName());
-                    }
-                    return m;
-                }
-            } catch (NoSuchMethodException e) {
+            if (setter != null) {
                 if (LOG.isDebugEnabled()) {
-                    LOG.debug("Did not find setter '" + setterMethodName + "' on this class: " + clazz.getName(), e);
-                }
-            }
-
-            // Try the boxUnboxed version
-            if (conversionService.isPrimitive(targetType) || conversionService.isBoxedPrimitive(targetType)) {
-                try {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Looking for boxed setter '" + setterMethodName + "' on this class: "
-                                + clazz.getName());
-                    }
-                    m = ClassHelper.detectSetterMethod(clazz, setterMethodName,
-                            conversionService.boxOrUnboxPrimitive(targetType));
-                    if (m != null) {
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Found setter '" + setterMethodName + "' on this class: " + clazz.getName());
-                        }
-                        return m;
-                    }
-                } catch (NoSuchMethodException e) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Did not find setter '" + setterMethodName + "' on this class: " + clazz.getName(),
-                                e);
-                    }
+                    LOG.debug("Found setter '" + setterMethodName + "' on this class: " + clazz.getName());
                 }
+                return setter;
             }
         }
 
@@ -265,23 +229,7 @@ public class JavaWriterUtil {
     }
 
     protected List<Class<?>> resolveMappableClasses(Class<?> className) {
-        List<Class<?>> classTree = new ArrayList<Class<?>>();
-        classTree.add(className);
-        Class<?> superClazz = className.getSuperclass();
-        while (superClazz != null) {
-            if (JdkPackages.contains(superClazz.getPackage().getName())) {
-                superClazz = null;
-            } else {
-                classTree.add(superClazz);
-                superClazz = superClazz.getSuperclass();
-            }
-        }
-
-        // DON'T reverse.. prefer child -> parent -> grandparent
-        // List<Class<?>> reverseTree = classTree.subList(0, classTree.size());
-        // Collections.reverse(reverseTree);
-        // return reverseTree;
-
-        return classTree;
+        // child -> parent -> grandparent, cached per class
+        return ClassAccessorCache.forClass(className).getMappableClasses();
     }
 }
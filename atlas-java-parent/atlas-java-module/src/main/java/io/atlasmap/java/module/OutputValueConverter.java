@@ -11,15 +11,15 @@ import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasFieldActionService;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.LookupTableIndex;
 import io.atlasmap.core.PathUtil;
-import io.atlasmap.java.inspect.ClassHelper;
+import io.atlasmap.java.inspect.ClassAccessorCache;
+import io.atlasmap.java.inspect.JavaAccessor;
 import io.atlasmap.java.module.DocumentJavaFieldWriter.JavaFieldWriterValueConverter;
 import io.atlasmap.java.v2.JavaEnumField;
 import io.atlasmap.java.v2.JavaField;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
-import io.atlasmap.v2.LookupEntry;
-import io.atlasmap.v2.LookupTable;
 import io.atlasmap.v2.Mapping;
 
 public class OutputValueConverter implements JavaFieldWriterValueConverter {
@@ -124,26 +124,15 @@ public class OutputValueConverter implements JavaFieldWriterValueConverter {
         }
 
         String lookupTableName = mapping.getLookupTableName();
-        LookupTable table = null;
-        for (LookupTable t : session.getMapping().getLookupTables().getLookupTable()) {
-            if (t.getName().equals(lookupTableName)) {
-                table = t;
-                break;
-            }
-        }
+        LookupTableIndex table = LookupTableIndex.forSession(session, lookupTableName, conversionService);
         if (table == null) {
             throw new AtlasException(
                     "Could not find lookup table with name '" + lookupTableName + "' for mapping: " + mapping);
         }
 
         String inputValue = ((Enum<?>) inputField.getValue()).name();
-        String outputValue = null;
-        for (LookupEntry e : table.getLookupEntry()) {
-            if (e.getSourceValue().equals(inputValue)) {
-                outputValue = e.getTargetValue();
-                break;
-            }
-        }
+        LookupTableIndex.Entry entry = table.get(inputValue);
+        String outputValue = entry != null ? entry.getLookupEntry().getTargetValue() : null;
         if (LOG.isDebugEnabled()) {
             LOG.debug("Mapped input enum value '" + inputValue + "' to output enum value '" + outputValue + "'.");
         }
@@ -175,38 +164,29 @@ public class OutputValueConverter implements JavaFieldWriterValueConverter {
 
         if (field instanceof JavaField) {
             JavaField javaField = (JavaField) field;
+            String setterMethodName = javaField.getSetMethod();
+            if (setterMethodName == null) {
+                setterMethodName = "set" + JavaModule.capitalizeFirstLetter(pathUtil.getLastSegment());
+            }
+            boolean tryBoxUnboxed = conversionService.isPrimitive(targetType)
+                    || conversionService.isBoxedPrimitive(targetType);
             for (Class<?> clazz : classTree) {
-                try {
-                    String setterMethodName = javaField.getSetMethod();
-                    if (setterMethodName == null) {
-                        setterMethodName = "set" + JavaModule.capitalizeFirstLetter(pathUtil.getLastSegment());
-                    }
-                    return ClassHelper.detectSetterMethod(clazz, setterMethodName, targetType);
-                } catch (NoSuchMethodException e) {
-                    // method does not exist
+                ClassAccessorCache accessors = ClassAccessorCache.forClass(clazz);
+                JavaAccessor setter = accessors.findSetter(setterMethodName, targetType);
+                if (setter == null && tryBoxUnboxed) {
+                    // Try the boxUnboxed version
+                    setter = accessors.findSetter(setterMethodName, conversionService.boxOrUnboxPrimitive(targetType));
                 }
-
-                // Try the boxUnboxed version
-                if (conversionService.isPrimitive(targetType) || conversionService.isBoxedPrimitive(targetType)) {
-                    try {
-                        String setterMethodName = javaField.getSetMethod();
-                        if (setterMethodName == null) {
-                            setterMethodName = "set" + JavaModule.capitalizeFirstLetter(pathUtil.getLastSegment());
-                        }
-                        return ClassHelper.detectSetterMethod(clazz, setterMethodName,
-                                conversionService.boxOrUnboxPrimitive(targetType));
-                    } catch (NoSuchMethodException e) {
-                        // method does not exist
-                    }
+                if (setter != null) {
+                    return setter.getMethod();
                 }
             }
         } else if (field instanceof JavaEnumField) {
+            String setterMethodName = "set" + JavaModule.capitalizeFirstLetter(pathUtil.getLastSegment());
             for (Class<?> clazz : classTree) {
-                try {
-                    String setterMethodName = "set" + JavaModule.capitalizeFirstLetter(pathUtil.getLastSegment());
-                    return ClassHelper.detectSetterMethod(clazz, setterMethodName, targetType);
-                } catch (NoSuchMethodException e) {
-                    // method does not exist
+                JavaAccessor setter = ClassAccessorCache.forClass(clazz).findSetter(setterMethodName, targetType);
+                if (setter != null) {
+                    return setter.getMethod();
                 }
             }
         }
@@ -15,11 +15,17 @@
  */
 package io.atlasmap.json.core;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.CompiledPath;
 import io.atlasmap.json.v2.JsonField;
 import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.FieldType;
@@ -29,6 +35,7 @@ import org.slf4j.LoggerFactory;
 public class JsonFieldReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(JsonFieldReader.class);
+    private static final ObjectMapper MAPPER = SharedObjectMapper.getInstance();
     private JsonNode rootNode;
 
     public void setDocument(String document) throws AtlasException {
@@ -37,16 +44,87 @@ public class JsonFieldReader {
         }
 
         try {
-            JsonFactory factory = new JsonFactory();
-            ObjectMapper mapper = new ObjectMapper();
-            JsonParser parser = factory.createParser(document);
-            this.rootNode = mapper.readTree(parser);
+            JsonParser parser = MAPPER.getFactory().createParser(document);
+            this.rootNode = MAPPER.readTree(parser);
         } catch (Exception e) {
             throw new AtlasException(e);
         }
     }
 
+    /**
+     * Sets the document from any supported input representation. A {@link JsonNode}
+     * is used as is, a byte[], {@link ByteBuffer}, {@link InputStream} or
+     * {@link Reader} is parsed directly without an intermediate String.
+     *
+     * @param document input document
+     * @throws AtlasException if the type is not supported or parsing fails
+     */
+    public void setDocument(Object document) throws AtlasException {
+        if (document instanceof String) {
+            setDocument((String) document);
+            return;
+        }
+        if (document instanceof JsonNode) {
+            this.rootNode = (JsonNode) document;
+            return;
+        }
+        if (!isSupportedDocument(document)) {
+            throw new AtlasException(new IllegalArgumentException(String.format("Unsupported document type=%s",
+                    document == null ? null : document.getClass().getName())));
+        }
+
+        try (JsonParser parser = createParser(document)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            this.rootNode = MAPPER.readTree(parser);
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    public static boolean isSupportedDocument(Object document) {
+        return document instanceof String || document instanceof JsonNode || document instanceof byte[]
+                || document instanceof ByteBuffer || document instanceof InputStream || document instanceof Reader;
+    }
+
+    private static JsonParser createParser(Object document) throws IOException {
+        JsonFactory factory = MAPPER.getFactory();
+        if (document instanceof byte[]) {
+            return factory.createParser((byte[]) document);
+        }
+        if (document instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) document;
+            if (buffer.hasArray()) {
+                return factory.createParser(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining());
+            }
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return factory.createParser(bytes);
+        }
+        if (document instanceof InputStream) {
+            return factory.createParser((InputStream) document);
+        }
+        return factory.createParser((Reader) document);
+    }
+
+    public JsonNode getRootNode() {
+        return rootNode;
+    }
+
+    public void setRootNode(JsonNode rootNode) {
+        this.rootNode = rootNode;
+    }
+
     public void read(final JsonField jsonField) throws AtlasException {
+        read(jsonField, null);
+    }
+
+    /**
+     * @param jsonField field to read the value into
+     * @param path compiled form of the field path, or null to compile it from the field
+     * @throws AtlasException if no document is set or the field is null
+     */
+    public void read(final JsonField jsonField, CompiledPath path) throws AtlasException {
         if (rootNode == null) {
             throw new AtlasException("document is not set");
         }
@@ -55,13 +133,13 @@ public class JsonFieldReader {
         }
 
         JsonNode valueNode = null;
-        String path = jsonField.getPath();
-        if (path.startsWith("/")) {
-            path = path.substring(1);
+        if (path == null) {
+            path = CompiledPath.compile(jsonField.getPath());
         }
-        String[] nodes = path.split("/");
-        if (nodes.length >= 1) {
-            if (rootNode.size() == 1 && !nodes[0].startsWith(rootNode.fieldNames().next())) {
+        int segmentCount = path.getSegmentCount();
+        if (segmentCount >= 1) {
+            if (rootNode.size() == 1
+                    && !path.getSegment(0).getExpression().startsWith(rootNode.fieldNames().next())) {
                 // peel off a rooted object
                 valueNode = rootNode.elements().next();
             } else {
@@ -69,11 +147,8 @@ public class JsonFieldReader {
             }
 
             // need to walk the path....
-            for (String nodeName : nodes) {
-                if (valueNode == null) {
-                    break;
-                }
-                valueNode = getValueNode(valueNode, nodeName);
+            for (int i = 0; i < segmentCount && valueNode != null; i++) {
+                valueNode = getValueNode(valueNode, path.getSegment(i));
             }
         }
         if (valueNode == null) {
@@ -100,24 +175,14 @@ public class JsonFieldReader {
         }
     }
 
-    private JsonNode getValueNode(JsonNode parent, String nodeName) {
-        String strippedNodeName = nodeName;
-        Integer index = null;
-        if (nodeName.contains("[")) {
-            // are we looking for an array?
-            index = Integer.parseInt(nodeName.substring(nodeName.indexOf("[") + 1, nodeName.indexOf("]")));
-            strippedNodeName = nodeName.substring(0, nodeName.indexOf("["));
-        } else if (nodeName.contains("<")) {
-            // maybe a list?
-            index = Integer.parseInt(nodeName.substring(nodeName.indexOf("<") + 1, nodeName.indexOf(">")));
-            strippedNodeName = nodeName.substring(0, nodeName.indexOf("<"));
-        }
-        JsonNode answer = parent.get(strippedNodeName);
+    private JsonNode getValueNode(JsonNode parent, CompiledPath.Segment segment) {
+        JsonNode answer = parent.get(segment.getUnindexedName());
+        Integer index = segment.getIndex();
         if (answer != null && answer.isArray() && index != null) {
             if (index >= 0) {
                 answer = answer.get(index);
             } else {
-                LOG.warn(String.format("Detected negative index for field p=%s, ignoring...", nodeName));
+                LOG.warn(String.format("Detected negative index for field p=%s, ignoring...", segment));
             }
         }
         return answer;
@@ -4,7 +4,6 @@ import java.math.BigDecimal;
 
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -12,7 +11,8 @@ import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.atlasmap.api.AtlasException;
-import io.atlasmap.core.PathUtil;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
 import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
@@ -26,9 +26,7 @@ public class JsonFieldWriter {
     private ObjectNode rootNode = null;
 
     public JsonFieldWriter() {
-        this.objectMapper = new ObjectMapper();
-        objectMapper.setDefaultPrettyPrinter(new DefaultPrettyPrinter());
-        rootNode = objectMapper.createObjectNode();
+        this(SharedObjectMapper.getInstance());
     }
 
     public JsonFieldWriter(ObjectMapper objectMapper) {
@@ -45,6 +43,15 @@ public class JsonFieldWriter {
     }
 
     public void write(Field field) throws AtlasException {
+        write(field, null);
+    }
+
+    /**
+     * @param field field to write
+     * @param path compiled form of the field path, or null to compile it from the field
+     * @throws AtlasException if the field is null or can't be written
+     */
+    public void write(Field field, CompiledPath path) throws AtlasException {
         if (field == null) {
             throw new AtlasException(new IllegalArgumentException("Argument 'jsonField' cannot be null"));
         }
@@ -52,12 +59,15 @@ public class JsonFieldWriter {
             LOG.debug("Field: " + AtlasModelFactory.toString(field));
             LOG.debug("Field type=" + field.getFieldType() + " path=" + field.getPath() + " v=" + field.getValue());
         }
-        PathUtil path = new PathUtil(field.getPath());
-        String lastSegment = path.getLastSegment();
+        if (path == null) {
+            path = CompiledPath.compile(field.getPath());
+        }
+        int lastIndex = path.getSegmentCount() - 1;
         ObjectNode parentNode = this.rootNode;
         String parentSegment = null;
-        for (String segment : path.getSegments()) {
-            if (!segment.equals(lastSegment)) { // this is a parent node.
+        for (int i = 0; i <= lastIndex; i++) {
+            Segment segment = path.getSegment(i);
+            if (i < lastIndex) { // this is a parent node.
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Now processing parent segment: " + segment);
                 }
@@ -65,7 +75,7 @@ public class JsonFieldWriter {
                 if (childNode == null) {
                     childNode = createParentNode(parentNode, parentSegment, segment);
                 } else if (childNode instanceof ArrayNode) {
-                    int index = PathUtil.indexOfSegment(segment);
+                    int index = segment.getIndex();
                     ArrayNode arrayChild = (ArrayNode) childNode;
                     if (arrayChild.size() < (index + 1)) {
                         if (LOG.isDebugEnabled()) {
@@ -84,7 +94,7 @@ public class JsonFieldWriter {
                     childNode = arrayChild.get(index);
                 }
                 parentNode = (ObjectNode) childNode;
-                parentSegment = segment;
+                parentSegment = segment.getExpression();
             } else { // this is the last segment of the path, write the value
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Now processing field value segment: " + segment);
@@ -96,6 +106,11 @@ public class JsonFieldWriter {
 
     public void writeValue(ObjectNode parentNode, String parentSegment, String segment, Field field)
             throws AtlasException {
+        writeValue(parentNode, parentSegment, CompiledPath.compileSegment(segment), field);
+    }
+
+    private void writeValue(ObjectNode parentNode, String parentSegment, Segment segment, Field field)
+            throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Writing field value '" + segment + "' in parent node '" + parentSegment + "', parentNode: "
                     + parentNode);
@@ -104,8 +119,8 @@ public class JsonFieldWriter {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Value to write: " + valueNode);
         }
-        String cleanedSegment = PathUtil.cleanPathSegment(segment);
-        if (PathUtil.isCollectionSegment(segment)) {
+        String cleanedSegment = segment.getName();
+        if (segment.isCollection()) {
             // if this field is a collection, we need to place our value in an array
 
             // get or construct the array the value will be placed in
@@ -127,7 +142,7 @@ public class JsonFieldWriter {
             }
 
             // determine where in the array our value will go
-            int index = PathUtil.indexOfSegment(segment);
+            int index = segment.getIndex();
 
             if (arrayChild.size() < (index + 1)) {
                 if (LOG.isDebugEnabled()) {
@@ -157,11 +172,14 @@ public class JsonFieldWriter {
     }
 
     public static JsonNode getChildNode(ObjectNode parentNode, String parentSegment, String segment) {
+        return getChildNode(parentNode, parentSegment, CompiledPath.compileSegment(segment));
+    }
+
+    private static JsonNode getChildNode(ObjectNode parentNode, String parentSegment, Segment segment) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Looking for child node '" + segment + "' in parent '" + parentSegment + "': " + parentNode);
         }
-        String cleanedSegment = PathUtil.cleanPathSegment(segment);
-        JsonNode childNode = parentNode.path(cleanedSegment);
+        JsonNode childNode = parentNode.path(segment.getName());
         if (JsonNodeType.MISSING.equals(childNode.getNodeType())) {
             childNode = null;
         }
@@ -177,15 +195,19 @@ public class JsonFieldWriter {
     }
 
     public ObjectNode createParentNode(ObjectNode parentNode, String parentSegment, String segment) {
+        return createParentNode(parentNode, parentSegment, CompiledPath.compileSegment(segment));
+    }
+
+    private ObjectNode createParentNode(ObjectNode parentNode, String parentSegment, Segment segment) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating parent node '" + segment + "' under previous parent '" + parentSegment + "' ("
                     + parentNode.getClass().getName() + ")");
         }
         ObjectNode childNode = null;
-        String cleanedSegment = PathUtil.cleanPathSegment(segment);
-        if (PathUtil.isCollectionSegment(segment)) {
+        String cleanedSegment = segment.getName();
+        if (segment.isCollection()) {
             ArrayNode arrayChild = parentNode.putArray(cleanedSegment);
-            int index = PathUtil.indexOfSegment(segment);
+            int index = segment.getIndex();
 
             if (arrayChild.size() < (index + 1)) {
                 if (LOG.isDebugEnabled()) {
@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.json.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Holds the {@link ObjectMapper} shared by the JSON readers and writers. An
+ * ObjectMapper is expensive to create and thread-safe once configured, so it must
+ * not be reconfigured by callers.
+ */
+public final class SharedObjectMapper {
+
+    private static final ObjectMapper INSTANCE = new ObjectMapper();
+
+    private SharedObjectMapper() {
+    }
+
+    public static ObjectMapper getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,394 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.json.module;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.atlasmap.api.AtlasConstants;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContext;
+import io.atlasmap.core.PathUtil;
+import io.atlasmap.json.core.JsonFieldReader;
+import io.atlasmap.json.core.JsonFieldWriter;
+import io.atlasmap.json.core.SharedObjectMapper;
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.CollectionType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+
+/**
+ * Streams a JSON array through the collection mappings of a json to json session
+ * one element at a time. Only the current element is materialized and each mapped
+ * element is written to the {@link JsonGenerator} right away, so heap use does not
+ * grow with the size of the input array.
+ * <p>
+ * Collection mappings such as {@code /contact<>/firstName -> /contact<>/name} are
+ * applied to every array element with the collection prefix removed. The input and
+ * output array locations are derived from the mapping unless configured explicitly,
+ * an empty path denotes a top-level array. Mappings outside of a collection are
+ * skipped with a warning audit. As in {@link DefaultAtlasContext#process(AtlasSession)},
+ * input field actions are not run for the mappings of a collection.
+ * <p>
+ * This is a standalone utility for json to json contexts, it is called in place of
+ * {@link DefaultAtlasContext#process(AtlasSession)} and is not used by the context itself.
+ */
+public class JsonArrayStreamProcessor {
+    private static final Logger LOG = LoggerFactory.getLogger(JsonArrayStreamProcessor.class);
+    private static final ObjectMapper MAPPER = SharedObjectMapper.getInstance();
+
+    private String inputArrayPath;
+    private String outputArrayPath;
+
+    public String getInputArrayPath() {
+        return inputArrayPath;
+    }
+
+    /**
+     * @param inputArrayPath path of the input array, e.g. {@code /order/items},
+     *            or null to derive it from the collection mappings
+     */
+    public void setInputArrayPath(String inputArrayPath) {
+        this.inputArrayPath = inputArrayPath;
+    }
+
+    public String getOutputArrayPath() {
+        return outputArrayPath;
+    }
+
+    /**
+     * @param outputArrayPath path of the output array, e.g. {@code /items},
+     *            or null to derive it from the collection mappings
+     */
+    public void setOutputArrayPath(String outputArrayPath) {
+        this.outputArrayPath = outputArrayPath;
+    }
+
+    public long process(AtlasSession session, InputStream input, OutputStream output) throws AtlasException {
+        if (input == null || output == null) {
+            throw new AtlasException(new IllegalArgumentException("Arguments 'input' and 'output' cannot be null"));
+        }
+        try (JsonParser parser = MAPPER.getFactory().createParser(input);
+                JsonGenerator generator = MAPPER.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return process(session, parser, generator);
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    public long process(AtlasSession session, Reader input, Writer output) throws AtlasException {
+        if (input == null || output == null) {
+            throw new AtlasException(new IllegalArgumentException("Arguments 'input' and 'output' cannot be null"));
+        }
+        try (JsonParser parser = MAPPER.getFactory().createParser(input);
+                JsonGenerator generator = MAPPER.getFactory().createGenerator(output)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return process(session, parser, generator);
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Maps every element of the input array and appends the results to the output
+     * array. Processing stops at the first element that produces an error audit.
+     *
+     * @param session session created by a json to json context
+     * @param parser parser positioned before the input document
+     * @param generator generator the output document is written to
+     * @return number of elements written to the output array
+     * @throws AtlasException if the session can't be streamed or reading/writing fails
+     */
+    public long process(AtlasSession session, JsonParser parser, JsonGenerator generator) throws AtlasException {
+        if (session == null || !(session.getAtlasContext() instanceof DefaultAtlasContext)) {
+            throw new AtlasException("Session created by a DefaultAtlasContext must be specified");
+        }
+        if (parser == null || generator == null) {
+            throw new AtlasException(
+                    new IllegalArgumentException("Arguments 'parser' and 'generator' cannot be null"));
+        }
+        DefaultAtlasContext context = (DefaultAtlasContext) session.getAtlasContext();
+        if (!(context.getSourceModule() instanceof JsonModule) || !(context.getTargetModule() instanceof JsonModule)) {
+            throw new AtlasException("Streaming requires JSON source and target modules");
+        }
+        JsonModule sourceModule = (JsonModule) context.getSourceModule();
+        JsonModule targetModule = (JsonModule) context.getTargetModule();
+
+        context.processValidation(session);
+        StreamPlan plan = createPlan(session, sourceModule, targetModule);
+        String inputPath = inputArrayPath != null ? inputArrayPath : plan.inputArrayPath;
+        String outputPath = outputArrayPath != null ? outputArrayPath : plan.outputArrayPath;
+        List<String> outputSegments = toSegments(outputPath);
+
+        JsonFieldReader reader = new JsonFieldReader();
+        long count = 0;
+        try {
+            boolean found = moveToArray(parser, toSegments(inputPath), inputPath);
+            if (!found) {
+                addAudit(session, String.format("Input array was not found p=%s", inputPath), inputPath,
+                        AuditStatus.WARN);
+            }
+
+            writeArrayStart(generator, outputSegments);
+            JsonFieldWriter writer = new JsonFieldWriter(MAPPER);
+            session.setOutput(writer);
+            JsonToken token = found ? parser.nextToken() : null;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode element = MAPPER.readTree(parser);
+                token = parser.nextToken();
+                if (element == null || !element.isObject()) {
+                    addAudit(session, String.format("Skipping non-object array element %s", element), inputPath,
+                            AuditStatus.WARN);
+                    continue;
+                }
+
+                reader.setRootNode(element);
+                session.getInputCache().put(AtlasConstants.DEFAULT_SOURCE_DOC_ID, reader);
+                for (ElementMapping mapping : plan.mappings) {
+                    mapping.reset();
+                    sourceModule.processInputMapping(session, mapping.mapping);
+                    targetModule.processOutputMapping(session, mapping.mapping);
+                }
+
+                if (session.hasErrors()) {
+                    LOG.error(String.format("Aborting streaming due to %s errors at element %s", session.errorCount(),
+                            count));
+                    break;
+                }
+                MAPPER.writeTree(generator, writer.getRootNode());
+                writer.getRootNode().removeAll();
+                count++;
+            }
+            writeArrayEnd(generator, outputSegments);
+            generator.flush();
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        } finally {
+            session.getInputCache().remove(AtlasConstants.DEFAULT_SOURCE_DOC_ID);
+            session.setOutput(null);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Streamed %s elements from p=%s to p=%s", count, inputPath, outputPath));
+        }
+        return count;
+    }
+
+    private StreamPlan createPlan(AtlasSession session, JsonModule sourceModule, JsonModule targetModule)
+            throws AtlasException {
+        StreamPlan plan = new StreamPlan();
+        for (BaseMapping baseMapping : session.getMapping().getMappings().getMapping()) {
+            if (!MappingType.COLLECTION.equals(baseMapping.getMappingType())) {
+                addAudit(session, String.format("Skipping non-collection mapping alias=%s desc=%s in streaming mode",
+                        baseMapping.getAlias(), baseMapping.getDescription()), null, AuditStatus.WARN);
+                continue;
+            }
+            for (BaseMapping m : ((Collection) baseMapping).getMappings().getMapping()) {
+                Mapping mapping = (Mapping) m;
+                Mapping template = (Mapping) AtlasModelFactory.cloneMapping(mapping, false);
+                for (Field f : mapping.getInputField()) {
+                    template.getInputField().add(toElementField(plan, sourceModule, f, true));
+                }
+                for (Field f : mapping.getOutputField()) {
+                    template.getOutputField().add(toElementField(plan, targetModule, f, false));
+                }
+                plan.mappings.add(new ElementMapping(template));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Clones the field with its path made relative to the array element and records
+     * the array path it was taken from.
+     */
+    private Field toElementField(StreamPlan plan, JsonModule module, Field field, boolean input)
+            throws AtlasException {
+        if (!(field instanceof JsonField) || field.getPath() == null) {
+            return field;
+        }
+
+        List<String> segments = new PathUtil(field.getPath()).getSegments();
+        int collectionIndex = -1;
+        for (int i = 0; i < segments.size(); i++) {
+            if (PathUtil.isCollectionSegment(segments.get(i))) {
+                if (collectionIndex != -1) {
+                    throw new AtlasException(String.format(
+                            "Nested collections are not supported in streaming mode p=%s", field.getPath()));
+                }
+                collectionIndex = i;
+            }
+        }
+        if (collectionIndex == -1) {
+            throw new AtlasException(
+                    String.format("Field is not within a collection and can't be streamed p=%s", field.getPath()));
+        }
+
+        StringBuilder arrayPath = new StringBuilder();
+        for (int i = 0; i < collectionIndex; i++) {
+            arrayPath.append(PathUtil.PATH_SEPARATOR).append(segments.get(i));
+        }
+        arrayPath.append(PathUtil.PATH_SEPARATOR).append(PathUtil.cleanPathSegment(segments.get(collectionIndex)));
+        StringBuilder elementPath = new StringBuilder();
+        for (int i = collectionIndex + 1; i < segments.size(); i++) {
+            elementPath.append(PathUtil.PATH_SEPARATOR).append(segments.get(i));
+        }
+
+        String existing = input ? plan.inputArrayPath : plan.outputArrayPath;
+        if (existing != null && !existing.equals(arrayPath.toString())) {
+            throw new AtlasException(String.format(
+                    "Streamed fields must share a single array, found p=%s and p=%s", existing, arrayPath));
+        }
+        if (input) {
+            plan.inputArrayPath = arrayPath.toString();
+        } else {
+            plan.outputArrayPath = arrayPath.toString();
+        }
+
+        Field clone = module.cloneField(field);
+        clone.setPath(elementPath.toString());
+        return clone;
+    }
+
+    private static List<String> toSegments(String path) {
+        if (path == null || path.isEmpty() || PathUtil.PATH_SEPARATOR.equals(path)) {
+            return Collections.emptyList();
+        }
+        return new PathUtil(path).getSegments();
+    }
+
+    /**
+     * Advances the parser to the start of the array.
+     *
+     * @throws AtlasException if the document is an array but the array path is not empty
+     */
+    private static boolean moveToArray(JsonParser parser, List<String> segments, String path)
+            throws IOException, AtlasException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            if (!segments.isEmpty()) {
+                throw new AtlasException(
+                        String.format("Input document is a top-level array, it has no array at p=%s", path));
+            }
+            return true;
+        }
+        for (String segment : segments) {
+            if (token != JsonToken.START_OBJECT) {
+                return false;
+            }
+            token = moveToField(parser, segment);
+        }
+        return token == JsonToken.START_ARRAY;
+    }
+
+    private static JsonToken moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(fieldName)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static void writeArrayStart(JsonGenerator generator, List<String> segments) throws IOException {
+        for (String segment : segments) {
+            generator.writeStartObject();
+            generator.writeFieldName(segment);
+        }
+        generator.writeStartArray();
+    }
+
+    private static void writeArrayEnd(JsonGenerator generator, List<String> segments) throws IOException {
+        generator.writeEndArray();
+        for (int i = 0; i < segments.size(); i++) {
+            generator.writeEndObject();
+        }
+    }
+
+    private static void addAudit(AtlasSession session, String message, String path, AuditStatus status) {
+        Audit audit = new Audit();
+        audit.setMessage(message);
+        audit.setPath(path);
+        audit.setStatus(status);
+        session.getAudits().getAudit().add(audit);
+    }
+
+    /**
+     * Element mapping reused for every array element. The field values and types the
+     * previous element left behind are reset before the next one is mapped.
+     */
+    private static final class ElementMapping {
+        private final Mapping mapping;
+        private final List<Field> fields = new ArrayList<>();
+        private final List<FieldType> fieldTypes = new ArrayList<>();
+        private final List<CollectionType> collectionTypes = new ArrayList<>();
+
+        ElementMapping(Mapping mapping) {
+            this.mapping = mapping;
+            fields.addAll(mapping.getInputField());
+            fields.addAll(mapping.getOutputField());
+            for (Field field : fields) {
+                fieldTypes.add(field.getFieldType());
+                collectionTypes.add(field.getCollectionType());
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                field.setValue(null);
+                field.setFieldType(fieldTypes.get(i));
+                field.setCollectionType(collectionTypes.get(i));
+            }
+        }
+    }
+
+    private static final class StreamPlan {
+        private final List<ElementMapping> mappings = new ArrayList<>();
+        private String inputArrayPath;
+        private String outputArrayPath;
+    }
+}
@@ -16,27 +16,28 @@
 package io.atlasmap.json.module;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.BaseAtlasModule;
-import io.atlasmap.core.PathUtil;
 import io.atlasmap.core.PathUtil.SegmentContext;
 import io.atlasmap.json.core.JsonFieldReader;
 import io.atlasmap.json.core.JsonFieldWriter;
+import io.atlasmap.json.core.SharedObjectMapper;
 import io.atlasmap.json.v2.AtlasJsonModelFactory;
 import io.atlasmap.json.v2.JsonField;
 import io.atlasmap.spi.AtlasModuleDetail;
@@ -94,7 +95,6 @@ public class JsonModule extends BaseAtlasModule {
 
     @Override
     public void processInputMapping(AtlasSession session, BaseMapping baseMapping) throws AtlasException {
-        Map<String, JsonFieldReader> fieldReaderCache = new HashMap<>();
         for (Mapping mapping : this.generateInputMappings(session, baseMapping)) {
             if (mapping.getInputField() == null || mapping.getInputField().isEmpty()) {
                 addAudit(session, null,
@@ -134,28 +134,14 @@ public class JsonModule extends BaseAtlasModule {
 
                 JsonField inputField = (JsonField) field;
 
-                JsonFieldReader fieldReader = fieldReaderCache.get(field.getDocId());
+                JsonFieldReader fieldReader = getCachedFieldReader(session, field.getDocId());
                 if (fieldReader == null) {
-                    Object sourceObject = null;
-                    if (field.getDocId() != null && session.hasInput(field.getDocId())) {
-                        // Use docId only when it exists, otherwise use default input
-                        sourceObject = session.getInput(field.getDocId());
-                    } else {
-                        sourceObject = session.getInput();
-                    }
-
-                    if (sourceObject == null || !(sourceObject instanceof String)) {
-                        addAudit(session, field.getDocId(),
-                                String.format("Unsupported input object type=%s", field.getClass().getName()), field.getPath(),
-                                AuditStatus.ERROR, null);
-                        return;
-                    }
-                    String document = (String) sourceObject;
-                    fieldReader = new JsonFieldReader();
-                    fieldReader.setDocument(document);
-                    fieldReaderCache.put(field.getDocId(), fieldReader);
+                    addAudit(session, field.getDocId(),
+                            String.format("Unsupported input object type=%s", field.getClass().getName()), field.getPath(),
+                            AuditStatus.ERROR, null);
+                    return;
                 }
-                fieldReader.read(inputField);
+                fieldReader.read(inputField, getCompiledPath(session, inputField));
 
                 // NOTE: This shouldn't happen
                 if (inputField.getFieldType() == null) {
@@ -244,7 +230,7 @@ public class JsonModule extends BaseAtlasModule {
                             outputField);
                 }
 
-                writer.write((JsonField) outputField);
+                writer.write((JsonField) outputField, getCompiledPath(session, outputField));
                 break;
             case COMBINE:
                 processCombineField(session, mapping, mapping.getInputField(), outputField);
@@ -259,7 +245,7 @@ public class JsonModule extends BaseAtlasModule {
                             combinedField);
                 }
 
-                writer.write(combinedField);
+                writer.write(combinedField, getCompiledPath(session, outputField));
                 break;
             case LOOKUP:
                 Field inputFieldlkp = mapping.getInputField().get(0);
@@ -279,7 +265,7 @@ public class JsonModule extends BaseAtlasModule {
                             outputField);
                 }
 
-                writer.write(outputField);
+                writer.write(outputField, getCompiledPath(session, outputField));
                 break;
             case SEPARATE:
                 Field inputFieldsep = mapping.getInputField().get(0);
@@ -299,7 +285,7 @@ public class JsonModule extends BaseAtlasModule {
                         processFieldActions(session.getAtlasContext().getContextFactory().getFieldActionService(),
                                 outputFieldsep);
                     }
-                    writer.write(outputFieldsep);
+                    writer.write(outputFieldsep, getCompiledPath(session, outputFieldsep));
                 }
                 break;
             default:
@@ -328,7 +314,9 @@ public class JsonModule extends BaseAtlasModule {
         // Object output = session.getOutput(docId);
         Object output = session.getOutput();
         if (output instanceof JsonFieldWriter) {
-            if (((JsonFieldWriter) output).getRootNode() != null) {
+            if (((JsonFieldWriter) output).getRootNode() != null && session.getOutputSink() != null) {
+                writeToSink(session, ((JsonFieldWriter) output).getRootNode());
+            } else if (((JsonFieldWriter) output).getRootNode() != null) {
                 String outputBody = ((JsonFieldWriter) output).getRootNode().toString();
                 session.setOutput(outputBody);
                 if (LOG.isDebugEnabled()) {
@@ -348,6 +336,42 @@ public class JsonModule extends BaseAtlasModule {
         }
     }
 
+    /**
+     * Serializes the output straight into the session output sink so the document
+     * never exists as a String. The sink is flushed but not closed, and it becomes
+     * the session output.
+     */
+    private void writeToSink(AtlasSession session, JsonNode rootNode) throws AtlasException {
+        Object sink = session.getOutputSink();
+        ObjectMapper mapper = SharedObjectMapper.getInstance();
+        try {
+            if (sink instanceof JsonGenerator) {
+                mapper.writeTree((JsonGenerator) sink, rootNode);
+                ((JsonGenerator) sink).flush();
+            } else if (sink instanceof OutputStream || sink instanceof Writer) {
+                try (JsonGenerator generator = sink instanceof OutputStream
+                        ? mapper.getFactory().createGenerator((OutputStream) sink, JsonEncoding.UTF8)
+                        : mapper.getFactory().createGenerator((Writer) sink)) {
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    mapper.writeTree(generator, rootNode);
+                }
+            } else {
+                addAudit(session, null,
+                        String.format("Unsupported output sink type=%s", sink.getClass().getName()), null,
+                        AuditStatus.ERROR, null);
+                return;
+            }
+        } catch (IOException e) {
+            throw new AtlasException(String.format("Error writing json output msg=%s", e.getMessage()), e);
+        }
+        session.setOutput(sink);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("processPostOutputExecution wrote JsonNode to sink type=%s",
+                    sink.getClass().getName()));
+        }
+    }
+
     @Override
     public List<AtlasModuleMode> listSupportedModes() {
         return Arrays.asList(AtlasModuleMode.SOURCE, AtlasModuleMode.TARGET);
@@ -367,39 +391,51 @@ public class JsonModule extends BaseAtlasModule {
         return false;
     }
 
+    /**
+     * Returns the reader for the docId, parsing the input only on first access
+     * within the session. Returns null if the input type is not supported, see
+     * {@link JsonFieldReader#isSupportedDocument(Object)}.
+     */
+    private JsonFieldReader getCachedFieldReader(AtlasSession session, String docId) throws AtlasException {
+        String inputDocId = docId != null && session.hasInput(docId) ? docId : AtlasConstants.DEFAULT_SOURCE_DOC_ID;
+        Object cached = session.getInputCache().get(inputDocId);
+        if (cached instanceof JsonFieldReader) {
+            return (JsonFieldReader) cached;
+        }
+
+        // Use docId only when it exists, otherwise use default input
+        Object sourceObject = session.getInput(inputDocId);
+        if (!JsonFieldReader.isSupportedDocument(sourceObject)) {
+            return null;
+        }
+
+        JsonFieldReader fieldReader = new JsonFieldReader();
+        fieldReader.setDocument(sourceObject);
+        session.getInputCache().put(inputDocId, fieldReader);
+        return fieldReader;
+    }
+
     @Override
     public int getCollectionSize(AtlasSession session, Field field) throws AtlasException {
-        String sourceDocument = null;
-        if (field.getDocId() != null && session.hasInput(field.getDocId())) {
-            // Use docId only when it exists, otherwise use default input
-            sourceDocument = (String) session.getInput(field.getDocId());
-        } else {
-            sourceDocument = (String) session.getInput();
+        JsonFieldReader fieldReader = getCachedFieldReader(session, field.getDocId());
+        if (fieldReader == null || !(fieldReader.getRootNode() instanceof ObjectNode)) {
+            return 0;
         }
 
-        // make this a JSON document
-        JsonFactory jsonFactory = new JsonFactory();
-        ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            JsonParser parser = jsonFactory.createParser(sourceDocument);
-            JsonNode rootNode = objectMapper.readTree(parser);
-            ObjectNode parentNode = (ObjectNode) rootNode;
-            String parentSegment = "[root node]";
-            for (SegmentContext sc : new PathUtil(field.getPath()).getSegmentContexts(false)) {
-                JsonNode currentNode = JsonFieldWriter.getChildNode(parentNode, parentSegment, sc.getSegment());
-                if (currentNode == null) {
-                    return 0;
-                }
-                if (PathUtil.isCollectionSegment(sc.getSegment())) {
-                    if (currentNode != null && currentNode.isArray()) {
-                        return currentNode.size();
-                    }
-                    return 0;
+        ObjectNode parentNode = (ObjectNode) fieldReader.getRootNode();
+        String parentSegment = "[root node]";
+        for (SegmentContext sc : getCompiledPath(session, field).getSegmentContexts(false)) {
+            JsonNode currentNode = JsonFieldWriter.getChildNode(parentNode, parentSegment, sc.getSegment());
+            if (currentNode == null) {
+                return 0;
+            }
+            if (sc.getCompiledSegment().isCollection()) {
+                if (currentNode != null && currentNode.isArray()) {
+                    return currentNode.size();
                 }
-                parentNode = (ObjectNode) currentNode;
+                return 0;
             }
-        } catch (IOException e) {
-            throw new AtlasException(e.getMessage(), e);
+            parentNode = (ObjectNode) currentNode;
         }
         return 0;
     }
@@ -408,4 +444,12 @@ public class JsonModule extends BaseAtlasModule {
     public Field cloneField(Field field) throws AtlasException {
         return AtlasJsonModelFactory.cloneField(field);
     }
+
+    /**
+     * The cached {@link JsonFieldReader} only navigates an already parsed, unmodified tree.
+     */
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return true;
+    }
 }
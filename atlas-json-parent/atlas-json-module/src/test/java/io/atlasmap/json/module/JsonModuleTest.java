@@ -4,11 +4,20 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.atlasmap.core.DefaultAtlasSession;
+import io.atlasmap.json.core.JsonFieldReader;
 import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
 import io.atlasmap.v2.PropertyField;
 import io.atlasmap.v2.SimpleField;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class JsonModuleTest {
@@ -33,4 +42,65 @@ public class JsonModuleTest {
         assertTrue(module.isSupportedField(new SimpleField()));
     }
 
+    @Test
+    public void testInputParsedOncePerDocId() throws Exception {
+        DefaultAtlasSession session = new DefaultAtlasSession(AtlasModelFactory.createAtlasMapping());
+        session.setInput("{\"a\":\"1\",\"b\":\"2\",\"c\":\"3\"}", "source");
+
+        JsonField a = createField("source", "/a");
+        JsonField b = createField("source", "/b");
+        module.processInputMapping(session, createMapping(a, b));
+        Object reader = session.getInputCache().get("source");
+        assertTrue(reader instanceof JsonFieldReader);
+
+        JsonField c = createField("source", "/c");
+        module.processInputMapping(session, createMapping(c));
+
+        assertEquals("1", a.getValue());
+        assertEquals("2", b.getValue());
+        assertEquals("3", c.getValue());
+        assertSame(reader, session.getInputCache().get("source"));
+        assertEquals(1, session.getInputCache().size());
+        assertFalse(session.hasErrors());
+    }
+
+    @Test
+    public void testInputCachedPerDocId() throws Exception {
+        DefaultAtlasSession session = new DefaultAtlasSession(AtlasModelFactory.createAtlasMapping());
+        session.setInput("{\"value\":\"1\"}", "first");
+        session.setInput("{\"value\":\"2\"}", "second");
+
+        JsonField first = createField("first", "/value");
+        JsonField second = createField("second", "/value");
+        module.processInputMapping(session, createMapping(first, second));
+
+        assertEquals("1", first.getValue());
+        assertEquals("2", second.getValue());
+        assertEquals(2, session.getInputCache().size());
+        assertNotSame(session.getInputCache().get("first"), session.getInputCache().get("second"));
+
+        session.setInput("{\"value\":\"3\"}", "second");
+        assertFalse(session.getInputCache().containsKey("second"));
+        JsonField replaced = createField("second", "/value");
+        module.processInputMapping(session, createMapping(replaced));
+
+        assertEquals("3", replaced.getValue());
+        assertTrue(session.getInputCache().containsKey("first"));
+        assertFalse(session.hasErrors());
+    }
+
+    private Mapping createMapping(JsonField... inputFields) {
+        Mapping mapping = AtlasModelFactory.createMapping(MappingType.MAP);
+        for (JsonField field : inputFields) {
+            mapping.getInputField().add(field);
+        }
+        return mapping;
+    }
+
+    private JsonField createField(String docId, String path) {
+        JsonField field = new JsonField();
+        field.setDocId(docId);
+        field.setPath(path);
+        return field;
+    }
 }
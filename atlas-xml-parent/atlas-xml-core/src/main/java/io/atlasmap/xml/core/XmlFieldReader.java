@@ -28,7 +28,8 @@ import org.w3c.dom.NodeList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import io.atlasmap.core.PathUtil;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
 import io.atlasmap.core.PathUtil.SegmentContext;
 
 public class XmlFieldReader extends XmlFieldTransformer {
@@ -43,11 +44,25 @@ public class XmlFieldReader extends XmlFieldTransformer {
     }
 
     public void readNew(final Document document, final XmlField xmlField) throws AtlasException {
+        readNew(document, xmlField, null);
+    }
+
+    /**
+     * @param document document to read from
+     * @param xmlField field to read the value into
+     * @param path compiled form of the field path, or null to compile it from the field
+     * @throws AtlasException if the value can't be read
+     */
+    public void readNew(final Document document, final XmlField xmlField, CompiledPath path)
+            throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Reading input value for field: " + xmlField.getPath());
         }
+        if (path == null) {
+            path = CompiledPath.compile(xmlField.getPath());
+        }
         Element parentNode = document.getDocumentElement();
-        for (SegmentContext sc : new PathUtil(xmlField.getPath()).getSegmentContexts(false)) {
+        for (SegmentContext sc : path.getSegmentContexts(false)) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Now processing segment: " + sc.getSegment());
                 LOG.debug("Parent element is currently: " + XmlFieldWriter.writeDocumentToString(true, parentNode));
@@ -61,12 +76,9 @@ public class XmlFieldReader extends XmlFieldTransformer {
                 continue;
             }
 
-            if (!PathUtil.isAttributeSegment(sc.getSegment())) {
-                String childrenElementName = PathUtil.cleanPathSegment(sc.getSegment());
-                String namespaceAlias = PathUtil.getNamespace(sc.getSegment());
-                if (namespaceAlias != null && !"".equals(namespaceAlias)) {
-                    childrenElementName = namespaceAlias + ":" + childrenElementName;
-                }
+            Segment segment = sc.getCompiledSegment();
+            if (!segment.isAttribute()) {
+                String childrenElementName = segment.getQualifiedName();
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Looking for children elements with name: " + childrenElementName);
                 }
@@ -79,8 +91,8 @@ public class XmlFieldReader extends XmlFieldTransformer {
                     return;
                 }
                 parentNode = children.get(0);
-                if (PathUtil.isCollectionSegment(sc.getSegment())) {
-                    int index = PathUtil.indexOfSegment(sc.getSegment());
+                if (segment.isCollection()) {
+                    int index = segment.getIndex();
                     if (index >= children.size()) {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug("Skipping input value set, children list can't fit index " + index
@@ -93,25 +105,10 @@ public class XmlFieldReader extends XmlFieldTransformer {
             }
             if (sc.getNext() == null) { // last segment.
                 String value = parentNode.getTextContent();
-                if (PathUtil.isAttributeSegment(sc.getSegment())) {
-                    String attributeName = PathUtil.cleanPathSegment(sc.getSegment());
-                    value = parentNode.getAttribute(attributeName);
-                }
-                if (xmlField.getFieldType() == null || FieldType.STRING.equals(xmlField.getFieldType())) {
-                    xmlField.setValue(value);
-                    xmlField.setFieldType(FieldType.STRING);
-                } else if (FieldType.CHAR.equals(xmlField.getFieldType())) {
-                    xmlField.setValue(value.charAt(0));
-                }
-
-                if (value != null) {
-                    if (FieldType.BOOLEAN.equals(xmlField.getFieldType())) {
-                        xmlField.setValue(processXmlStringAsBoolean(value));
-                    } else {
-                        LOG.warn(String.format("Unsupported FieldType for text data t=%s p=%s docId=%s",
-                                xmlField.getFieldType().value(), xmlField.getPath(), xmlField.getDocId()));
-                    }
+                if (segment.isAttribute()) {
+                    value = parentNode.getAttribute(segment.getName());
                 }
+                populateFieldValue(xmlField, value);
                 return;
             }
         }
@@ -128,11 +125,12 @@ public class XmlFieldReader extends XmlFieldTransformer {
         // check to see if the document has namespaces
         seedDocumentNamespaces(document);
         // read the Document using xmlPath field to set the value on the XmlField
-        String xmlPath = xmlField.getPath();
+        CompiledPath xmlPath = CompiledPath.compile(xmlField.getPath());
+        if (xmlPath.getSegmentCount() == 0) {
+            return;
+        }
         String attr = null;
-        LinkedList<String> elements = getElementsInXmlPath(xmlPath);
-        LinkedList<XmlPathCoordinate> xmlPathCoordinates = (LinkedList<XmlPathCoordinate>) createXmlPathCoordinates(
-                elements);
+        LinkedList<XmlPathCoordinate> xmlPathCoordinates = createXmlPathCoordinates(xmlPath);
         // is the last coordinate an attribute?
         if (xmlPathCoordinates.getLast().getElementName().startsWith("@")) {
             attr = xmlPathCoordinates.getLast().getElementName().replace("@", "").trim();
@@ -162,25 +160,29 @@ public class XmlFieldReader extends XmlFieldTransformer {
                 } else {
                     value = e.getTextContent();
                 }
-                if (xmlField.getFieldType() == null || FieldType.STRING.equals(xmlField.getFieldType())) {
-                    xmlField.setValue(value);
-                    xmlField.setFieldType(FieldType.STRING);
-                } else if (FieldType.CHAR.equals(xmlField.getFieldType())) {
-                    xmlField.setValue(value.charAt(0));
-                }
-
-                if (value != null) {
-                    if (FieldType.BOOLEAN.equals(xmlField.getFieldType())) {
-                        xmlField.setValue(processXmlStringAsBoolean(value));
-                    } else {
-                        LOG.warn(String.format("Unsupported FieldType for text data t=%s p=%s docId=%s",
-                                xmlField.getFieldType().value(), xmlField.getPath(), xmlField.getDocId()));
-                    }
-                }
+                populateFieldValue(xmlField, value);
             }
         }
     }
 
+    /**
+     * Sets the text value read from the document on the field, converting it
+     * according to the field type.
+     */
+    static void populateFieldValue(XmlField xmlField, String value) {
+        if (xmlField.getFieldType() == null || FieldType.STRING.equals(xmlField.getFieldType())) {
+            xmlField.setValue(value);
+            xmlField.setFieldType(FieldType.STRING);
+        } else if (FieldType.CHAR.equals(xmlField.getFieldType())) {
+            xmlField.setValue(value != null && !value.isEmpty() ? value.charAt(0) : null);
+        } else if (FieldType.BOOLEAN.equals(xmlField.getFieldType())) {
+            xmlField.setValue(processXmlStringAsBoolean(value));
+        } else if (value != null) {
+            LOG.warn(String.format("Unsupported FieldType for text data t=%s p=%s docId=%s",
+                    xmlField.getFieldType().value(), xmlField.getPath(), xmlField.getDocId()));
+        }
+    }
+
     public static Boolean processXmlStringAsBoolean(String value) {
         if (value == null) {
             return null;
@@ -270,10 +272,11 @@ public class XmlFieldReader extends XmlFieldTransformer {
         // check to see if the document has namespaces
         seedDocumentNamespaces(document);
         // read the Document using xmlPath field to set the value on the XmlField
-        String xmlPath = xmlField.getPath();
-        LinkedList<String> elements = getElementsInXmlPath(xmlPath);
-        LinkedList<XmlPathCoordinate> xmlPathCoordinates = (LinkedList<XmlPathCoordinate>) createXmlPathCoordinates(
-                elements);
+        CompiledPath xmlPath = CompiledPath.compile(xmlField.getPath());
+        if (xmlPath.getSegmentCount() == 0) {
+            return null;
+        }
+        LinkedList<XmlPathCoordinate> xmlPathCoordinates = createXmlPathCoordinates(xmlPath);
         // is the last coordinate an attribute?
         if (xmlPathCoordinates.getLast().getElementName().startsWith("@")) {
             xmlPathCoordinates.removeLast();
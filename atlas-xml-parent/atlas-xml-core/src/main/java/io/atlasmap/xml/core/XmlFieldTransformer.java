@@ -28,6 +28,10 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
+import io.atlasmap.v2.CollectionType;
+
 public abstract class XmlFieldTransformer {
 
     protected Map<String, String> namespaces = new HashMap<>();
@@ -74,6 +78,30 @@ public abstract class XmlFieldTransformer {
         return xmlPathCoordinates;
     }
 
+    /**
+     * Creates the coordinates from an already compiled path, without splitting
+     * or parsing the segment strings again.
+     *
+     * @param path compiled field path
+     * @return coordinates for each segment
+     */
+    protected LinkedList<XmlPathCoordinate> createXmlPathCoordinates(CompiledPath path) {
+        LinkedList<XmlPathCoordinate> xmlPathCoordinates = new LinkedList<>();
+        for (Segment segment : path.getSegments()) {
+            XmlPathCoordinate xmlPathCoordinate;
+            if (segment.getCollectionType() == CollectionType.ARRAY) {
+                xmlPathCoordinate = new XmlPathCoordinate(segment.getIndex(), segment.getUnindexedName());
+            } else {
+                xmlPathCoordinate = new XmlPathCoordinate(0, segment.getExpression());
+            }
+            if (namespaces != null && !namespaces.isEmpty()) {
+                handleNamespacedElements(xmlPathCoordinate.getElementName(), xmlPathCoordinate);
+            }
+            xmlPathCoordinates.addLast(xmlPathCoordinate);
+        }
+        return xmlPathCoordinates;
+    }
+
     protected String findNamespaceURIFromPrefix(String prefix) {
         return namespaces.entrySet().stream().filter(e -> e.getValue().equals(prefix)).map(Map.Entry::getKey)
                 .findFirst().orElse(null);
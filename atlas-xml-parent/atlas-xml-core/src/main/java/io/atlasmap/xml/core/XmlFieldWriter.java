@@ -38,7 +38,8 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import io.atlasmap.api.AtlasException;
-import io.atlasmap.core.PathUtil;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
 import io.atlasmap.xml.v2.XmlField;
@@ -72,6 +73,15 @@ public class XmlFieldWriter extends XmlFieldTransformer {
     }
 
     public void write(Field field) throws AtlasException {
+        write(field, null);
+    }
+
+    /**
+     * @param field field to write
+     * @param path compiled form of the field path, or null to compile it from the field
+     * @throws AtlasException if the field is null or can't be written
+     */
+    public void write(Field field, CompiledPath path) throws AtlasException {
         if (field == null) {
             throw new AtlasException(new IllegalArgumentException("Argument 'field' cannot be null"));
         }
@@ -81,11 +91,14 @@ public class XmlFieldWriter extends XmlFieldTransformer {
                     field.getValue());
         }
 
-        PathUtil path = new PathUtil(field.getPath());
-        String lastSegment = path.getLastSegment();
+        if (path == null) {
+            path = CompiledPath.compile(field.getPath());
+        }
+        int lastIndex = path.getSegmentCount() - 1;
         Element parentNode = null;
         String parentSegment = null;
-        for (String segment : path.getSegments()) {
+        for (int i = 0; i <= lastIndex; i++) {
+            Segment segment = path.getSegment(i);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Now processing segment: " + segment);
                 LOG.debug("Parent element is currently: " + writeDocumentToString(true, parentNode));
@@ -93,32 +106,31 @@ public class XmlFieldWriter extends XmlFieldTransformer {
             if (parentNode == null) {
                 // processing root node
                 parentNode = document.getDocumentElement();
-                String cleanedSegment = PathUtil.cleanPathSegment(segment);
                 if (parentNode == null) {
                     if (LOG.isDebugEnabled()) {
-                        LOG.debug("Creating root element with name: " + cleanedSegment);
+                        LOG.debug("Creating root element with name: " + segment.getName());
                     }
                     // no root node exists yet, create root node with this segment name;
                     Element rootNode = createElement(segment);
                     addNamespacesToElement(rootNode, namespaces);
                     document.appendChild(rootNode);
                     parentNode = rootNode;
-                } else if (!(parentNode.getNodeName().equals(segment))) {
+                } else if (!(parentNode.getNodeName().equals(segment.getExpression()))) {
                     // make sure root element's name matches.
                     throw new AtlasException("Root element name '" + parentNode.getNodeName()
                             + "' does not match expected name '" + segment + "' from path: " + field.getPath());
                 }
-                parentSegment = segment;
+                parentSegment = segment.getExpression();
             } else {
                 if (LOG.isDebugEnabled()) {
-                    if (segment.equals(lastSegment)) {
+                    if (i == lastIndex) {
                         LOG.debug("Now processing field value segment: " + segment);
                     } else {
                         LOG.debug("Now processing parent segment: " + segment);
                     }
                 }
 
-                if (!PathUtil.isAttributeSegment(segment)) {
+                if (!segment.isAttribute()) {
                     // if current segment of path isn't attribute, it refers to a child element,
                     // find it or create it..
                     Element childNode = getChildNode(parentNode, parentSegment, segment);
@@ -126,10 +138,10 @@ public class XmlFieldWriter extends XmlFieldTransformer {
                         childNode = createParentNode(parentNode, parentSegment, segment);
                     }
                     parentNode = childNode;
-                    parentSegment = segment;
+                    parentSegment = segment.getExpression();
                 }
 
-                if (segment.equals(lastSegment)) {
+                if (i == lastIndex) {
                     writeValue(parentNode, segment, field);
                 }
             }
@@ -148,21 +160,25 @@ public class XmlFieldWriter extends XmlFieldTransformer {
     }
 
     public void writeValue(Element parentNode, String segment, Field field) throws AtlasException {
+        writeValue(parentNode, CompiledPath.compileSegment(segment), field);
+    }
+
+    private void writeValue(Element parentNode, Segment segment, Field field) throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Writing field value in parent node '" + segment + "', parentNode: "
                     + writeDocumentToString(true, parentNode));
         }
         String value = convertValue(field);
-        if (PathUtil.isAttributeSegment(segment)) {
-            String cleanedSegment = PathUtil.cleanPathSegment(segment);
+        if (segment.isAttribute()) {
+            String cleanedSegment = segment.getName();
             if (this.enableAttributeNamespaces) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Attribute namespaces are enabled, determining namespace.");
                 }
                 String namespaceAlias = null;
                 String namespaceUri = null;
-                if (PathUtil.isNamespaceSegment(segment)) {
-                    namespaceAlias = PathUtil.getNamespace(segment);
+                if (segment.isNamespaced()) {
+                    namespaceAlias = segment.getPrefix();
                     namespaceUri = this.namespaces.get(namespaceAlias);
                     LOG.debug("Parsed namespace alias '" + namespaceAlias + "', from segment '" + segment
                             + "', namespaceUri: " + namespaceUri);
@@ -189,6 +205,11 @@ public class XmlFieldWriter extends XmlFieldTransformer {
     }
 
     public static Element getChildNode(Element parentNode, String parentSegment, String segment) throws AtlasException {
+        return getChildNode(parentNode, parentSegment, CompiledPath.compileSegment(segment));
+    }
+
+    private static Element getChildNode(Element parentNode, String parentSegment, Segment segment)
+            throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Looking for child node '" + segment + "' in parent '" + parentSegment + "': "
                     + writeDocumentToString(true, parentNode));
@@ -196,19 +217,15 @@ public class XmlFieldWriter extends XmlFieldTransformer {
         if (parentNode == null) {
             return null;
         }
-        String cleanedSegment = PathUtil.cleanPathSegment(segment);
-        String namespaceAlias = PathUtil.getNamespace(segment);
-        if (namespaceAlias != null && !"".equals(namespaceAlias)) {
-            cleanedSegment = namespaceAlias + ":" + cleanedSegment;
-        }
+        String cleanedSegment = segment.getQualifiedName();
         List<Element> children = getChildrenWithName(cleanedSegment, parentNode);
         if (LOG.isDebugEnabled()) {
             LOG.debug("Found " + children.size() + " children in '" + parentSegment + "' with the name '"
                     + cleanedSegment + "'.");
         }
         Element childNode = children.size() > 0 ? children.get(0) : null;
-        if (children.size() > 0 && PathUtil.isCollectionSegment(segment)) {
-            int index = PathUtil.indexOfSegment(segment);
+        if (children.size() > 0 && segment.isCollection()) {
+            int index = segment.getIndex();
             childNode = null;
             if (children.size() > index) {
                 childNode = children.get(index);
@@ -226,17 +243,18 @@ public class XmlFieldWriter extends XmlFieldTransformer {
     }
 
     public Element createParentNode(Element parentNode, String parentSegment, String segment) throws AtlasException {
+        return createParentNode(parentNode, parentSegment, CompiledPath.compileSegment(segment));
+    }
+
+    private Element createParentNode(Element parentNode, String parentSegment, Segment segment)
+            throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating parent node '" + segment + "' under previous parent '" + parentSegment + "'.");
         }
         Element childNode = null;
-        String cleanedSegment = PathUtil.cleanPathSegment(segment);
-        if (PathUtil.isCollectionSegment(segment)) {
-            int index = PathUtil.indexOfSegment(segment);
-            String namespaceAlias = PathUtil.getNamespace(segment);
-            if (namespaceAlias != null && !"".equals(namespaceAlias)) {
-                cleanedSegment = namespaceAlias + ":" + cleanedSegment;
-            }
+        if (segment.isCollection()) {
+            int index = segment.getIndex();
+            String cleanedSegment = segment.getQualifiedName();
 
             List<Element> children = getChildrenWithName(cleanedSegment, parentNode);
 
@@ -268,7 +286,11 @@ public class XmlFieldWriter extends XmlFieldTransformer {
     }
 
     public Element createElement(String segment) throws AtlasException {
-        String cleanedSegment = PathUtil.cleanPathSegment(segment);
+        return createElement(CompiledPath.compileSegment(segment));
+    }
+
+    private Element createElement(Segment segment) throws AtlasException {
+        String cleanedSegment = segment.getName();
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating element for segment '" + segment + "'.");
         }
@@ -278,8 +300,8 @@ public class XmlFieldWriter extends XmlFieldTransformer {
             }
             String namespaceAlias = null;
             String namespaceUri = null;
-            if (PathUtil.isNamespaceSegment(segment)) {
-                namespaceAlias = PathUtil.getNamespace(segment);
+            if (segment.isNamespaced()) {
+                namespaceAlias = segment.getPrefix();
                 namespaceUri = this.namespaces.get(namespaceAlias);
                 LOG.debug("Parsed namespace alias '" + namespaceAlias + "', from segment '" + segment
                         + "', namespaceUri: " + namespaceUri + ", known namespaces: " + this.namespaces);
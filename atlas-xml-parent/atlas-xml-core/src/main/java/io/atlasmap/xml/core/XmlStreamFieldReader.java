@@ -0,0 +1,361 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
+import io.atlasmap.xml.v2.XmlField;
+
+/**
+ * Reads a known set of {@link XmlField}s in a single forward pass over a StAX
+ * {@link XMLStreamReader} without building a DOM. The field paths are compiled
+ * into a path trie before reading, subtrees no field points into are skipped and
+ * reading stops as soon as every field has been resolved.
+ * <p>
+ * Paths are resolved the same way as {@link XmlFieldReader#readNew}: the first
+ * segment stands for the document element, element segments match the qualified
+ * element name, indexed collection segments select the n-th child with that name
+ * and a trailing attribute segment reads the attribute instead of the text.
+ */
+public class XmlStreamFieldReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(XmlStreamFieldReader.class);
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final PathNode root = new PathNode();
+    private final Set<XmlField> fields = Collections.newSetFromMap(new IdentityHashMap<XmlField, Boolean>());
+    private int targetCount;
+
+    public XmlStreamFieldReader() {
+    }
+
+    public XmlStreamFieldReader(List<XmlField> xmlFields) throws AtlasException {
+        if (xmlFields == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'xmlFields' cannot be null"));
+        }
+        for (XmlField xmlField : xmlFields) {
+            addField(xmlField);
+        }
+    }
+
+    /**
+     * Adds the field path to the path trie. Must be called before reading.
+     *
+     * @param xmlField field to populate
+     * @throws AtlasException if the field or its path is null
+     */
+    public void addField(XmlField xmlField) throws AtlasException {
+        if (xmlField == null || xmlField.getPath() == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'xmlField' and its path cannot be null"));
+        }
+        if (!fields.add(xmlField)) {
+            return;
+        }
+
+        CompiledPath path = CompiledPath.compile(xmlField.getPath());
+        PathNode node = root;
+        for (int i = 1; i < path.getSegmentCount(); i++) {
+            Segment segment = path.getSegment(i);
+            boolean last = i == path.getSegmentCount() - 1;
+            if (segment.isAttribute()) {
+                if (last) {
+                    node.addAttributeField(segment.getName(), xmlField);
+                    targetCount++;
+                }
+                continue;
+            }
+            node = node.getOrCreateChild(segment.getQualifiedName(), getIndex(segment));
+            if (last) {
+                node.textFields.add(xmlField);
+                targetCount++;
+            }
+        }
+    }
+
+    /**
+     * @param xmlField field
+     * @return true if the field is populated by this reader
+     */
+    public boolean contains(XmlField xmlField) {
+        return fields.contains(xmlField);
+    }
+
+    public int getFieldCount() {
+        return fields.size();
+    }
+
+    public void read(String document) throws AtlasException {
+        if (document == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'document' cannot be null"));
+        }
+        read(new StringReader(document));
+    }
+
+    public void read(Reader document) throws AtlasException {
+        if (document == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'document' cannot be null"));
+        }
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(document);
+            read(reader);
+        } catch (XMLStreamException e) {
+            throw new AtlasException(e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    public void read(InputStream document) throws AtlasException {
+        if (document == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'document' cannot be null"));
+        }
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(document);
+            read(reader);
+        } catch (XMLStreamException e) {
+            throw new AtlasException(e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    /**
+     * Populates the registered fields from the stream. The reader is left positioned
+     * after the last element needed and is not closed.
+     *
+     * @param reader stream reader positioned before the document element
+     * @throws AtlasException if the document can't be read
+     */
+    public void read(XMLStreamReader reader) throws AtlasException {
+        if (reader == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'reader' cannot be null"));
+        }
+
+        int remaining = targetCount;
+        int capturing = 0;
+        Deque<Frame> stack = new ArrayDeque<>();
+        try {
+            while (remaining > 0 && reader.hasNext()) {
+                switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    PathNode node = stack.isEmpty() ? root : stack.peek().nextChild(getQualifiedName(reader));
+                    if (node == null && capturing == 0) {
+                        skipElement(reader);
+                        break;
+                    }
+                    if (node != null) {
+                        remaining -= readAttributes(reader, node);
+                    }
+                    Frame frame = new Frame(node);
+                    if (frame.text != null) {
+                        capturing++;
+                    }
+                    stack.push(frame);
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (capturing > 0) {
+                        String text = reader.getText();
+                        for (Frame f : stack) {
+                            if (f.text != null) {
+                                f.text.append(text);
+                            }
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    Frame closed = stack.pop();
+                    if (closed.text != null) {
+                        capturing--;
+                        String value = closed.text.toString();
+                        for (XmlField xmlField : closed.node.textFields) {
+                            XmlFieldReader.populateFieldValue(xmlField, value);
+                        }
+                        remaining -= closed.node.textFields.size();
+                    }
+                    break;
+                default:
+                    break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new AtlasException(e);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Streamed %s fields, %s values were not found in the document", fields.size(),
+                    remaining));
+        }
+    }
+
+    private static int readAttributes(XMLStreamReader reader, PathNode node) {
+        if (node.attributeFields == null) {
+            return 0;
+        }
+        int populated = 0;
+        for (Map.Entry<String, List<XmlField>> entry : node.attributeFields.entrySet()) {
+            // match DOM Element.getAttribute() which returns an empty string for a missing attribute
+            String value = "";
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String prefix = reader.getAttributePrefix(i);
+                String localName = reader.getAttributeLocalName(i);
+                String name = prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+                if (name.equals(entry.getKey())) {
+                    value = reader.getAttributeValue(i);
+                    break;
+                }
+            }
+            for (XmlField xmlField : entry.getValue()) {
+                XmlFieldReader.populateFieldValue(xmlField, value);
+            }
+            populated += entry.getValue().size();
+        }
+        return populated;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static String getQualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
+    private static int getIndex(Segment segment) {
+        Integer index = segment.getIndex();
+        return segment.isCollection() && index != null ? index : 0;
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            LOG.debug("Error closing XMLStreamReader", e);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+    private static final class PathNode {
+        private final List<XmlField> textFields = new LinkedList<>();
+        private Map<String, Map<Integer, PathNode>> children;
+        private Map<String, List<XmlField>> attributeFields;
+
+        PathNode getOrCreateChild(String name, int index) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            Map<Integer, PathNode> indexed = children.get(name);
+            if (indexed == null) {
+                indexed = new HashMap<>();
+                children.put(name, indexed);
+            }
+            PathNode child = indexed.get(index);
+            if (child == null) {
+                child = new PathNode();
+                indexed.put(index, child);
+            }
+            return child;
+        }
+
+        void addAttributeField(String name, XmlField xmlField) {
+            if (attributeFields == null) {
+                attributeFields = new HashMap<>();
+            }
+            List<XmlField> list = attributeFields.get(name);
+            if (list == null) {
+                list = new LinkedList<>();
+                attributeFields.put(name, list);
+            }
+            list.add(xmlField);
+        }
+    }
+
+    /**
+     * An open element. Counts the children seen so far to resolve collection
+     * indexes and collects the text content if a field reads it.
+     */
+    private static final class Frame {
+        private final PathNode node;
+        private final StringBuilder text;
+        private Map<String, int[]> childCounts;
+
+        Frame(PathNode node) {
+            this.node = node;
+            this.text = node != null && !node.textFields.isEmpty() ? new StringBuilder() : null;
+        }
+
+        PathNode nextChild(String name) {
+            if (node == null || node.children == null) {
+                return null;
+            }
+            Map<Integer, PathNode> indexed = node.children.get(name);
+            if (indexed == null) {
+                return null;
+            }
+            if (childCounts == null) {
+                childCounts = new HashMap<>();
+            }
+            int[] count = childCounts.get(name);
+            if (count == null) {
+                count = new int[1];
+                childCounts.put(name, count);
+            }
+            return indexed.get(count[0]++);
+        }
+    }
+}
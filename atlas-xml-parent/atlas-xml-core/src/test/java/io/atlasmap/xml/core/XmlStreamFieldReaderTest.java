@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.xml.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.xml.v2.AtlasXmlModelFactory;
+import io.atlasmap.xml.v2.XmlField;
+
+public class XmlStreamFieldReaderTest {
+
+    private static final String COMPLEX_EXAMPLE = "src/test/resources/complex_example.xml";
+
+    @Test
+    public void testReadElementAndAttributeValues() throws Exception {
+        XmlField id = createField("/orders/order/id");
+        XmlField totalCost = createField("/orders/@totalCost");
+        XmlField custId = createField("/orders/order<2>/id<1>/@custId");
+        XmlField lastId = createField("/orders/order<2>/id<2>");
+
+        XmlStreamFieldReader reader = new XmlStreamFieldReader(Arrays.asList(id, totalCost, custId, lastId));
+        try (InputStream in = new FileInputStream(COMPLEX_EXAMPLE)) {
+            reader.read(in);
+        }
+
+        assertEquals("12312", id.getValue());
+        assertEquals("12525.00", totalCost.getValue());
+        assertEquals("b", custId.getValue());
+        assertEquals("54554555", lastId.getValue());
+        assertEquals(FieldType.STRING, lastId.getFieldType());
+    }
+
+    @Test
+    public void testReadMatchesDomReader() throws Exception {
+        List<String> paths = Arrays.asList("/orders/order/id", "/orders/order<1>/id", "/orders/order<3>/id<1>",
+                "/orders/order<3>/id<1>/@custId", "/orders/order<1>", "/orders/order<9>/id", "/orders/@missing");
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new FileInputStream(COMPLEX_EXAMPLE));
+        XmlFieldReader domReader = new XmlFieldReader();
+        XmlStreamFieldReader streamReader = new XmlStreamFieldReader();
+        XmlField[] streamFields = new XmlField[paths.size()];
+        for (int i = 0; i < paths.size(); i++) {
+            streamFields[i] = createField(paths.get(i));
+            streamReader.addField(streamFields[i]);
+        }
+        try (InputStream in = new FileInputStream(COMPLEX_EXAMPLE)) {
+            streamReader.read(in);
+        }
+
+        for (int i = 0; i < paths.size(); i++) {
+            XmlField domField = createField(paths.get(i));
+            domReader.readNew(document, domField);
+            assertEquals(paths.get(i), domField.getValue(), streamFields[i].getValue());
+        }
+    }
+
+    @Test
+    public void testReadTypedValues() throws Exception {
+        XmlField flag = createField("/root/flag");
+        flag.setFieldType(FieldType.BOOLEAN);
+        XmlField initial = createField("/root/name");
+        initial.setFieldType(FieldType.CHAR);
+        XmlField text = createField("/root/text");
+
+        XmlStreamFieldReader reader = new XmlStreamFieldReader(Arrays.asList(flag, initial, text));
+        reader.read("<root><flag>1</flag><name>Bob</name><text>a<b>b</b><![CDATA[c]]></text></root>");
+
+        assertEquals(Boolean.TRUE, flag.getValue());
+        assertEquals('B', initial.getValue());
+        assertEquals("abc", text.getValue());
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        XmlField field = createField("/orders/order/id");
+        XmlStreamFieldReader reader = new XmlStreamFieldReader();
+        assertFalse(reader.contains(field));
+        reader.addField(field);
+        reader.addField(field);
+        assertTrue(reader.contains(field));
+        assertEquals(1, reader.getFieldCount());
+
+        reader.read("<orders/>");
+        assertNull(field.getValue());
+    }
+
+    private XmlField createField(String path) {
+        XmlField field = AtlasXmlModelFactory.createXmlField();
+        field.setPath(path);
+        return field;
+    }
+}
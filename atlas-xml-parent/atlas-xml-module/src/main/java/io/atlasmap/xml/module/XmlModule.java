@@ -17,30 +17,38 @@ package io.atlasmap.xml.module;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasSession;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
-import io.atlasmap.core.PathUtil;
 import io.atlasmap.core.PathUtil.SegmentContext;
 import io.atlasmap.spi.AtlasModuleDetail;
 import io.atlasmap.v2.Audit;
@@ -52,12 +60,14 @@ import io.atlasmap.v2.DataSourceType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
 import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
 import io.atlasmap.v2.PropertyField;
 import io.atlasmap.v2.SimpleField;
 import io.atlasmap.v2.Validation;
 import io.atlasmap.xml.v2.AtlasXmlModelFactory;
 import io.atlasmap.xml.core.XmlFieldReader;
 import io.atlasmap.xml.core.XmlFieldWriter;
+import io.atlasmap.xml.core.XmlStreamFieldReader;
 import io.atlasmap.xml.v2.XmlDataSource;
 import io.atlasmap.xml.v2.XmlField;
 import io.atlasmap.xml.v2.XmlNamespace;
@@ -94,6 +104,17 @@ public class XmlModule extends BaseAtlasModule {
         }
     }
 
+    @Override
+    public void processPreInputExecution(AtlasSession session) throws AtlasException {
+        if (isStreamInputEnabled(session)) {
+            streamInputFields(session);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("processPreInputExcution completed");
+        }
+    }
+
     @Override
     public void processPreValidation(AtlasSession atlasSession) throws AtlasException {
         if (atlasSession == null || atlasSession.getMapping() == null) {
@@ -116,6 +137,7 @@ public class XmlModule extends BaseAtlasModule {
 
     @Override
     public void processInputMapping(AtlasSession session, BaseMapping baseMapping) throws AtlasException {
+        boolean enableNamespaces = isNamespacesEnabled(session);
         for (Mapping mapping : this.generateInputMappings(session, baseMapping)) {
             if (mapping.getInputField() == null || mapping.getInputField().isEmpty()) {
                 addAudit(session, null,
@@ -154,52 +176,37 @@ public class XmlModule extends BaseAtlasModule {
                 }
 
                 XmlField inputField = (XmlField) field;
-
-                Object sourceObject = null;
-                if (field.getDocId() != null && session.hasInput(field.getDocId())) {
-                    // Use docId only when it exists, otherwise use default input
-                    sourceObject = session.getInput(field.getDocId());
-                } else {
-                    sourceObject = session.getInput();
-                }
-
-                if (sourceObject == null || !(sourceObject instanceof String)) {
-                    addAudit(session, field.getDocId(),
-                            String.format("Unsupported input object type=%s", field.getClass().getName()), field.getPath(),
-                            AuditStatus.ERROR, null);
-                    return;
-                }
-
-                Document document = null;
-
-                Map<String, String> sourceUriParams = AtlasUtil
-                        .getUriParameters(session.getMapping().getDataSource().get(0).getUri());
-
-                boolean enableNamespaces = true;
-                for (String key : sourceUriParams.keySet()) {
-                    if ("disableNamespaces".equals(key) && ("true".equals(sourceUriParams.get("disableNamespaces")))) {
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Disabling namespace support");
-                        }
-                        enableNamespaces = false;
+                if (isStreamed(session, inputField)) {
+                    // already populated by the streaming pre-pass
+                    if (inputField.getFieldType() == null) {
+                        inputField.setFieldType(FieldType.STRING);
                     }
+                    continue;
                 }
 
+                Document document = null;
                 try {
-                    document = getDocument((String) sourceObject, enableNamespaces);
-                } catch (IOException | ParserConfigurationException | SAXException e) {
+                    document = getCachedDocument(session, field.getDocId(), enableNamespaces);
+                } catch (IOException | ParserConfigurationException | SAXException | TransformerException e) {
                     LOG.error(String.format("Error parsing xml input object msg=%s", e.getMessage()), e);
                     Audit audit = new Audit();
                     audit.setDocId(field.getDocId());
                     audit.setPath(field.getPath());
                     audit.setStatus(AuditStatus.ERROR);
-                    audit.setMessage(String.format("Error parsing xml input object msg=%s", field.getClass().getName()));
+                    audit.setMessage(String.format("Error parsing xml input object msg=%s", e.getMessage()));
                     session.getAudits().getAudit().add(audit);
                     return;
                 }
 
+                if (document == null) {
+                    addAudit(session, field.getDocId(),
+                            String.format("Unsupported input object type=%s", field.getClass().getName()), field.getPath(),
+                            AuditStatus.ERROR, null);
+                    return;
+                }
+
                 XmlFieldReader dxfr = new XmlFieldReader();
-                dxfr.readNew(document, inputField);
+                dxfr.readNew(document, inputField, getCompiledPath(session, inputField));
 
                 if (inputField.getFieldType() == null) {
                     inputField.setFieldType(FieldType.STRING);
@@ -283,7 +290,7 @@ public class XmlModule extends BaseAtlasModule {
                             outputField);
                 }
 
-                writer.write((XmlField) outputField);
+                writer.write((XmlField) outputField, getCompiledPath(session, outputField));
                 break;
             case COMBINE:
                 processCombineField(session, mapping, mapping.getInputField(), outputField);
@@ -298,7 +305,7 @@ public class XmlModule extends BaseAtlasModule {
                             combinedField);
                 }
 
-                writer.write(combinedField);
+                writer.write(combinedField, getCompiledPath(session, outputField));
                 break;
             case LOOKUP:
                 Field inputFieldlkp = mapping.getInputField().get(0);
@@ -318,7 +325,7 @@ public class XmlModule extends BaseAtlasModule {
                             outputField);
                 }
 
-                writer.write(outputField);
+                writer.write(outputField, getCompiledPath(session, outputField));
                 break;
             case SEPARATE:
                 Field inputFieldsep = mapping.getInputField().get(0);
@@ -338,7 +345,7 @@ public class XmlModule extends BaseAtlasModule {
                         processFieldActions(session.getAtlasContext().getContextFactory().getFieldActionService(),
                                 outputFieldsep);
                     }
-                    writer.write(outputFieldsep);
+                    writer.write(outputFieldsep, getCompiledPath(session, outputFieldsep));
                 }
                 break;
             default:
@@ -398,42 +405,261 @@ public class XmlModule extends BaseAtlasModule {
         }
     }
 
-    private Document getDocument(String data, boolean namespaced)
-            throws ParserConfigurationException, SAXException, IOException {
+    /**
+     * Returns the input as a DOM. A {@link Document} or a {@link DOMSource} holding
+     * one is used as is, other {@link Source}s are transformed into a DOM and the
+     * remaining types are parsed directly without an intermediate String.
+     */
+    private Document getDocument(Object data, boolean namespaced)
+            throws ParserConfigurationException, SAXException, IOException, TransformerException {
+        if (data instanceof Document) {
+            return (Document) data;
+        }
+        if (data instanceof DOMSource && ((DOMSource) data).getNode() instanceof Document) {
+            return (Document) ((DOMSource) data).getNode();
+        }
+        if (data instanceof Source && !(data instanceof StreamSource)) {
+            DOMResult result = new DOMResult();
+            TransformerFactory.newInstance().newTransformer().transform((Source) data, result);
+            return (Document) result.getNode();
+        }
+
         DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
         dbf.setNamespaceAware(namespaced); // this must be done to use namespaces
         DocumentBuilder b = dbf.newDocumentBuilder();
-        return b.parse(new ByteArrayInputStream(data.getBytes("UTF-8")));
+        return b.parse(toInputSource(data));
+    }
+
+    private static boolean isSupportedInput(Object data) {
+        return data instanceof String || data instanceof Reader || data instanceof Document || data instanceof Source
+                || toInputStream(data) != null;
+    }
+
+    private static InputSource toInputSource(Object data) {
+        if (data instanceof String) {
+            return new InputSource(new StringReader((String) data));
+        }
+        if (data instanceof Reader) {
+            return new InputSource((Reader) data);
+        }
+        if (data instanceof StreamSource) {
+            StreamSource source = (StreamSource) data;
+            InputSource inputSource = new InputSource(source.getSystemId());
+            inputSource.setPublicId(source.getPublicId());
+            inputSource.setByteStream(source.getInputStream());
+            inputSource.setCharacterStream(source.getReader());
+            return inputSource;
+        }
+        return new InputSource(toInputStream(data));
+    }
+
+    /**
+     * Wraps the byte oriented inputs in a stream without copying them, returns null
+     * for any other type.
+     */
+    private static InputStream toInputStream(Object data) {
+        if (data instanceof InputStream) {
+            return (InputStream) data;
+        }
+        if (data instanceof byte[]) {
+            return new ByteArrayInputStream((byte[]) data);
+        }
+        if (data instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) data).duplicate();
+            if (buffer.hasArray()) {
+                return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining());
+            }
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new ByteArrayInputStream(bytes);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the parsed input document for the docId, parsing it only on first
+     * access within the session. Returns null if the input type is not supported.
+     * A streamed input keeps its DOM next to the stream reader, a consumed
+     * {@link Reader} or {@link InputStream} can't be parsed again and fails.
+     */
+    private Document getCachedDocument(AtlasSession session, String docId, boolean namespaced)
+            throws ParserConfigurationException, SAXException, IOException, TransformerException {
+        String inputDocId = resolveInputDocId(session, docId);
+        Object cached = session.getInputCache().get(inputDocId);
+        if (cached instanceof Document) {
+            return (Document) cached;
+        }
+        StreamedInput streamed = cached instanceof StreamedInput ? (StreamedInput) cached : null;
+        if (streamed != null && streamed.document != null) {
+            return streamed.document;
+        }
+
+        // Use docId only when it exists, otherwise use default input
+        Object sourceObject = session.getInput(inputDocId);
+        if (!isSupportedInput(sourceObject)) {
+            return null;
+        }
+        if (streamed != null && (sourceObject instanceof Reader || sourceObject instanceof InputStream)) {
+            throw new IOException(String.format(
+                    "Xml input docId=%s was consumed by the streaming reader, it can't be parsed again", inputDocId));
+        }
+
+        Document document = getDocument(sourceObject, namespaced);
+        if (streamed != null) {
+            streamed.document = document;
+        } else {
+            session.getInputCache().put(inputDocId, document);
+        }
+        return document;
+    }
+
+    private String resolveInputDocId(AtlasSession session, String docId) {
+        return docId != null && session.hasInput(docId) ? docId : AtlasConstants.DEFAULT_SOURCE_DOC_ID;
+    }
+
+    /**
+     * Reads all input fields of the mapping in one StAX pass per input document, so
+     * no DOM needs to be built. Collection mappings are sized from the DOM, sessions
+     * containing them keep using the DOM reader. Inputs which can be read again fall
+     * back to the DOM reader when streaming fails, stream inputs fail instead.
+     */
+    private void streamInputFields(AtlasSession session) throws AtlasException {
+        List<BaseMapping> mappings = session.getMapping().getMappings().getMapping();
+        for (BaseMapping baseMapping : mappings) {
+            if (MappingType.COLLECTION.equals(baseMapping.getMappingType())) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Collection mapping detected, streaming input is disabled for this session");
+                }
+                return;
+            }
+        }
+
+        Map<String, XmlStreamFieldReader> readers = new HashMap<String, XmlStreamFieldReader>();
+        for (BaseMapping baseMapping : mappings) {
+            for (Field field : ((Mapping) baseMapping).getInputField()) {
+                if (!(field instanceof XmlField)) {
+                    continue;
+                }
+                String inputDocId = resolveInputDocId(session, field.getDocId());
+                XmlStreamFieldReader reader = readers.get(inputDocId);
+                if (reader == null) {
+                    reader = new XmlStreamFieldReader();
+                    readers.put(inputDocId, reader);
+                }
+                reader.addField((XmlField) field);
+            }
+        }
+
+        for (Map.Entry<String, XmlStreamFieldReader> entry : readers.entrySet()) {
+            if (!isStreamInputEnabled(session, entry.getKey())) {
+                continue;
+            }
+            // already parsed inputs are read from the DOM
+            Object sourceObject = session.getInput(entry.getKey());
+            InputStream inputStream = toInputStream(sourceObject);
+            if (!(sourceObject instanceof String) && !(sourceObject instanceof Reader) && inputStream == null) {
+                continue;
+            }
+            try {
+                if (sourceObject instanceof String) {
+                    entry.getValue().read((String) sourceObject);
+                } else if (sourceObject instanceof Reader) {
+                    entry.getValue().read((Reader) sourceObject);
+                } else {
+                    entry.getValue().read(inputStream);
+                }
+                session.getInputCache().put(entry.getKey(), new StreamedInput(entry.getValue()));
+            } catch (AtlasException e) {
+                if (sourceObject instanceof Reader || sourceObject instanceof InputStream) {
+                    // the stream is already consumed, the DOM reader would parse what is left of it
+                    throw new AtlasException(String.format("Unable to stream xml input docId=%s msg=%s",
+                            entry.getKey(), e.getMessage()), e);
+                }
+                LOG.warn(String.format("Unable to stream xml input docId=%s, falling back to DOM msg=%s",
+                        entry.getKey(), e.getMessage()), e);
+            }
+        }
+    }
+
+    private boolean isStreamed(AtlasSession session, XmlField field) {
+        Object cached = session.getInputCache().get(resolveInputDocId(session, field.getDocId()));
+        return cached instanceof StreamedInput && ((StreamedInput) cached).reader.contains(field);
+    }
+
+    private boolean isStreamInputEnabled(AtlasSession session) {
+        if (session.getMapping().getDataSource() == null) {
+            return false;
+        }
+        for (DataSource ds : session.getMapping().getDataSource()) {
+            if (isStreamInputEnabled(ds)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the streamInput flag of the source data source the input docId belongs to.
+     * Inputs without a matching data source id use the only source data source, if there
+     * is just one.
+     */
+    private boolean isStreamInputEnabled(AtlasSession session, String inputDocId) {
+        DataSource single = null;
+        int sources = 0;
+        for (DataSource ds : session.getMapping().getDataSource()) {
+            if (!DataSourceType.SOURCE.equals(ds.getDataSourceType())) {
+                continue;
+            }
+            if (inputDocId.equals(ds.getId())) {
+                return isStreamInputEnabled(ds);
+            }
+            single = ds;
+            sources++;
+        }
+        return sources == 1 && isStreamInputEnabled(single);
+    }
+
+    private static boolean isStreamInputEnabled(DataSource ds) {
+        return DataSourceType.SOURCE.equals(ds.getDataSourceType()) && ds.getUri() != null
+                && "true".equals(AtlasUtil.getUriParameterValue(ds.getUri(), "streamInput"));
+    }
+
+    private boolean isNamespacesEnabled(AtlasSession session) {
+        if (session.getMapping().getDataSource() == null || session.getMapping().getDataSource().isEmpty()) {
+            return true;
+        }
+        Map<String, String> sourceUriParams = AtlasUtil
+                .getUriParameters(session.getMapping().getDataSource().get(0).getUri());
+        if ("true".equals(sourceUriParams.get("disableNamespaces"))) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Disabling namespace support");
+            }
+            return false;
+        }
+        return true;
     }
 
     @Override
     public int getCollectionSize(AtlasSession session, Field field) throws AtlasException {
         try {
-            Object sourceObject = null;
-            if (field.getDocId() != null && session.hasInput(field.getDocId())) {
-                // Use docId only when it exists, otherwise use default input
-                sourceObject = session.getInput(field.getDocId());
-            } else {
-                sourceObject = session.getInput();
+            Document document = getCachedDocument(session, field.getDocId(), isNamespacesEnabled(session));
+            if (document == null) {
+                return 0;
             }
-            Document document = getDocument((String) sourceObject, false);
             Element parentNode = document.getDocumentElement();
-            for (SegmentContext sc : new PathUtil(field.getPath()).getSegmentContexts(false)) {
+            for (SegmentContext sc : getCompiledPath(session, field).getSegmentContexts(false)) {
                 if (sc.getPrev() == null) {
                     // processing root node part of path such as the "XOA" part of
                     // "/XOA/contact<>/firstName", skip.
                     continue;
                 }
-                String childrenElementName = PathUtil.cleanPathSegment(sc.getSegment());
-                String namespaceAlias = PathUtil.getNamespace(sc.getSegment());
-                if (namespaceAlias != null && !"".equals(namespaceAlias)) {
-                    childrenElementName = namespaceAlias + ":" + childrenElementName;
-                }
+                String childrenElementName = sc.getCompiledSegment().getQualifiedName();
                 List<Element> children = XmlFieldWriter.getChildrenWithName(childrenElementName, parentNode);
                 if (children == null || children.isEmpty()) {
                     return 0;
                 }
-                if (PathUtil.isCollectionSegment(sc.getSegment())) {
+                if (sc.getCompiledSegment().isCollection()) {
                     return children.size();
                 }
                 parentNode = children.get(0);
@@ -448,4 +674,17 @@ public class XmlModule extends BaseAtlasModule {
     public Field cloneField(Field field) throws AtlasException {
         return AtlasXmlModelFactory.cloneField(field);
     }
+
+    /**
+     * Input cache entry of a streamed input document. Fields the stream reader
+     * didn't cover are read from a DOM, which is parsed at most once per input.
+     */
+    private static final class StreamedInput {
+        private final XmlStreamFieldReader reader;
+        private Document document;
+
+        StreamedInput(XmlStreamFieldReader reader) {
+            this.reader = reader;
+        }
+    }
 }
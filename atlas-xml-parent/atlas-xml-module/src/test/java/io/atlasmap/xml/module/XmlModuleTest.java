@@ -1,14 +1,28 @@
 package io.atlasmap.xml.module;
 
+import java.io.StringReader;
+
 import org.junit.After;
+import org.w3c.dom.Document;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.DefaultAtlasSession;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.PropertyField;
 import io.atlasmap.v2.SimpleField;
 import io.atlasmap.xml.v2.XmlField;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class XmlModuleTest {
@@ -33,4 +47,103 @@ public class XmlModuleTest {
         assertTrue(module.isSupportedField(new SimpleField()));
     }
 
+    @Test
+    public void testStreamInputPerDocId() throws Exception {
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        mapping.getDataSource().add(createSource("streamed", "atlas:xml?streamInput=true"));
+        mapping.getDataSource().add(createSource("parsed", "atlas:xml"));
+        Mapping fieldMapping = new Mapping();
+        fieldMapping.getInputField().add(createField("streamed"));
+        fieldMapping.getInputField().add(createField("parsed"));
+        mapping.getMappings().getMapping().add(fieldMapping);
+
+        DefaultAtlasSession session = new DefaultAtlasSession(mapping);
+        session.setInput("<root><value>1</value></root>", "streamed");
+        session.setInput("<root><value>2</value></root>", "parsed");
+        module.processPreInputExecution(session);
+
+        assertTrue(session.getInputCache().containsKey("streamed"));
+        assertFalse(session.getInputCache().get("streamed") instanceof Document);
+        assertFalse(session.getInputCache().containsKey("parsed"));
+    }
+
+    @Test
+    public void testStreamInputFallsBackToCachedDocument() throws Exception {
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        mapping.getDataSource().add(createSource("streamed", "atlas:xml?streamInput=true"));
+        Mapping fieldMapping = new Mapping();
+        fieldMapping.getInputField().add(createField("streamed"));
+        mapping.getMappings().getMapping().add(fieldMapping);
+
+        DefaultAtlasSession session = new DefaultAtlasSession(mapping);
+        session.setInput("<root><value>1</value><other>2</other><more>3</more></root>", "streamed");
+        module.processPreInputExecution(session);
+        Object streamed = session.getInputCache().get("streamed");
+
+        Mapping lateMapping = new Mapping();
+        XmlField other = createField("streamed");
+        other.setPath("/root/other");
+        lateMapping.getInputField().add(other);
+        XmlField more = createField("streamed");
+        more.setPath("/root/more");
+        lateMapping.getInputField().add(more);
+        module.processInputMapping(session, lateMapping);
+
+        assertEquals("2", other.getValue());
+        assertEquals("3", more.getValue());
+        assertSame(streamed, session.getInputCache().get("streamed"));
+        assertEquals(1, session.getInputCache().size());
+        assertFalse(session.hasErrors());
+    }
+
+    @Test
+    public void testStreamInputConsumedReaderFails() throws Exception {
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        mapping.getDataSource().add(createSource("streamed", "atlas:xml?streamInput=true"));
+        Mapping fieldMapping = new Mapping();
+        fieldMapping.getInputField().add(createField("streamed"));
+        mapping.getMappings().getMapping().add(fieldMapping);
+
+        DefaultAtlasSession session = new DefaultAtlasSession(mapping);
+        session.setInput(new StringReader("<root><value>1</value><other>2</other></root>"), "streamed");
+        module.processPreInputExecution(session);
+
+        Mapping lateMapping = new Mapping();
+        XmlField other = createField("streamed");
+        other.setPath("/root/other");
+        lateMapping.getInputField().add(other);
+        module.processInputMapping(session, lateMapping);
+
+        assertNull(other.getValue());
+        assertTrue(session.hasErrors());
+        assertTrue(session.getAudits().getAudit().get(0).getMessage().contains("consumed"));
+    }
+
+    @Test(expected = AtlasException.class)
+    public void testStreamInputFailureOnReader() throws Exception {
+        AtlasMapping mapping = AtlasModelFactory.createAtlasMapping();
+        mapping.getDataSource().add(createSource("streamed", "atlas:xml?streamInput=true"));
+        Mapping fieldMapping = new Mapping();
+        fieldMapping.getInputField().add(createField("streamed"));
+        mapping.getMappings().getMapping().add(fieldMapping);
+
+        DefaultAtlasSession session = new DefaultAtlasSession(mapping);
+        session.setInput(new StringReader("<root><value>1</val></root>"), "streamed");
+        module.processPreInputExecution(session);
+    }
+
+    private DataSource createSource(String id, String uri) {
+        DataSource source = new DataSource();
+        source.setId(id);
+        source.setUri(uri);
+        source.setDataSourceType(DataSourceType.SOURCE);
+        return source;
+    }
+
+    private XmlField createField(String docId) {
+        XmlField field = new XmlField();
+        field.setDocId(docId);
+        field.setPath("/root/value");
+        return field;
+    }
 }